@@ -0,0 +1,65 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.Scoreboard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.MAX_GOALS;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.awayTeamNames;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.homeTeamNames;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.score;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.scoreboardWithLiveMatches;
+
+/**
+ * Throughput of a traffic mix of {@code getMatchesSummary} reads and {@code updateMatch} writes, run both by
+ * a single thread and by all available cores sharing the same board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadWriteMixBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int liveMatches;
+
+    @Param({"99", "90", "50"})
+    public int readPercentage;
+
+    private Scoreboard scoreboard;
+    private String[] homeTeamNames;
+    private String[] awayTeamNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoreboard = scoreboardWithLiveMatches(liveMatches);
+        homeTeamNames = homeTeamNames(liveMatches);
+        awayTeamNames = awayTeamNames(liveMatches);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleThreaded(Blackhole blackhole) {
+        readOrWrite(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void multiThreaded(Blackhole blackhole) {
+        readOrWrite(blackhole);
+    }
+
+    private void readOrWrite(Blackhole blackhole) {
+        var random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < readPercentage) {
+            blackhole.consume(scoreboard.getMatchesSummary());
+        } else {
+            int matchNumber = random.nextInt(liveMatches);
+            scoreboard.updateMatch(homeTeamNames[matchNumber], awayTeamNames[matchNumber], score(random.nextInt(MAX_GOALS), random.nextInt(MAX_GOALS)));
+        }
+    }
+}
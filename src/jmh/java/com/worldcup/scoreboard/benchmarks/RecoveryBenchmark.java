@@ -0,0 +1,89 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.Scoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.MAX_GOALS;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.awayTeamName;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.homeTeamName;
+
+/**
+ * Time of restarting a durable scoreboard - reading the snapshot, replaying the log after it and building the
+ * indexes in bulk. Half of the live matches are in the snapshot, the other half (and a score change of every match)
+ * only in the log. The goal is to be back with 100k live matches in under a second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+    private static final int JOURNAL_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    @Param({"10000", "100000"})
+    public int liveMatches;
+
+    private Path journal;
+    private Path restartedJournal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journal = Files.createTempDirectory("recovery-benchmark");
+        try (var scoreboard = Scoreboard.builder().durable(journal).journalSegmentSize(JOURNAL_SEGMENT_SIZE).build()) {
+            for (int matchNumber = 0; matchNumber < liveMatches; matchNumber++) {
+                scoreboard.startMatch(homeTeamName(matchNumber), awayTeamName(matchNumber));
+                if (matchNumber == liveMatches / 2) {
+                    scoreboard.checkpoint();
+                }
+            }
+            for (int matchNumber = 0; matchNumber < liveMatches; matchNumber++) {
+                scoreboard.updateMatch(homeTeamName(matchNumber), awayTeamName(matchNumber), matchNumber % MAX_GOALS, 0);
+            }
+        }
+    }
+
+    // every restart starts a new generation of the log - each one gets the very same files to recover from
+    @Setup(Level.Iteration)
+    public void copyJournal() throws IOException {
+        restartedJournal = Files.createTempDirectory("recovery-benchmark");
+        try (Stream<Path> files = Files.list(journal)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, restartedJournal.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRestartedJournal() {
+        delete(restartedJournal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        delete(journal);
+    }
+
+    @Benchmark
+    public int restart() {
+        try (var scoreboard = Scoreboard.builder().durable(restartedJournal).journalSegmentSize(JOURNAL_SEGMENT_SIZE).build()) {
+            return scoreboard.getTopMatches(1).size();
+        }
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.MatchScore;
+import com.worldcup.scoreboard.Scoreboard;
+
+final class ScoreboardFixtures {
+    static final int MAX_GOALS = 10;
+
+    // built upfront, so that the measured methods allocate nothing but what the scoreboard does
+    private static final MatchScore[][] SCORES = new MatchScore[MAX_GOALS][MAX_GOALS];
+
+    static {
+        for (int homeTeamScore = 0; homeTeamScore < MAX_GOALS; homeTeamScore++) {
+            for (int awayTeamScore = 0; awayTeamScore < MAX_GOALS; awayTeamScore++) {
+                SCORES[homeTeamScore][awayTeamScore] = new MatchScore(homeTeamScore, awayTeamScore);
+            }
+        }
+    }
+
+    private ScoreboardFixtures() {
+    }
+
+    static Scoreboard scoreboardWithLiveMatches(int numberOfMatches) {
+        var scoreboard = Scoreboard.defaultInstance();
+        for (int i = 0; i < numberOfMatches; i++) {
+            scoreboard.startMatch(homeTeamName(i), awayTeamName(i));
+        }
+        return scoreboard;
+    }
+
+    /**
+     * @param homeTeamScore below {@link #MAX_GOALS}
+     * @param awayTeamScore below {@link #MAX_GOALS}
+     */
+    static MatchScore score(int homeTeamScore, int awayTeamScore) {
+        return SCORES[homeTeamScore][awayTeamScore];
+    }
+
+    static String[] homeTeamNames(int numberOfMatches) {
+        var homeTeamNames = new String[numberOfMatches];
+        for (int i = 0; i < numberOfMatches; i++) {
+            homeTeamNames[i] = homeTeamName(i);
+        }
+        return homeTeamNames;
+    }
+
+    static String[] awayTeamNames(int numberOfMatches) {
+        var awayTeamNames = new String[numberOfMatches];
+        for (int i = 0; i < numberOfMatches; i++) {
+            awayTeamNames[i] = awayTeamName(i);
+        }
+        return awayTeamNames;
+    }
+
+    static String homeTeamName(int matchNumber) {
+        return "home-" + matchNumber;
+    }
+
+    static String awayTeamName(int matchNumber) {
+        return "away-" + matchNumber;
+    }
+}
@@ -0,0 +1,96 @@
+package com.worldcup.scoreboard.benchmarks;
+
+import com.worldcup.scoreboard.MatchSummary;
+import com.worldcup.scoreboard.Scoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.MAX_GOALS;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.awayTeamNames;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.homeTeamNames;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.score;
+import static com.worldcup.scoreboard.benchmarks.ScoreboardFixtures.scoreboardWithLiveMatches;
+
+/**
+ * Cost of every single {@link Scoreboard} operation for different board sizes.
+ * <p>
+ * {@code startMatch} and {@code finishMatch} are measured as a pair, so the size of the board stays constant
+ * during the whole measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardOperationsBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int liveMatches;
+
+    private Scoreboard scoreboard;
+    private String[] homeTeamNames;
+    private String[] awayTeamNames;
+    private int[] homeTeamIds;
+    private int[] awayTeamIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoreboard = scoreboardWithLiveMatches(liveMatches);
+        homeTeamNames = homeTeamNames(liveMatches);
+        awayTeamNames = awayTeamNames(liveMatches);
+        homeTeamIds = new int[liveMatches];
+        awayTeamIds = new int[liveMatches];
+        for (int matchNumber = 0; matchNumber < liveMatches; matchNumber++) {
+            homeTeamIds[matchNumber] = scoreboard.resolveTeamId(homeTeamNames[matchNumber]);
+            awayTeamIds[matchNumber] = scoreboard.resolveTeamId(awayTeamNames[matchNumber]);
+        }
+    }
+
+    @Benchmark
+    public void updateMatch() {
+        var random = ThreadLocalRandom.current();
+        int matchNumber = random.nextInt(liveMatches);
+        scoreboard.updateMatch(homeTeamNames[matchNumber], awayTeamNames[matchNumber], score(random.nextInt(MAX_GOALS), random.nextInt(MAX_GOALS)));
+    }
+
+    /**
+     * Hot path of a feed handler - ids resolved upfront and primitive scores, so {@code gc.alloc.rate.norm}
+     * shows only the new version of the match and of the indexes.
+     */
+    @Benchmark
+    public void updateMatchByTeamIds() {
+        var random = ThreadLocalRandom.current();
+        int matchNumber = random.nextInt(liveMatches);
+        scoreboard.updateMatch(homeTeamIds[matchNumber], awayTeamIds[matchNumber], random.nextInt(MAX_GOALS), random.nextInt(MAX_GOALS));
+    }
+
+    @Benchmark
+    public void startAndFinishMatch(ExtraMatch extraMatch) {
+        scoreboard.startMatch(extraMatch.homeTeamName, extraMatch.awayTeamName);
+        scoreboard.finishMatch(extraMatch.homeTeamName, extraMatch.awayTeamName);
+    }
+
+    @Benchmark
+    public List<MatchSummary> getMatchesSummary() {
+        return scoreboard.getMatchesSummary();
+    }
+
+    @State(Scope.Thread)
+    public static class ExtraMatch {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        private String homeTeamName;
+        private String awayTeamName;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int threadNumber = THREAD_COUNTER.getAndIncrement();
+            homeTeamName = "extra-home-" + threadNumber;
+            awayTeamName = "extra-away-" + threadNumber;
+        }
+    }
+}
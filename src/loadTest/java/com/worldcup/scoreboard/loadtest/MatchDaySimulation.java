@@ -0,0 +1,443 @@
+package com.worldcup.scoreboard.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.worldcup.scoreboard.LatencyHistogram;
+import com.worldcup.scoreboard.LatencySnapshot;
+import com.worldcup.scoreboard.MatchSummary;
+import com.worldcup.scoreboard.Scoreboard;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Replays match days against a {@link Scoreboard} - a soak test with production-like traffic.
+ * <p>
+ * A day is generated from a seed: matches kick off in staggered slots, every team scores as a Poisson process
+ * (exponential gaps between the goals), some goals get corrected (disallowed) shortly after, and every match is
+ * finished after the full time plus stoppage. The scoreboard runs on a simulated clock, driven by the simulation -
+ * the same seed replays the very same days, start times included, which the per-day digest of the board confirms.
+ * Days follow each other until the given duration elapses, while reader threads query {@code getMatchesSummary()}
+ * at a fixed total rate.
+ * <p>
+ * Every reporting interval prints the throughput, latencies of the writes and the reads (p50/p99/p99.9/max), GC
+ * pauses and the heap occupied after the last GC.
+ * <p>
+ * {@code ./gradlew soakTest -PsoakDuration=PT4H -PsoakSeed=42 -PsoakMatches=1000 -PsoakSpeedup=0
+ * -PsoakReaders=2 -PsoakReadRate=20000}. Speedup is the simulated time per real time, {@code 0} runs the writes
+ * as fast as possible. Read latencies are measured from the time each read was due, so a stalled reader shows up in
+ * them (no coordinated omission).
+ */
+public final class MatchDaySimulation {
+    private static final Instant FIRST_DAY = Instant.parse("2026-06-11T10:00:00Z");
+    private static final Duration KICK_OFF_SLOT = Duration.ofMinutes(30);
+    private static final int MATCHES_PER_SLOT = 16;
+    private static final long FULL_TIME_NANOS = TimeUnit.MINUTES.toNanos(105);
+    private static final double GOALS_PER_TEAM_AND_MATCH = 1.35;
+    private static final double CORRECTED_GOALS_SHARE = 0.05;
+    private static final int DIGEST_EVERY_WRITES = 64;
+
+    private final Settings settings;
+    private final Scoreboard scoreboard;
+    private final SimulatedClock clock = new SimulatedClock(FIRST_DAY);
+    private final Latencies writeLatencies = new Latencies();
+    private final Latencies readLatencies = new Latencies();
+    private final GcMonitor gcMonitor = new GcMonitor();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong reads = new AtomicLong();
+    private final CRC32 runDigest = new CRC32();
+    private volatile int daysPlayed;
+    private volatile long daysDigest;
+    private volatile boolean finished;
+
+    private MatchDaySimulation(Settings settings) {
+        this.settings = settings;
+        this.scoreboard = Scoreboard.builder().clock(clock).build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var settings = new Settings(
+                args.length > 0 ? Duration.parse(args[0]) : Duration.ofMinutes(1),
+                args.length > 1 ? Long.parseLong(args[1]) : 42,
+                args.length > 2 ? Integer.parseInt(args[2]) : 1_000,
+                args.length > 3 ? Double.parseDouble(args[3]) : 0,
+                args.length > 4 ? Integer.parseInt(args[4]) : 2,
+                args.length > 5 ? Integer.parseInt(args[5]) : 20_000,
+                args.length > 6 ? Duration.parse(args[6]) : Duration.ofSeconds(10));
+        System.out.println(settings);
+        new MatchDaySimulation(settings).run();
+    }
+
+    private void run() throws InterruptedException {
+        gcMonitor.start();
+        var readers = new ArrayList<Thread>();
+        for (int reader = 0; reader < settings.readers(); reader++) {
+            var thread = new Thread(this::read, "reader-" + reader);
+            thread.setDaemon(true);
+            thread.start();
+            readers.add(thread);
+        }
+        var reporter = new Thread(this::report, "reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+
+        long deadline = System.nanoTime() + settings.duration().toNanos();
+        for (int day = 0; System.nanoTime() < deadline; day++) {
+            var matchDay = new MatchDay(day, settings.seed() + day, settings.matchesPerDay());
+            if (!play(matchDay, deadline)) {
+                break;
+            }
+            runDigest.update(ByteBuffer.allocate(Long.BYTES).putLong(matchDay.digest()).array());
+            daysDigest = runDigest.getValue();
+            daysPlayed = day + 1;
+        }
+        finished = true;
+        for (var reader : readers) {
+            reader.join();
+        }
+        reporter.interrupt();
+        reporter.join();
+        printReport("total", writeLatencies.total(), readLatencies.total(), gcMonitor.total());
+        // the same seed and number of matches replay the same days - with the same digest
+        System.out.printf("%d days played, digest %08x%n", daysPlayed, daysDigest);
+    }
+
+    /**
+     * @return whether the whole day got played before the end of the run
+     */
+    private boolean play(MatchDay matchDay, long deadline) {
+        long dayStartedAt = System.nanoTime();
+        long daysWrites = 0;
+        for (var event = matchDay.nextEvent(); event != null; event = matchDay.nextEvent()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            if (settings.speedup() > 0) {
+                long dueAt = dayStartedAt + (long) ((event.atNanos() - matchDay.startNanos()) / settings.speedup());
+                LockSupport.parkNanos(dueAt - System.nanoTime());
+            }
+            clock.setNanos(event.atNanos());
+            long startTime = System.nanoTime();
+            try {
+                matchDay.apply(event, scoreboard);
+            } catch (RuntimeException e) {
+                failedWrites.incrementAndGet();
+            }
+            writeLatencies.record(System.nanoTime() - startTime);
+            writes.incrementAndGet();
+            if (++daysWrites % DIGEST_EVERY_WRITES == 0) {
+                matchDay.digest(scoreboard.getTopMatches(3));
+            }
+        }
+        return true;
+    }
+
+    private void read() {
+        if (settings.readRate() <= 0) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(settings.readers()) / settings.readRate();
+        long dueAt = System.nanoTime();
+        while (!finished) {
+            LockSupport.parkNanos(dueAt - System.nanoTime());
+            var summary = scoreboard.getMatchesSummary();
+            readLatencies.record(System.nanoTime() - dueAt);
+            reads.incrementAndGet();
+            if (summary.size() < 0) {
+                throw new IllegalStateException("Unreachable - keeps the read from being optimized away");
+            }
+            dueAt += interval;
+        }
+    }
+
+    private void report() {
+        long previousWrites = 0;
+        long previousReads = 0;
+        long reportedAt = System.nanoTime();
+        while (!finished) {
+            try {
+                Thread.sleep(settings.reportInterval().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            double seconds = (now - reportedAt) / 1e9;
+            long currentWrites = writes.get();
+            long currentReads = reads.get();
+            var title = String.format("%d days played (digest %08x), %,.0f writes/s, %,.0f reads/s", daysPlayed, daysDigest,
+                    (currentWrites - previousWrites) / seconds, (currentReads - previousReads) / seconds);
+            printReport(title, writeLatencies.interval(), readLatencies.interval(), gcMonitor.interval());
+            previousWrites = currentWrites;
+            previousReads = currentReads;
+            reportedAt = now;
+        }
+    }
+
+    private void printReport(String title, LatencySnapshot writeLatency, LatencySnapshot readLatency, GcMonitor.Snapshot gc) {
+        System.out.printf("[%s] writes %s | reads %s | failed writes %d | GC %d pauses, %d ms total, %d ms max | heap after GC %,d KB (%+,d KB since start)%n",
+                title, format(writeLatency), format(readLatency), failedWrites.get(), gc.pauses(), gc.totalMillis(), gc.maxMillis(),
+                gc.heapAfterGc() / 1024, (gc.heapAfterGc() - gcMonitor.firstHeapAfterGc()) / 1024);
+    }
+
+    private static String format(LatencySnapshot latency) {
+        return "p50 %s, p99 %s, p99.9 %s, max %s".formatted(micros(latency.valueAtPercentile(50)),
+                micros(latency.valueAtPercentile(99)), micros(latency.valueAtPercentile(99.9)), micros(latency.maxNanos()));
+    }
+
+    private static String micros(long nanos) {
+        return "%.1f us".formatted(nanos / 1_000.0);
+    }
+
+    private record Settings(Duration duration, long seed, int matchesPerDay, double speedup, int readers, int readRate,
+                            Duration reportInterval) {
+    }
+
+    /**
+     * Events of a single match day, generated lazily from a seed - kick-offs are known upfront, goals, corrections
+     * and the final whistle are drawn when the match kicks off. Every day the same teams play, all the matches of
+     * the previous day are finished by then.
+     */
+    private static final class MatchDay {
+        private final SplittableRandom random;
+        private final long startNanos;
+        private final PriorityQueue<Event> events = new PriorityQueue<>();
+        private final int[][] scores;
+        private final CRC32 digest = new CRC32();
+        private long sequence;
+
+        private MatchDay(int day, long seed, int matches) {
+            this.random = new SplittableRandom(seed);
+            this.startNanos = SimulatedClock.nanosOf(FIRST_DAY.plus(Duration.ofDays(day)));
+            this.scores = new int[matches][2];
+            for (int match = 0; match < matches; match++) {
+                long slot = KICK_OFF_SLOT.toNanos() * (match / MATCHES_PER_SLOT);
+                long jitter = random.nextLong(TimeUnit.MINUTES.toNanos(5));
+                schedule(startNanos + slot + jitter, match, EventType.KICK_OFF, -1);
+            }
+        }
+
+        long startNanos() {
+            return startNanos;
+        }
+
+        Event nextEvent() {
+            var event = events.poll();
+            if (event != null && event.type() == EventType.KICK_OFF) {
+                drawMatch(event);
+            }
+            return event;
+        }
+
+        void apply(Event event, Scoreboard scoreboard) {
+            var homeTeamName = teamName(event.match(), 0);
+            var awayTeamName = teamName(event.match(), 1);
+            var score = scores[event.match()];
+            switch (event.type()) {
+                case KICK_OFF -> scoreboard.startMatch(homeTeamName, awayTeamName);
+                case GOAL -> {
+                    score[event.team()]++;
+                    scoreboard.updateMatch(homeTeamName, awayTeamName, score[0], score[1]);
+                }
+                case CORRECTION -> {
+                    score[event.team()]--;
+                    scoreboard.updateMatch(homeTeamName, awayTeamName, score[0], score[1]);
+                }
+                case FINAL_WHISTLE -> scoreboard.finishMatch(homeTeamName, awayTeamName);
+            }
+        }
+
+        void digest(List<MatchSummary> topMatches) {
+            for (var summary : topMatches) {
+                digest.update(summary.summary().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        long digest() {
+            return digest.getValue();
+        }
+
+        private void drawMatch(Event kickOff) {
+            long fullTime = kickOff.atNanos() + FULL_TIME_NANOS + random.nextLong(TimeUnit.MINUTES.toNanos(8));
+            for (int team = 0; team < 2; team++) {
+                // Poisson process - exponentially distributed time between the goals
+                double meanGap = FULL_TIME_NANOS / GOALS_PER_TEAM_AND_MATCH;
+                for (long at = kickOff.atNanos() + exponential(meanGap); at < fullTime; at += exponential(meanGap)) {
+                    schedule(at, kickOff.match(), EventType.GOAL, team);
+                    if (random.nextDouble() < CORRECTED_GOALS_SHARE) {
+                        long correctedAt = Math.min(at + TimeUnit.SECONDS.toNanos(30 + random.nextInt(150)), fullTime - 1);
+                        schedule(correctedAt, kickOff.match(), EventType.CORRECTION, team);
+                    }
+                }
+            }
+            schedule(fullTime, kickOff.match(), EventType.FINAL_WHISTLE, -1);
+        }
+
+        private long exponential(double mean) {
+            return 1 + (long) (-mean * Math.log(1 - random.nextDouble()));
+        }
+
+        private void schedule(long atNanos, int match, EventType type, int team) {
+            events.add(new Event(atNanos, sequence++, match, type, team));
+        }
+
+        private String teamName(int match, int team) {
+            return "Team %d %s".formatted(match, team == 0 ? "H" : "A");
+        }
+    }
+
+    private enum EventType {
+        KICK_OFF,
+        GOAL,
+        CORRECTION,
+        FINAL_WHISTLE
+    }
+
+    /**
+     * @param sequence order of scheduling, breaks the ties of the simultaneous events (i.e. a goal is scheduled
+     *                 before its correction)
+     */
+    private record Event(long atNanos, long sequence, int match, EventType type, int team) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            int comparison = Long.compare(atNanos, other.atNanos);
+            return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Clock that shows the time the simulation sets - read by the scoreboard, set by the writer.
+     */
+    private static final class SimulatedClock extends Clock {
+        // shared by the views of the clock in other zones
+        private final AtomicLong nanos;
+        private final ZoneId zone;
+
+        private SimulatedClock(Instant start) {
+            this(new AtomicLong(nanosOf(start)), ZoneOffset.UTC);
+        }
+
+        private SimulatedClock(AtomicLong nanos, ZoneId zone) {
+            this.nanos = nanos;
+            this.zone = zone;
+        }
+
+        static long nanosOf(Instant instant) {
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+
+        void setNanos(long nanos) {
+            this.nanos.set(nanos);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochSecond(0, nanos.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        /**
+         * @return view of the very same simulated time in the zone
+         */
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return zone.equals(this.zone) ? this : new SimulatedClock(nanos, zone);
+        }
+    }
+
+    /**
+     * Latencies of both the whole run and the current interval - the interval's histogram is replaced by a fresh one
+     * on every report, a latency recorded right at that moment may miss the interval (never the total).
+     */
+    private static final class Latencies {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicReference<LatencyHistogram> interval = new AtomicReference<>(new LatencyHistogram());
+
+        void record(long nanos) {
+            total.record(nanos);
+            interval.get().record(nanos);
+        }
+
+        LatencySnapshot total() {
+            return total.snapshot();
+        }
+
+        LatencySnapshot interval() {
+            return interval.getAndSet(new LatencyHistogram()).snapshot();
+        }
+    }
+
+    /**
+     * Collects the pauses and the heap left after every GC from the JVM's GC notifications.
+     */
+    private static final class GcMonitor {
+        private final AtomicLong totalPauses = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong totalMaxMillis = new AtomicLong();
+        private final AtomicLong intervalPauses = new AtomicLong();
+        private final AtomicLong intervalMillis = new AtomicLong();
+        private final AtomicLong intervalMaxMillis = new AtomicLong();
+        private final AtomicLong firstHeapAfterGc = new AtomicLong(-1);
+        private volatile long heapAfterGc;
+
+        void start() {
+            for (var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                    if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                        record(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+                    }
+                }, null, null);
+            }
+        }
+
+        long firstHeapAfterGc() {
+            return Math.max(0, firstHeapAfterGc.get());
+        }
+
+        Snapshot total() {
+            return new Snapshot(totalPauses.get(), totalMillis.get(), totalMaxMillis.get(), heapAfterGc);
+        }
+
+        Snapshot interval() {
+            return new Snapshot(intervalPauses.getAndSet(0), intervalMillis.getAndSet(0), intervalMaxMillis.getAndSet(0), heapAfterGc);
+        }
+
+        private void record(GarbageCollectionNotificationInfo info) {
+            long millis = info.getGcInfo().getDuration();
+            totalPauses.incrementAndGet();
+            intervalPauses.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            intervalMillis.addAndGet(millis);
+            totalMaxMillis.accumulateAndGet(millis, Math::max);
+            intervalMaxMillis.accumulateAndGet(millis, Math::max);
+            long heap = info.getGcInfo().getMemoryUsageAfterGc().values().stream()
+                    .mapToLong(usage -> usage.getUsed())
+                    .sum();
+            heapAfterGc = heap;
+            firstHeapAfterGc.compareAndSet(-1, heap);
+        }
+
+        record Snapshot(long pauses, long totalMillis, long maxMillis, long heapAfterGc) {
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.worldcup.scoreboard.loadtest;
+
+import com.worldcup.scoreboard.Scoreboard;
+import com.worldcup.scoreboard.http.ScoreboardHttpServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Opens many event streams of a local {@link ScoreboardHttpServer} at once, drives score updates and reports how
+ * many events reached the clients and how long it took them.
+ * <p>
+ * {@code ./gradlew loadTest -PsseConnections=10000 -PsseUpdates=200}. Both ends run in the same JVM, so the limit
+ * of open files has to be above twice the number of connections ({@code ulimit -n}).
+ */
+public final class SseLoadTest {
+    private static final int LIVE_MATCHES = 100;
+
+    private SseLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        var scoreboard = Scoreboard.defaultInstance();
+        for (int match = 0; match < LIVE_MATCHES; match++) {
+            scoreboard.startMatch("home " + match, "away " + match);
+        }
+        try (var server = ScoreboardHttpServer.start(scoreboard, new InetSocketAddress("localhost", 0))) {
+            var uri = URI.create("http://localhost:" + server.port() + "/events");
+            var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+            var publishedAt = new ConcurrentHashMap<Long, Long>();
+            var latencies = new AtomicLongArray(connections * (updates + 1));
+            var received = new AtomicInteger();
+            var snapshots = new AtomicInteger();
+            var failures = new AtomicInteger();
+
+            long connectingSince = System.nanoTime();
+            for (int connection = 0; connection < connections; connection++) {
+                var stream = new EventStream(publishedAt, latencies, received, snapshots);
+                client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.fromLineSubscriber(stream))
+                        .exceptionally(failure -> {
+                            failures.incrementAndGet();
+                            return null;
+                        });
+            }
+            awaitUntil(() -> snapshots.get() + failures.get() >= connections, 120);
+            System.out.printf("connected %d of %d streams in %d ms (%d failed)%n", server.numberOfEventStreams(),
+                    connections, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectingSince), failures.get());
+
+            var version = new AtomicLong(scoreboard.getSnapshot().version());
+            long updatingSince = System.nanoTime();
+            for (int update = 1; update <= updates; update++) {
+                int match = update % LIVE_MATCHES;
+                publishedAt.put(version.incrementAndGet(), System.nanoTime());
+                scoreboard.updateMatch("home " + match, "away " + match, update, 0);
+                Thread.sleep(5);
+            }
+            long expected = (long) snapshots.get() * updates;
+            awaitUntil(() -> received.get() >= expected, 60);
+            long elapsed = System.nanoTime() - updatingSince;
+
+            System.out.printf("delivered %d of %d events in %d ms (%.0f events/s)%n", received.get(), expected,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), received.get() * 1e9 / elapsed);
+            printLatencies(latencies, Math.min(received.get(), latencies.length()));
+        }
+        System.exit(0);
+    }
+
+    private static void printLatencies(AtomicLongArray latencies, int count) {
+        if (count == 0) {
+            return;
+        }
+        var sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        System.out.printf("latency ms: p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n", percentile(sorted, 0.5),
+                percentile(sorted, 0.99), percentile(sorted, 0.999), sorted[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)))] / 1e6;
+    }
+
+    private static void awaitUntil(Condition condition, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (!condition.isMet() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Reads a single stream without blocking any thread - the client's selector hands the lines over.
+     */
+    private static final class EventStream implements Flow.Subscriber<String> {
+        private final Map<Long, Long> publishedAt;
+        private final AtomicLongArray latencies;
+        private final AtomicInteger received;
+        private final AtomicInteger snapshots;
+        // a score change may come with rank changes of the same version - only the former are counted
+        private String lastEvent;
+
+        private EventStream(Map<Long, Long> publishedAt, AtomicLongArray latencies, AtomicInteger received,
+                            AtomicInteger snapshots) {
+            this.publishedAt = publishedAt;
+            this.latencies = latencies;
+            this.received = received;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event: ")) {
+                lastEvent = line;
+                if (line.equals("event: snapshot")) {
+                    snapshots.incrementAndGet();
+                }
+            } else if (line.startsWith("id: ") && "event: ScoreChanged".equals(lastEvent)) {
+                var sentAt = publishedAt.get(Long.parseLong(line.substring(4)));
+                if (sentAt != null) {
+                    int event = received.getAndIncrement();
+                    if (event < latencies.length()) {
+                        latencies.set(event, System.nanoTime() - sentAt);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean isMet();
+    }
+}
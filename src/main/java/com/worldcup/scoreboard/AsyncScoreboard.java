@@ -0,0 +1,168 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.CommandQueueFullException;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes to a {@link Scoreboard} through a single writer thread - the callers only enqueue the commands and get
+ * their outcomes as futures.
+ * <p>
+ * Commands are offered to a bounded lock-free ring buffer. The writer drains whatever has been enqueued meanwhile
+ * (up to {@link #MAX_BATCH_SIZE}) and applies it under a single, uncontended acquisition of the board's write lock,
+ * publishing one new version of the board for the whole batch. Unlike {@link Scoreboard#applyAll(List)}, every
+ * command is applied on its own - a rejected one fails its own future only. A full queue is the backpressure:
+ * the command is rejected right away with {@link CommandQueueFullException}, nothing waits.
+ * <p>
+ * Futures are completed by the writer thread - dependent stages without an executor of their own run on it, and
+ * stall the writes meanwhile. Reads go to the {@link #scoreboard()} directly.
+ */
+public final class AsyncScoreboard implements AutoCloseable {
+    static final int MAX_BATCH_SIZE = 1_024;
+
+    private final Scoreboard scoreboard;
+    private final MpscRingBuffer<PendingCommand> queue;
+    private final Thread writer;
+    // producers between checking that the scoreboard is open and enqueuing - the writer drains them before exiting
+    private final AtomicLong enqueuing = new AtomicLong();
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    private AsyncScoreboard(Scoreboard scoreboard, int queueCapacity) {
+        this.scoreboard = scoreboard;
+        this.queue = new MpscRingBuffer<>(queueCapacity);
+        this.writer = new Thread(this::write, "scoreboard-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * @param scoreboard    board to write to - it's still up to the caller to close it
+     * @param queueCapacity maximal number of the enqueued commands, rounded up to a power of two (at least 2)
+     */
+    public static AsyncScoreboard start(Scoreboard scoreboard, int queueCapacity) {
+        if (scoreboard == null) {
+            throw new DomainValidationException("Scoreboard cannot be null");
+        }
+        if (queueCapacity <= 0 || queueCapacity > 1 << 30) {
+            throw new DomainValidationException("Queue's capacity has to be a positive number up to 2^30");
+        }
+        var asyncScoreboard = new AsyncScoreboard(scoreboard, queueCapacity);
+        asyncScoreboard.writer.start();
+        return asyncScoreboard;
+    }
+
+    public Scoreboard scoreboard() {
+        return scoreboard;
+    }
+
+    public CompletableFuture<Void> startMatch(String homeTeamName, String awayTeamName) {
+        return enqueue(new ScoreboardCommand.StartMatch(homeTeamName, awayTeamName));
+    }
+
+    public CompletableFuture<Void> updateMatch(String homeTeamName, String awayTeamName, MatchScore matchScore) {
+        return enqueue(new ScoreboardCommand.UpdateMatch(homeTeamName, awayTeamName, matchScore));
+    }
+
+    public CompletableFuture<Void> updateMatch(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+        MatchScore matchScore;
+        try {
+            matchScore = new MatchScore(homeTeamScore, awayTeamScore);
+        } catch (DomainValidationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return updateMatch(homeTeamName, awayTeamName, matchScore);
+    }
+
+    public CompletableFuture<Void> finishMatch(String homeTeamName, String awayTeamName) {
+        return enqueue(new ScoreboardCommand.FinishMatch(homeTeamName, awayTeamName));
+    }
+
+    /**
+     * Stops accepting commands, and waits until the writer applies all the enqueued ones.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(ScoreboardCommand command) {
+        var result = new CompletableFuture<Void>();
+        enqueuing.incrementAndGet();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new DomainValidationException("Scoreboard's writer is closed"));
+            }
+            if (!queue.offer(new PendingCommand(command, result))) {
+                return CompletableFuture.failedFuture(new CommandQueueFullException(queue.capacity()));
+            }
+        } finally {
+            enqueuing.decrementAndGet();
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return result;
+    }
+
+    private void write() {
+        var batch = new ArrayList<PendingCommand>(MAX_BATCH_SIZE);
+        var commands = new ArrayList<ScoreboardCommand>(MAX_BATCH_SIZE);
+        while (true) {
+            if (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+                apply(batch, commands);
+            } else if (closed && enqueuing.get() == 0 && queue.isEmpty()) {
+                return;
+            } else {
+                awaitCommands();
+            }
+        }
+    }
+
+    private void apply(List<PendingCommand> batch, List<ScoreboardCommand> commands) {
+        for (var pendingCommand : batch) {
+            commands.add(pendingCommand.command());
+        }
+        List<CommandResult> results;
+        try {
+            results = scoreboard.applyEach(commands);
+        } catch (RuntimeException e) {
+            batch.forEach(pendingCommand -> pendingCommand.result().completeExceptionally(e));
+            batch.clear();
+            commands.clear();
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            var error = results.get(i).error();
+            if (error == null) {
+                batch.get(i).result().complete(null);
+            } else {
+                batch.get(i).result().completeExceptionally(error);
+            }
+        }
+        batch.clear();
+        commands.clear();
+    }
+
+    // the flag is set before checking the queue again, so a producer either sees it set or enqueued before the check
+    private void awaitCommands() {
+        writerParked = true;
+        if (queue.isEmpty() && !closed) {
+            LockSupport.park(this);
+        }
+        writerParked = false;
+    }
+
+    private record PendingCommand(ScoreboardCommand command, CompletableFuture<Void> result) {
+    }
+}
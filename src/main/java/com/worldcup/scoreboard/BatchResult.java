@@ -0,0 +1,21 @@
+package com.worldcup.scoreboard;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link Scoreboard#applyAll(List)}. A batch is applied all-or-nothing - if any of the commands is
+ * rejected, none of them is applied.
+ *
+ * @param commandResults results in the order of the submitted commands
+ */
+public record BatchResult(boolean applied, List<CommandResult> commandResults) {
+    public BatchResult {
+        commandResults = List.copyOf(commandResults);
+    }
+
+    public List<CommandResult> failures() {
+        return commandResults.stream()
+                .filter(CommandResult::failed)
+                .toList();
+    }
+}
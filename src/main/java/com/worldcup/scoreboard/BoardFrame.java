@@ -0,0 +1,60 @@
+package com.worldcup.scoreboard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of the board, built once per version and shared by all the senders.
+ * <p>
+ * All numbers are big-endian, team names are written as by {@link java.io.DataOutput#writeUTF(String)}.
+ * <ul>
+ *     <li>Full frame: {@code [byte 1][long version][int number of matches]} followed by the matches in order,
+ *     each as {@code [home team name][away team name][int home team score][int away team score]}.</li>
+ *     <li>Delta frame: {@code [byte 2][long base version][long version][int number of matches]
+ *     [int number of removed matches]} followed by the removed matches as {@code [home team name][away team name]}
+ *     and {@code [int number of placed matches]} followed by the placed matches as {@code [int position]} and the
+ *     match encoded as in the full frame. Placed matches are the started ones and the ones with a changed score,
+ *     in the ascending order of their positions - a client removes both the removed and the placed matches from its
+ *     board and then inserts the placed ones at their (0-based) positions.</li>
+ * </ul>
+ */
+public final class BoardFrame {
+    static final byte FULL_FRAME = 1;
+    static final byte DELTA_FRAME = 2;
+    static final long NO_BASE_VERSION = -1;
+
+    private final long baseVersion;
+    private final long version;
+    private final ByteBuffer frame;
+    // indexes of the frame's version - the base of the following delta frames
+    private final OrderedIndex<LiveMatch> matchesByTeamNames;
+
+    BoardFrame(long baseVersion, long version, ByteBuffer frame, OrderedIndex<LiveMatch> matchesByTeamNames) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.frame = frame.asReadOnlyBuffer();
+        this.matchesByTeamNames = matchesByTeamNames;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return read-only view of the frame with its own position - the content itself is never copied
+     */
+    public ByteBuffer buffer() {
+        return frame.duplicate();
+    }
+
+    public boolean isDelta() {
+        return frame.get(0) == DELTA_FRAME;
+    }
+
+    long baseVersion() {
+        return baseVersion;
+    }
+
+    OrderedIndex<LiveMatch> matchesByTeamNames() {
+        return matchesByTeamNames;
+    }
+}
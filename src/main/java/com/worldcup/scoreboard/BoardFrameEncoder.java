@@ -0,0 +1,112 @@
+package com.worldcup.scoreboard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Encodes {@link BoardFrame}s - see there for the format.
+ */
+final class BoardFrameEncoder {
+    private BoardFrameEncoder() {
+    }
+
+    static BoardFrame encodeFull(long version, OrderedIndex<LiveMatch> index, OrderedIndex<LiveMatch> matchesByTeamNames) {
+        return encode(BoardFrame.NO_BASE_VERSION, version, matchesByTeamNames, output -> {
+            output.writeByte(BoardFrame.FULL_FRAME);
+            output.writeLong(version);
+            output.writeInt(index.size());
+            for (var liveMatch : index) {
+                writeMatch(output, liveMatch);
+            }
+        });
+    }
+
+    /**
+     * Diffs the base version against the given one by walking both by-names indexes at once - {@code O(n)}, paid
+     * once per pair of versions.
+     */
+    static BoardFrame encodeDelta(BoardFrame base, long version, OrderedIndex<LiveMatch> index,
+                                  OrderedIndex<LiveMatch> matchesByTeamNames) {
+        var removedMatches = new ArrayList<LiveMatch>();
+        var placedMatches = new ArrayList<PlacedMatch>();
+        var byTeamNames = matchesByTeamNames.comparator();
+        var baseMatches = base.matchesByTeamNames().iterator();
+        var matches = matchesByTeamNames.iterator();
+        var baseMatch = next(baseMatches);
+        var match = next(matches);
+        while (baseMatch != null || match != null) {
+            int comparison = baseMatch == null ? 1 : match == null ? -1 : byTeamNames.compare(baseMatch, match);
+            if (comparison < 0) {
+                removedMatches.add(baseMatch);
+                baseMatch = next(baseMatches);
+            } else if (comparison > 0) {
+                placedMatches.add(new PlacedMatch(index.indexOf(match), match));
+                match = next(matches);
+            } else {
+                if (baseMatch != match) {
+                    placedMatches.add(new PlacedMatch(index.indexOf(match), match));
+                }
+                baseMatch = next(baseMatches);
+                match = next(matches);
+            }
+        }
+        placedMatches.sort(Comparator.comparingInt(PlacedMatch::position));
+
+        return encode(base.version(), version, matchesByTeamNames, output -> {
+            output.writeByte(BoardFrame.DELTA_FRAME);
+            output.writeLong(base.version());
+            output.writeLong(version);
+            output.writeInt(index.size());
+            output.writeInt(removedMatches.size());
+            for (var removedMatch : removedMatches) {
+                output.writeUTF(removedMatch.homeTeamName());
+                output.writeUTF(removedMatch.awayTeamName());
+            }
+            output.writeInt(placedMatches.size());
+            for (var placedMatch : placedMatches) {
+                output.writeInt(placedMatch.position());
+                writeMatch(output, placedMatch.match());
+            }
+        });
+    }
+
+    private static BoardFrame encode(long baseVersion, long version, OrderedIndex<LiveMatch> matchesByTeamNames,
+                                     FrameWriter frameWriter) {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            frameWriter.write(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // direct, so that the senders can write it to the sockets without another copy
+        var frame = ByteBuffer.allocateDirect(bytes.size())
+                .put(bytes.toByteArray())
+                .flip();
+        return new BoardFrame(baseVersion, version, frame, matchesByTeamNames);
+    }
+
+    private static void writeMatch(DataOutputStream output, ScoredMatch match) throws IOException {
+        output.writeUTF(match.homeTeamName());
+        output.writeUTF(match.awayTeamName());
+        output.writeInt(match.homeTeamScore());
+        output.writeInt(match.awayTeamScore());
+    }
+
+    private static <E> E next(Iterator<E> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private record PlacedMatch(int position, LiveMatch match) {
+    }
+
+    @FunctionalInterface
+    private interface FrameWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,10 @@
+package com.worldcup.scoreboard;
+
+import java.util.List;
+
+/**
+ * Summary of the board together with its version - a starting point for consumers of
+ * {@link Scoreboard#changeFeed()}.
+ */
+public record BoardSnapshot(long version, List<MatchSummary> matchesSummary) {
+}
@@ -0,0 +1,113 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.ScoreboardEvent.MatchFinished;
+import com.worldcup.scoreboard.ScoreboardEvent.MatchStarted;
+import com.worldcup.scoreboard.ScoreboardEvent.RankChanged;
+import com.worldcup.scoreboard.ScoreboardEvent.ScoreChanged;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Turns the changes of the board into {@link ScoreboardEvent}s.
+ * <p>
+ * Changed matches are collected until the next version of the index is published, and only the net difference
+ * between the two versions is emitted - i.e. a batch that starts and updates a match emits a single
+ * {@link MatchStarted}. The changes are collected only while anyone is subscribed.
+ * <p>
+ * Events are offered to every subscriber's bounded buffer without blocking - when a subscriber's buffer is full,
+ * the event is dropped for that subscriber, so a slow subscriber never stalls the writers. As just some events of a
+ * version may be dropped, every event gets the next number of the feed's sequence - the subscriber notices the gap
+ * in the sequence and resyncs from a snapshot.
+ * <p>
+ * Not thread-safe - has to be used by the writers only (under the repository's write lock).
+ */
+final class ChangeFeed {
+    private final SubmissionPublisher<ScoreboardEvent> publisher;
+    // value is the match as it was in the last published version, null when it wasn't live back then
+    private final Map<Long, LiveMatch> matchesBeforeChange = new LinkedHashMap<>();
+    private long lastSequence;
+
+    ChangeFeed(Executor executor, int maxBufferCapacity) {
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+    }
+
+    Flow.Publisher<ScoreboardEvent> publisher() {
+        return publisher::subscribe;
+    }
+
+    void recordChange(long key, LiveMatch matchBeforeChange) {
+        if (publisher.hasSubscribers() && !matchesBeforeChange.containsKey(key)) {
+            matchesBeforeChange.put(key, matchBeforeChange);
+        }
+    }
+
+    void discardChanges() {
+        matchesBeforeChange.clear();
+    }
+
+    void emitChanges(long version, OrderedIndex<LiveMatch> previousIndex, OrderedIndex<LiveMatch> index,
+                     LongHashMap<LiveMatch> liveMatchesByKey) {
+        if (matchesBeforeChange.isEmpty()) {
+            return;
+        }
+        matchesBeforeChange.forEach((key, previousMatch) ->
+                emitChange(version, previousIndex, previousMatch, index, liveMatchesByKey.get(key)));
+        matchesBeforeChange.clear();
+    }
+
+    private void emitChange(long version, OrderedIndex<LiveMatch> previousIndex, LiveMatch previousMatch,
+                            OrderedIndex<LiveMatch> index, LiveMatch currentMatch) {
+        if (previousMatch != null && currentMatch != null && isSameMatch(previousMatch, currentMatch)) {
+            emitUpdate(version, previousIndex.indexOf(previousMatch) + 1, previousMatch, index.indexOf(currentMatch) + 1, currentMatch);
+            return;
+        }
+        if (previousMatch != null) {
+            offer(new MatchFinished(version, nextSequence(), previousMatch.homeTeamName(), previousMatch.awayTeamName(),
+                    previousIndex.indexOf(previousMatch) + 1));
+        }
+        if (currentMatch != null) {
+            offer(new MatchStarted(version, nextSequence(), currentMatch.homeTeamName(), currentMatch.awayTeamName(), scoreOf(currentMatch),
+                    index.indexOf(currentMatch) + 1));
+        }
+    }
+
+    private void emitUpdate(long version, int previousRank, LiveMatch previousMatch, int rank, LiveMatch currentMatch) {
+        if (currentMatch.homeTeamScore() != previousMatch.homeTeamScore() || currentMatch.awayTeamScore() != previousMatch.awayTeamScore()) {
+            offer(new ScoreChanged(version, nextSequence(), currentMatch.homeTeamName(), currentMatch.awayTeamName(),
+                    scoreOf(currentMatch)));
+        }
+        if (previousRank != rank) {
+            offer(new RankChanged(version, nextSequence(), currentMatch.homeTeamName(), currentMatch.awayTeamName(),
+                    previousRank, rank));
+        }
+    }
+
+    /**
+     * Completes every subscriber once the events already offered are delivered.
+     */
+    void close() {
+        matchesBeforeChange.clear();
+        publisher.close();
+    }
+
+    private long nextSequence() {
+        return ++lastSequence;
+    }
+
+    private void offer(ScoreboardEvent event) {
+        publisher.offer(event, (subscriber, droppedEvent) -> false);
+    }
+
+    // the same teams could have finished and started a new match within a single batch
+    private static boolean isSameMatch(LiveMatch previousMatch, LiveMatch currentMatch) {
+        return previousMatch.startSequence() == currentMatch.startSequence();
+    }
+
+    private static MatchScore scoreOf(ScoredMatch match) {
+        return new MatchScore(match.homeTeamScore(), match.awayTeamScore());
+    }
+}
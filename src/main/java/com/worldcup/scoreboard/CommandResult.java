@@ -0,0 +1,26 @@
+package com.worldcup.scoreboard;
+
+import java.util.Optional;
+
+/**
+ * Outcome of a single {@link ScoreboardCommand} within a batch.
+ *
+ * @param error reason of the command's rejection, {@code null} when the command is valid
+ */
+public record CommandResult(ScoreboardCommand command, RuntimeException error) {
+    static CommandResult success(ScoreboardCommand command) {
+        return new CommandResult(command, null);
+    }
+
+    static CommandResult failure(ScoreboardCommand command, RuntimeException error) {
+        return new CommandResult(command, error);
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+
+    public Optional<RuntimeException> findError() {
+        return Optional.ofNullable(error);
+    }
+}
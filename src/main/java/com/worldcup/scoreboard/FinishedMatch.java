@@ -0,0 +1,13 @@
+package com.worldcup.scoreboard;
+
+import java.time.Instant;
+
+/**
+ * Final result of a match kept in the archive.
+ */
+public record FinishedMatch(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore,
+                            Instant startedAt, Instant finishedAt) {
+    public MatchSummary summary() {
+        return new MatchSummary(homeTeamName + " " + homeTeamScore + " - " + awayTeamName + " " + awayTeamScore);
+    }
+}
@@ -0,0 +1,11 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Follower connected to a {@link ReplicationServer}.
+ *
+ * @param address             remote address of the follower
+ * @param acknowledgedVersion last version the follower has applied (and reported back)
+ * @param versionsBehind      replication lag - versions published by the leader but not acknowledged yet
+ */
+public record FollowerStatus(String address, long acknowledgedVersion, long versionsBehind) {
+}
@@ -0,0 +1,9 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Record of the finished matches between two teams, from the point of view of the first one - no matter which of
+ * them played at home.
+ */
+public record HeadToHead(String teamName, String opponentName, int matches, int wins, int draws, int losses,
+                         long goalsScored, long goalsConceded) {
+}
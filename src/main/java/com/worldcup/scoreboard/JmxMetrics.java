@@ -0,0 +1,98 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.MetricsSnapshot.Cache;
+import com.worldcup.scoreboard.MetricsSnapshot.Operation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Every attribute is read from a fresh snapshot - JMX clients poll rarely.
+ */
+final class JmxMetrics implements ScoreboardMetricsMXBean {
+    private static final Map<String, Double> PERCENTILES = percentiles();
+
+    private final ScoreboardMetrics metrics;
+
+    JmxMetrics(ScoreboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        var snapshot = metrics.snapshot();
+        var counts = new LinkedHashMap<String, Long>();
+        for (var operation : Operation.values()) {
+            counts.put(operation.name(), snapshot.operation(operation).count());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getOperationFailureCounts() {
+        var snapshot = metrics.snapshot();
+        var counts = new LinkedHashMap<String, Long>();
+        for (var operation : Operation.values()) {
+            counts.put(operation.name(), snapshot.operation(operation).failures());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getFailureCountsByType() {
+        return metrics.snapshot().failures();
+    }
+
+    @Override
+    public Map<String, Long> getOperationLatenciesNanos() {
+        var snapshot = metrics.snapshot();
+        var latencies = new LinkedHashMap<String, Long>();
+        for (var operation : Operation.values()) {
+            putPercentiles(latencies, operation.name() + ".", snapshot.operation(operation).latency());
+        }
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Long> getIndexUpdateLatenciesNanos() {
+        var latencies = new LinkedHashMap<String, Long>();
+        putPercentiles(latencies, "", metrics.snapshot().indexUpdates());
+        return latencies;
+    }
+
+    @Override
+    public int getIndexSize() {
+        return metrics.snapshot().indexSize();
+    }
+
+    @Override
+    public Map<String, Double> getCacheHitRates() {
+        var snapshot = metrics.snapshot();
+        var hitRates = new LinkedHashMap<String, Double>();
+        for (var cache : Cache.values()) {
+            hitRates.put(cache.name(), snapshot.cache(cache).hitRate());
+        }
+        return hitRates;
+    }
+
+    @Override
+    public Map<String, Long> getReplicationLagNanos() {
+        var latencies = new LinkedHashMap<String, Long>();
+        putPercentiles(latencies, "", metrics.snapshot().replicationLag());
+        return latencies;
+    }
+
+    private static void putPercentiles(Map<String, Long> latencies, String prefix, LatencySnapshot latency) {
+        PERCENTILES.forEach((name, percentile) -> latencies.put(prefix + name, latency.valueAtPercentile(percentile)));
+        latencies.put(prefix + "max", latency.maxNanos());
+    }
+
+    private static Map<String, Double> percentiles() {
+        var percentiles = new LinkedHashMap<String, Double>();
+        percentiles.put("p50", 50.0);
+        percentiles.put("p90", 90.0);
+        percentiles.put("p99", 99.0);
+        percentiles.put("p99.9", 99.9);
+        return percentiles;
+    }
+}
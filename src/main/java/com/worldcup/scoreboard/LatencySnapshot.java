@@ -0,0 +1,64 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+/**
+ * Recorded latencies, in nanoseconds. Percentiles are precise to about 6% of the value.
+ */
+public final class LatencySnapshot {
+    static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, new long[0]);
+
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] bucketCounts;
+
+    LatencySnapshot(long count, long totalNanos, long maxNanos, long[] bucketCounts) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.bucketCounts = bucketCounts;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100, i.e. {@code 99.9}
+     * @return the value that the given percentage of the recorded values doesn't exceed, {@code 0} when nothing was
+     * recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new DomainValidationException("Percentile has to be between 0 and 100");
+        }
+        long recorded = 0;
+        for (long bucketCount : bucketCounts) {
+            recorded += bucketCount;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            seen += bucketCounts[bucket];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueOf(bucket), maxNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot[count=%d, mean=%.0fns, p50=%dns, p99=%dns, p99.9=%dns, max=%dns]"
+                .formatted(count, meanNanos(), valueAtPercentile(50), valueAtPercentile(99), valueAtPercentile(99.9), maxNanos);
+    }
+}
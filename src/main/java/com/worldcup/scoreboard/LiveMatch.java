@@ -0,0 +1,48 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Match stored on the scoreboard - an immutable value, every change of the score makes a new one, so the published
+ * indexes can share it with the writers.
+ *
+ * @see RenderedMatch
+ * @see PackedMatch
+ */
+sealed interface LiveMatch extends ScoredMatch permits RenderedMatch, PackedMatch {
+    /**
+     * @return the match as a record - built on every call, unless the representation is the record itself
+     */
+    Match match();
+
+    MatchSummary summary();
+
+    /**
+     * @return position of the match among all the matches started on the board - unique among the live matches and
+     * kept by every update of the score
+     */
+    long startSequence();
+
+    /**
+     * @return this very match when the score didn't change
+     */
+    LiveMatch update(int homeTeamScore, int awayTeamScore);
+
+    default LiveMatch update(MatchScore matchScore) {
+        return update(matchScore.homeTeamScore(), matchScore.awayTeamScore());
+    }
+
+    /**
+     * @return the matches in the order they started - the order of the snapshots, so that replaying them assigns the
+     * very same order of the start sequences again
+     */
+    static List<LiveMatch> inStartOrder(Iterable<LiveMatch> liveMatches) {
+        var inStartOrder = new ArrayList<LiveMatch>();
+        liveMatches.forEach(inStartOrder::add);
+        inStartOrder.sort(comparingLong(LiveMatch::startSequence));
+        return inStartOrder;
+    }
+}
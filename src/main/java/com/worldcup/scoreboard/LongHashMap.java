@@ -0,0 +1,121 @@
+package com.worldcup.scoreboard;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing (linear probing) hash map with primitive {@code long} keys, so lookups neither box
+ * the key nor allocate. Keys have to be non-negative - {@code -1} marks an empty slot.
+ * <p>
+ * Not thread-safe.
+ */
+final class LongHashMap<V> {
+    private static final long EMPTY_KEY = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    LongHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int slot = findSlot(key);
+        return keys[slot] == key ? (V) values[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key cannot be negative");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            var previousValue = (V) values[slot];
+            values[slot] = value;
+            return previousValue;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (mask + 1) / 2) {
+            resize();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return null;
+        }
+        var removedValue = (V) values[slot];
+        shiftBackFrom(slot);
+        size--;
+        return removedValue;
+    }
+
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * @return slot holding the key or the empty slot that ends its probe sequence.
+     */
+    private int findSlot(long key) {
+        int slot = indexOf(key);
+        while (keys[slot] != key && keys[slot] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward shift deletion - keeps probe sequences intact without tombstones.
+    private void shiftBackFrom(int hole) {
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY_KEY) {
+            int ideal = indexOf(keys[next]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY_KEY;
+        values[hole] = null;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,122 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Column of fixed-width, little-endian values in a file, memory-mapped in chunks of {@code rowsPerChunk} rows - the
+ * file grows a chunk at a time and nothing is ever remapped. A single writer appends, any number of readers read the
+ * rows that were published to them (through a volatile write) after being written.
+ */
+final class MappedColumn implements AutoCloseable {
+    private final Path file;
+    private final FileChannel channel;
+    private final int width;
+    private final int chunkShift;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    /**
+     * @param width        size of a single value in bytes
+     * @param rowsPerChunk power of two
+     */
+    MappedColumn(Path file, int width, int rowsPerChunk) {
+        this.file = file;
+        this.width = width;
+        this.chunkShift = Integer.numberOfTrailingZeros(rowsPerChunk);
+        try {
+            this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the column " + file, e);
+        }
+    }
+
+    int rowsPerChunk() {
+        return 1 << chunkShift;
+    }
+
+    /**
+     * @return the chunk holding the rows from {@code chunkIndex * rowsPerChunk()} on, a value of a row at
+     * {@code (row % rowsPerChunk()) * width}
+     */
+    ByteBuffer chunk(int chunkIndex) {
+        return chunks[chunkIndex];
+    }
+
+    int getInt(int row) {
+        return chunks[row >>> chunkShift].getInt(offsetOf(row));
+    }
+
+    long getLong(int row) {
+        return chunks[row >>> chunkShift].getLong(offsetOf(row));
+    }
+
+    void putInt(int row, int value) {
+        writableChunk(row).putInt(offsetOf(row), value);
+    }
+
+    void putLong(int row, long value) {
+        writableChunk(row).putLong(offsetOf(row), value);
+    }
+
+    /**
+     * Maps the chunks holding the given number of rows, i.e. the ones written before reopening the column.
+     */
+    void mapRows(int rows) {
+        if (rows > 0) {
+            writableChunk(rows - 1);
+        }
+    }
+
+    void force() {
+        for (var chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the column " + file, e);
+        }
+    }
+
+    private int offsetOf(int row) {
+        return (row & ((1 << chunkShift) - 1)) * width;
+    }
+
+    private MappedByteBuffer writableChunk(int row) {
+        int chunkIndex = row >>> chunkShift;
+        var currentChunks = chunks;
+        if (chunkIndex < currentChunks.length) {
+            return currentChunks[chunkIndex];
+        }
+        var newChunks = Arrays.copyOf(currentChunks, chunkIndex + 1);
+        long chunkSize = (long) width << chunkShift;
+        try {
+            for (int newChunk = currentChunks.length; newChunk <= chunkIndex; newChunk++) {
+                var chunk = channel.map(FileChannel.MapMode.READ_WRITE, newChunk * chunkSize, chunkSize);
+                // native order of the common platforms, so the scans don't swap bytes
+                chunk.order(ByteOrder.LITTLE_ENDIAN);
+                newChunks[newChunk] = chunk;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the column " + file, e);
+        }
+        // the rows of a new chunk are published to the readers only after the chunk itself
+        chunks = newChunks;
+        return newChunks[chunkIndex];
+    }
+}
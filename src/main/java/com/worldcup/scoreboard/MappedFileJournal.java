@@ -0,0 +1,425 @@
+package com.worldcup.scoreboard;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * {@link MatchJournal} kept in a directory as a snapshot of the board followed by generations of the log.
+ * <p>
+ * Every generation of the log is a memory-mapped file (segment) of fixed size. Appending an entry is a plain memory
+ * write, {@link #sync()} forces everything appended so far at once (group commit). A new generation is started when
+ * the current segment is full, on every checkpoint and every time the journal is opened - the tail of a generation
+ * is never appended to again after a crash.
+ * <p>
+ * Entry layout: {@code [int payload length][int CRC32 of payload][payload]}, where payload is
+ * {@code [long version][int number of changes][changes...]}. Zero length marks the end of the log - a fresh segment
+ * is zero-filled. An entry with a mismatching checksum is a torn write and ends the recovery of its generation.
+ */
+final class MappedFileJournal implements MatchJournal {
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String SNAPSHOT_FILE_NAME = "scoreboard.snapshot";
+    private static final String SEGMENT_FILE_PREFIX = "journal-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final int SNAPSHOT_MAGIC = 0x5343_4253;
+    private static final int ENTRY_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int ENTRY_PAYLOAD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    static final byte MATCH_STARTED = 1;
+    static final byte MATCH_UPDATED = 2;
+    static final byte MATCH_FINISHED = 3;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final RecoveredBoard recoveredBoard;
+    private final ByteArrayOutputStream recordedChangesBytes = new ByteArrayOutputStream();
+    private final DataOutputStream recordedChanges = new DataOutputStream(recordedChangesBytes);
+    private final CRC32 checksum = new CRC32();
+    private final Object syncLock = new Object();
+    private final Object checkpointLock = new Object();
+    private int recordedChangesCount;
+    private long generation;
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private volatile boolean checkpointDue;
+    private long snapshotNextGeneration;
+    private volatile long appendedBytes;
+    private volatile long syncedBytes;
+
+    private MappedFileJournal(Path directory, int segmentSize, RecoveredBoard recoveredBoard, long generation) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.recoveredBoard = recoveredBoard;
+        openSegment(generation, segmentSize);
+    }
+
+    /**
+     * Recovers the board stored in the directory (if any) and starts a new generation of the log.
+     */
+    static MappedFileJournal open(Path directory, int segmentSize) {
+        try {
+            Files.createDirectories(directory);
+            var recovery = new Recovery(directory);
+            var recoveredBoard = recovery.recover();
+            return new MappedFileJournal(directory, segmentSize, recoveredBoard, recovery.lastGeneration + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the journal in " + directory, e);
+        }
+    }
+
+    RecoveredBoard recoveredBoard() {
+        return recoveredBoard;
+    }
+
+    @Override
+    public void recordStarted(ScoredMatch match) {
+        record(MATCH_STARTED, match);
+    }
+
+    @Override
+    public void recordUpdated(ScoredMatch match) {
+        record(MATCH_UPDATED, match);
+    }
+
+    @Override
+    public void recordFinished(ScoredMatch match) {
+        record(MATCH_FINISHED, match);
+    }
+
+    @Override
+    public void discardRecorded() {
+        recordedChangesBytes.reset();
+        recordedChangesCount = 0;
+    }
+
+    @Override
+    public void append(long version) {
+        if (recordedChangesCount == 0) {
+            return;
+        }
+        int payloadSize = ENTRY_PAYLOAD_HEADER_SIZE + recordedChangesBytes.size();
+        var payload = ByteBuffer.allocate(payloadSize)
+                .putLong(version)
+                .putInt(recordedChangesCount)
+                .put(recordedChangesBytes.toByteArray())
+                .flip();
+        discardRecorded();
+        checksum.reset();
+        checksum.update(payload.duplicate());
+
+        int entrySize = ENTRY_HEADER_SIZE + payloadSize;
+        // one int is always left zeroed at the end of a segment to mark the end of the log
+        if (segment.remaining() < entrySize + Integer.BYTES) {
+            checkpointDue = true;
+            rotate(Math.max(segmentSize, entrySize + Integer.BYTES));
+        }
+        // payload first - the length makes the entry visible to the recovery
+        int entryPosition = segment.position();
+        segment.position(entryPosition + ENTRY_HEADER_SIZE);
+        segment.put(payload);
+        segment.putInt(entryPosition + Integer.BYTES, (int) checksum.getValue());
+        segment.putInt(entryPosition, payloadSize);
+        appendedBytes += entrySize;
+    }
+
+    @Override
+    public void sync() {
+        long appendedUpTo = appendedBytes;
+        if (syncedBytes >= appendedUpTo) {
+            return;
+        }
+        synchronized (syncLock) {
+            // the first waiting writer forces the changes of all the others
+            long target = appendedBytes;
+            if (syncedBytes < target) {
+                segment.force();
+                syncedBytes = target;
+            }
+        }
+    }
+
+    @Override
+    public boolean isCheckpointDue() {
+        return checkpointDue;
+    }
+
+    @Override
+    public long startNewGeneration() {
+        checkpointDue = false;
+        rotate(segmentSize);
+        return generation;
+    }
+
+    @Override
+    public void writeSnapshot(long version, long nextGeneration, Collection<? extends ScoredMatch> liveMatches) {
+        synchronized (checkpointLock) {
+            if (nextGeneration <= snapshotNextGeneration) {
+                // a more recent snapshot was written in the meantime
+                return;
+            }
+            try {
+                var temporaryFile = directory.resolve(SNAPSHOT_FILE_NAME + ".tmp");
+                try (var channel = FileChannel.open(temporaryFile, CREATE, WRITE, TRUNCATE_EXISTING);
+                     var output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                    output.writeInt(SNAPSHOT_MAGIC);
+                    output.writeLong(version);
+                    output.writeLong(nextGeneration);
+                    output.writeInt(liveMatches.size());
+                    for (var match : liveMatches) {
+                        writeMatch(output, match);
+                    }
+                    output.flush();
+                    channel.force(true);
+                }
+                Files.move(temporaryFile, directory.resolve(SNAPSHOT_FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                snapshotNextGeneration = nextGeneration;
+                deleteGenerationsBefore(nextGeneration);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write the snapshot in " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (syncLock) {
+            closeSegment();
+        }
+    }
+
+    private void record(byte changeType, ScoredMatch match) {
+        try {
+            writeChange(recordedChanges, changeType, match);
+            recordedChangesCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void rotate(int newSegmentSize) {
+        synchronized (syncLock) {
+            closeSegment();
+            syncedBytes = appendedBytes;
+            openSegment(generation + 1, newSegmentSize);
+        }
+    }
+
+    private void openSegment(long newGeneration, int newSegmentSize) {
+        try {
+            generation = newGeneration;
+            segmentChannel = FileChannel.open(segmentPath(directory, newGeneration), CREATE_NEW, READ, WRITE);
+            segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, newSegmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create a new segment of the journal in " + directory, e);
+        }
+    }
+
+    private void closeSegment() {
+        if (segmentChannel == null) {
+            return;
+        }
+        try {
+            segment.force();
+            segmentChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the segment of the journal in " + directory, e);
+        }
+    }
+
+    private void deleteGenerationsBefore(long nextGeneration) throws IOException {
+        for (var segmentFile : listSegments(directory).keySet()) {
+            if (segmentFile < nextGeneration) {
+                Files.deleteIfExists(segmentPath(directory, segmentFile));
+            }
+        }
+    }
+
+    /**
+     * Writes a change in the format of the log - shared with the replication, that streams the very same changes.
+     */
+    static void writeChange(DataOutput output, byte changeType, ScoredMatch match) throws IOException {
+        output.writeByte(changeType);
+        output.writeUTF(match.homeTeamName());
+        output.writeUTF(match.awayTeamName());
+        if (changeType == MATCH_STARTED) {
+            writeStartTime(output, match);
+        } else if (changeType == MATCH_UPDATED) {
+            output.writeInt(match.homeTeamScore());
+            output.writeInt(match.awayTeamScore());
+        }
+    }
+
+    static void writeMatch(DataOutput output, ScoredMatch match) throws IOException {
+        output.writeUTF(match.homeTeamName());
+        output.writeUTF(match.awayTeamName());
+        output.writeInt(match.homeTeamScore());
+        output.writeInt(match.awayTeamScore());
+        writeStartTime(output, match);
+    }
+
+    private static void writeStartTime(DataOutput output, ScoredMatch match) throws IOException {
+        output.writeLong(Math.floorDiv(match.startEpochNanos(), ScoredMatch.NANOS_PER_SECOND));
+        output.writeInt((int) Math.floorMod(match.startEpochNanos(), ScoredMatch.NANOS_PER_SECOND));
+    }
+
+    static Match readMatch(DataInput input) throws IOException {
+        return new Match(input.readUTF(), input.readUTF(), input.readInt(), input.readInt(),
+                Instant.ofEpochSecond(input.readLong(), input.readInt()));
+    }
+
+    private static Path segmentPath(Path directory, long generation) {
+        return directory.resolve(SEGMENT_FILE_PREFIX + "%019d".formatted(generation) + SEGMENT_FILE_SUFFIX);
+    }
+
+    private static SortedMap<Long, Path> listSegments(Path directory) throws IOException {
+        var segments = new TreeMap<Long, Path>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                var fileName = file.getFileName().toString();
+                if (fileName.startsWith(SEGMENT_FILE_PREFIX) && fileName.endsWith(SEGMENT_FILE_SUFFIX)) {
+                    segments.put(Long.parseLong(fileName, SEGMENT_FILE_PREFIX.length(), fileName.length() - SEGMENT_FILE_SUFFIX.length(), 10), file);
+                }
+            });
+        }
+        return segments;
+    }
+
+    /**
+     * State of the board recovered from the journal.
+     *
+     * @param version     version of the board as of the last recovered change
+     * @param liveMatches live matches in the order they started
+     */
+    record RecoveredBoard(long version, Collection<Match> liveMatches) {
+    }
+
+    private static final class Recovery {
+        private final Path directory;
+        // in the order the matches started - an update keeps the match in place, a restart moves it to the end
+        private final Map<TeamNames, Match> liveMatches = new LinkedHashMap<>();
+        private long version;
+        private long lastGeneration;
+
+        private Recovery(Path directory) {
+            this.directory = directory;
+        }
+
+        RecoveredBoard recover() throws IOException {
+            long nextGeneration = readSnapshot();
+            lastGeneration = nextGeneration - 1;
+            for (var segment : listSegments(directory).entrySet()) {
+                lastGeneration = Math.max(lastGeneration, segment.getKey());
+                if (segment.getKey() >= nextGeneration) {
+                    replaySegment(segment.getValue());
+                }
+            }
+            return new RecoveredBoard(version, List.copyOf(liveMatches.values()));
+        }
+
+        private long readSnapshot() throws IOException {
+            var snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+            if (!Files.exists(snapshotFile)) {
+                return 0;
+            }
+            try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+                if (input.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a snapshot of the scoreboard: " + snapshotFile);
+                }
+                version = input.readLong();
+                long nextGeneration = input.readLong();
+                int numberOfMatches = input.readInt();
+                for (int i = 0; i < numberOfMatches; i++) {
+                    var match = readMatch(input);
+                    liveMatches.put(TeamNames.of(match), match);
+                }
+                return nextGeneration;
+            }
+        }
+
+        private void replaySegment(Path segmentFile) throws IOException {
+            try (var channel = FileChannel.open(segmentFile, READ)) {
+                var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                var checksum = new CRC32();
+                while (segment.remaining() >= ENTRY_HEADER_SIZE) {
+                    int payloadSize = segment.getInt();
+                    int expectedChecksum = segment.getInt();
+                    if (payloadSize < ENTRY_PAYLOAD_HEADER_SIZE || payloadSize > segment.remaining()) {
+                        return;
+                    }
+                    var payload = segment.slice(segment.position(), payloadSize);
+                    checksum.reset();
+                    checksum.update(payload.duplicate());
+                    if ((int) checksum.getValue() != expectedChecksum) {
+                        return;
+                    }
+                    replayEntry(payload);
+                    segment.position(segment.position() + payloadSize);
+                }
+            }
+        }
+
+        private void replayEntry(ByteBuffer payload) throws IOException {
+            long entryVersion = payload.getLong();
+            int numberOfChanges = payload.getInt();
+            var input = new DataInputStream(new ByteBufferInputStream(payload));
+            if (entryVersion <= version) {
+                return;
+            }
+            for (int i = 0; i < numberOfChanges; i++) {
+                byte changeType = input.readByte();
+                var teamNames = new TeamNames(input.readUTF(), input.readUTF());
+                switch (changeType) {
+                    case MATCH_STARTED -> liveMatches.put(teamNames, new Match(teamNames.homeTeamName(), teamNames.awayTeamName(),
+                            Instant.ofEpochSecond(input.readLong(), input.readInt())));
+                    case MATCH_UPDATED -> {
+                        var score = new MatchScore(input.readInt(), input.readInt());
+                        liveMatches.computeIfPresent(teamNames, (key, match) -> match.update(score));
+                    }
+                    case MATCH_FINISHED -> liveMatches.remove(teamNames);
+                    default -> throw new IOException("Unknown change in the journal: " + changeType);
+                }
+            }
+            version = entryVersion;
+        }
+    }
+
+    private record TeamNames(String homeTeamName, String awayTeamName) {
+        static TeamNames of(Match match) {
+            return new TeamNames(match.homeTeamName(), match.awayTeamName());
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
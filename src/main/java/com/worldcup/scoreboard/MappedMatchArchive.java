@@ -0,0 +1,345 @@
+package com.worldcup.scoreboard;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * {@link MatchArchive} kept in a directory as a memory-mapped file per column - ids of the teams, their scores and
+ * the start and finish times (epoch milliseconds) - next to a dictionary of the teams' names. Queries scan just the
+ * columns they need, 4 bytes per match each, and build only the matches they return.
+ * <p>
+ * The number of archived matches is kept in a header written after the rows, so the rows of an interrupted append
+ * are simply overwritten. Writes go to the page cache - the archive survives a crash of the process and is forced to
+ * the disk on close.
+ */
+final class MappedMatchArchive implements MatchArchive {
+    static final int DEFAULT_ROWS_PER_CHUNK = 1 << 20;
+
+    private static final String HEADER_FILE_NAME = "archive.header";
+    private static final String TEAMS_FILE_NAME = "teams.names";
+    private static final int HEADER_MAGIC = 0x4152_4348;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final TeamRegistry teamRegistry = new TeamRegistry();
+    private final FileChannel teamsChannel;
+    private final FileChannel headerChannel;
+    private final MappedByteBuffer header;
+    private final MappedColumn homeTeamIds;
+    private final MappedColumn awayTeamIds;
+    private final MappedColumn homeTeamScores;
+    private final MappedColumn awayTeamScores;
+    private final MappedColumn startedAt;
+    private final MappedColumn finishedAt;
+    private final List<RecordedMatch> recordedMatches = new ArrayList<>();
+    // rows below are visible to the readers
+    private volatile int size;
+
+    private MappedMatchArchive(Path directory, int rowsPerChunk) throws IOException {
+        this.directory = directory;
+        this.headerChannel = FileChannel.open(directory.resolve(HEADER_FILE_NAME), CREATE, READ, WRITE);
+        this.header = headerChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(0) == 0) {
+            header.putInt(0, HEADER_MAGIC);
+        } else if (header.getInt(0) != HEADER_MAGIC) {
+            throw new IOException("Not an archive of the scoreboard: " + directory.resolve(HEADER_FILE_NAME));
+        }
+        this.teamsChannel = FileChannel.open(directory.resolve(TEAMS_FILE_NAME), CREATE, READ, WRITE);
+        loadTeams();
+        this.homeTeamIds = new MappedColumn(directory.resolve("home-team-id.column"), Integer.BYTES, rowsPerChunk);
+        this.awayTeamIds = new MappedColumn(directory.resolve("away-team-id.column"), Integer.BYTES, rowsPerChunk);
+        this.homeTeamScores = new MappedColumn(directory.resolve("home-team-score.column"), Integer.BYTES, rowsPerChunk);
+        this.awayTeamScores = new MappedColumn(directory.resolve("away-team-score.column"), Integer.BYTES, rowsPerChunk);
+        this.startedAt = new MappedColumn(directory.resolve("started-at.column"), Long.BYTES, rowsPerChunk);
+        this.finishedAt = new MappedColumn(directory.resolve("finished-at.column"), Long.BYTES, rowsPerChunk);
+        this.size = header.getInt(Integer.BYTES);
+        for (var column : columns()) {
+            column.mapRows(size);
+        }
+    }
+
+    static MappedMatchArchive open(Path directory, int rowsPerChunk) {
+        try {
+            Files.createDirectories(directory);
+            return new MappedMatchArchive(directory, rowsPerChunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the archive in " + directory, e);
+        }
+    }
+
+    @Override
+    public void recordFinished(Match match, Instant finishedAt) {
+        recordedMatches.add(new RecordedMatch(match, finishedAt));
+    }
+
+    @Override
+    public void discardRecorded() {
+        recordedMatches.clear();
+    }
+
+    @Override
+    public void append() {
+        if (recordedMatches.isEmpty()) {
+            return;
+        }
+        int row = size;
+        for (var recordedMatch : recordedMatches) {
+            var match = recordedMatch.match();
+            homeTeamIds.putInt(row, teamId(match.homeTeamName()));
+            awayTeamIds.putInt(row, teamId(match.awayTeamName()));
+            homeTeamScores.putInt(row, match.homeTeamScore());
+            awayTeamScores.putInt(row, match.awayTeamScore());
+            startedAt.putLong(row, match.startMatchTime().toEpochMilli());
+            finishedAt.putLong(row, recordedMatch.finishedAt().toEpochMilli());
+            row++;
+        }
+        recordedMatches.clear();
+        header.putInt(Integer.BYTES, row);
+        size = row;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public HeadToHead headToHead(String teamName, String opponentName) {
+        int rows = size;
+        int teamId = teamRegistry.idOf(teamName);
+        int opponentId = teamRegistry.idOf(opponentName);
+        int matches = 0;
+        int wins = 0;
+        int draws = 0;
+        long goalsScored = 0;
+        long goalsConceded = 0;
+        if (teamId != TeamRegistry.UNKNOWN_TEAM_ID && opponentId != TeamRegistry.UNKNOWN_TEAM_ID) {
+            int rowsPerChunk = homeTeamIds.rowsPerChunk();
+            for (int chunk = 0; (long) chunk * rowsPerChunk < rows; chunk++) {
+                var homeTeams = homeTeamIds.chunk(chunk);
+                var awayTeams = awayTeamIds.chunk(chunk);
+                int chunkRows = Math.min(rowsPerChunk, rows - chunk * rowsPerChunk);
+                for (int row = 0; row < chunkRows; row++) {
+                    int homeTeamId = homeTeams.getInt(row * Integer.BYTES);
+                    int awayTeamId = awayTeams.getInt(row * Integer.BYTES);
+                    boolean atHome = homeTeamId == teamId && awayTeamId == opponentId;
+                    if (atHome || homeTeamId == opponentId && awayTeamId == teamId) {
+                        int homeTeamScore = homeTeamScores.chunk(chunk).getInt(row * Integer.BYTES);
+                        int awayTeamScore = awayTeamScores.chunk(chunk).getInt(row * Integer.BYTES);
+                        int scored = atHome ? homeTeamScore : awayTeamScore;
+                        int conceded = atHome ? awayTeamScore : homeTeamScore;
+                        matches++;
+                        wins += scored > conceded ? 1 : 0;
+                        draws += scored == conceded ? 1 : 0;
+                        goalsScored += scored;
+                        goalsConceded += conceded;
+                    }
+                }
+            }
+        }
+        return new HeadToHead(teamName, opponentName, matches, wins, draws, matches - wins - draws, goalsScored, goalsConceded);
+    }
+
+    @Override
+    public long goalsScored(String teamName) {
+        int rows = size;
+        int teamId = teamRegistry.idOf(teamName);
+        if (teamId == TeamRegistry.UNKNOWN_TEAM_ID) {
+            return 0;
+        }
+        long goals = 0;
+        int rowsPerChunk = homeTeamIds.rowsPerChunk();
+        for (int chunk = 0; (long) chunk * rowsPerChunk < rows; chunk++) {
+            var homeTeams = homeTeamIds.chunk(chunk);
+            var awayTeams = awayTeamIds.chunk(chunk);
+            int chunkRows = Math.min(rowsPerChunk, rows - chunk * rowsPerChunk);
+            for (int row = 0; row < chunkRows; row++) {
+                if (homeTeams.getInt(row * Integer.BYTES) == teamId) {
+                    goals += homeTeamScores.chunk(chunk).getInt(row * Integer.BYTES);
+                } else if (awayTeams.getInt(row * Integer.BYTES) == teamId) {
+                    goals += awayTeamScores.chunk(chunk).getInt(row * Integer.BYTES);
+                }
+            }
+        }
+        return goals;
+    }
+
+    @Override
+    public List<FinishedMatch> highestScoring(int k) {
+        int rows = size;
+        var topRows = new TopRows(Math.min(k, rows));
+        int rowsPerChunk = homeTeamIds.rowsPerChunk();
+        for (int chunk = 0; (long) chunk * rowsPerChunk < rows && k > 0; chunk++) {
+            var homeScores = homeTeamScores.chunk(chunk);
+            var awayScores = awayTeamScores.chunk(chunk);
+            int chunkRows = Math.min(rowsPerChunk, rows - chunk * rowsPerChunk);
+            for (int row = 0; row < chunkRows; row++) {
+                long goals = (long) homeScores.getInt(row * Integer.BYTES) + awayScores.getInt(row * Integer.BYTES);
+                topRows.offer(chunk * rowsPerChunk + row, goals);
+            }
+        }
+        var matches = new ArrayList<FinishedMatch>(topRows.size());
+        for (int row : topRows.inDescendingOrder()) {
+            matches.add(finishedMatch(row));
+        }
+        return matches;
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (var column : columns()) {
+                column.close();
+            }
+            header.force();
+            headerChannel.close();
+            teamsChannel.force(true);
+            teamsChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the archive in " + directory, e);
+        }
+    }
+
+    private FinishedMatch finishedMatch(int row) {
+        return new FinishedMatch(teamRegistry.nameOf(homeTeamIds.getInt(row)), teamRegistry.nameOf(awayTeamIds.getInt(row)),
+                homeTeamScores.getInt(row), awayTeamScores.getInt(row),
+                Instant.ofEpochMilli(startedAt.getLong(row)), Instant.ofEpochMilli(finishedAt.getLong(row)));
+    }
+
+    // ids are the positions of the names in the dictionary file, so they are stable across restarts
+    private int teamId(String teamName) {
+        int teamId = teamRegistry.idOf(teamName);
+        if (teamId != TeamRegistry.UNKNOWN_TEAM_ID) {
+            return teamId;
+        }
+        try {
+            var name = new ByteArrayOutputStream();
+            new DataOutputStream(name).writeUTF(teamName);
+            var buffer = ByteBuffer.wrap(name.toByteArray());
+            while (buffer.hasRemaining()) {
+                teamsChannel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to the teams of the archive in " + directory, e);
+        }
+        return teamRegistry.register(teamName);
+    }
+
+    private void loadTeams() throws IOException {
+        var bytes = new byte[(int) teamsChannel.size()];
+        teamsChannel.read(ByteBuffer.wrap(bytes), 0);
+        var names = new ByteArrayInputStream(bytes);
+        var input = new DataInputStream(names);
+        long validLength = 0;
+        try {
+            while (names.available() > 0) {
+                teamRegistry.register(input.readUTF());
+                validLength = bytes.length - names.available();
+            }
+        } catch (EOFException tornName) {
+            // the name of an interrupted append - no archived match refers to it
+        }
+        teamsChannel.truncate(validLength);
+        teamsChannel.position(validLength);
+    }
+
+    private List<MappedColumn> columns() {
+        return List.of(homeTeamIds, awayTeamIds, homeTeamScores, awayTeamScores, startedAt, finishedAt);
+    }
+
+    private record RecordedMatch(Match match, Instant finishedAt) {
+    }
+
+    /**
+     * Min-heap of the rows with the most goals - the later row wins a tie, as it's the more recently finished match.
+     */
+    private static final class TopRows {
+        private final int[] rows;
+        private final long[] goals;
+        private int size;
+
+        private TopRows(int capacity) {
+            this.rows = new int[capacity];
+            this.goals = new long[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void offer(int row, long rowGoals) {
+            if (size < rows.length) {
+                rows[size] = row;
+                goals[size] = rowGoals;
+                siftUp(size++);
+            } else if (size > 0 && isLess(goals[0], rows[0], rowGoals, row)) {
+                rows[0] = row;
+                goals[0] = rowGoals;
+                siftDown(0);
+            }
+        }
+
+        int[] inDescendingOrder() {
+            var indexes = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = i;
+            }
+            Arrays.sort(indexes, (first, second) -> isLess(goals[first], rows[first], goals[second], rows[second]) ? 1 : -1);
+            var sortedRows = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedRows[i] = rows[indexes[i]];
+            }
+            return sortedRows;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!isLess(goals[index], rows[index], goals[parent], rows[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (isLess(goals[child], rows[child], goals[smallest], rows[smallest])) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int first, int second) {
+            int row = rows[first];
+            rows[first] = rows[second];
+            rows[second] = row;
+            long rowGoals = goals[first];
+            goals[first] = goals[second];
+            goals[second] = rowGoals;
+        }
+
+        private static boolean isLess(long firstGoals, int firstRow, long secondGoals, int secondRow) {
+            return firstGoals != secondGoals ? firstGoals < secondGoals : firstRow < secondRow;
+        }
+    }
+}
@@ -9,7 +9,7 @@ record Match(
         String awayTeamName,
         int homeTeamScore,
         int awayTeamScore,
-        Instant startMatchTime) {
+        Instant startMatchTime) implements ScoredMatch {
 
     Match(String homeTeamName, String awayTeamName, Instant startMatchTime) {
         this(homeTeamName, awayTeamName, 0, 0, startMatchTime);
@@ -24,8 +24,17 @@ record Match(
         validateScoresNotNegative(homeTeamScore, awayTeamScore);
     }
 
+    @Override
+    public long startEpochNanos() {
+        return startMatchTime.getEpochSecond() * NANOS_PER_SECOND + startMatchTime.getNano();
+    }
+
     Match update(MatchScore matchScore) {
-        return new Match(homeTeamName, awayTeamName, matchScore.homeTeamScore(), matchScore.awayTeamScore(), startMatchTime);
+        return update(matchScore.homeTeamScore(), matchScore.awayTeamScore());
+    }
+
+    Match update(int homeTeamScore, int awayTeamScore) {
+        return new Match(homeTeamName, awayTeamName, homeTeamScore, awayTeamScore, startMatchTime);
     }
 
     private void validateTeamName(String teamName) {
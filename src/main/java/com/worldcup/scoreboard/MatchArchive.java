@@ -0,0 +1,60 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * History of the finished matches.
+ * <p>
+ * Like in the {@link MatchJournal}, the finished matches are recorded under the repository's write lock and
+ * appended once the repository publishes a new version - matches of a rejected batch are discarded instead.
+ */
+interface MatchArchive extends AutoCloseable {
+    MatchArchive NONE = new MatchArchive() {
+    };
+
+    default void recordFinished(Match match, Instant finishedAt) {
+    }
+
+    default void discardRecorded() {
+    }
+
+    default void append() {
+    }
+
+    default int size() {
+        throw notArchived();
+    }
+
+    /**
+     * @param teamName     already stripped name
+     * @param opponentName already stripped name
+     */
+    default HeadToHead headToHead(String teamName, String opponentName) {
+        throw notArchived();
+    }
+
+    /**
+     * @param teamName already stripped name
+     */
+    default long goalsScored(String teamName) {
+        throw notArchived();
+    }
+
+    /**
+     * @return up to {@code k} matches with the most goals, the most recently finished first among the equal ones
+     */
+    default List<FinishedMatch> highestScoring(int k) {
+        throw notArchived();
+    }
+
+    @Override
+    default void close() {
+    }
+
+    private static DomainValidationException notArchived() {
+        return new DomainValidationException("Finished matches are not archived - see Scoreboard.Builder#archivedIn");
+    }
+}
@@ -0,0 +1,61 @@
+package com.worldcup.scoreboard;
+
+import java.util.Collection;
+
+/**
+ * Durable log of the scoreboard's changes.
+ * <p>
+ * Changes are recorded one by one and appended as a single entry once the repository publishes a new version -
+ * a batch is either fully recovered or not at all. Recording and appending happen under the repository's write
+ * lock, {@link #sync()} is meant to be called after releasing it, so that many writers share a single flush.
+ */
+interface MatchJournal extends AutoCloseable {
+    MatchJournal NONE = new MatchJournal() {
+    };
+
+    default void recordStarted(ScoredMatch match) {
+    }
+
+    default void recordUpdated(ScoredMatch match) {
+    }
+
+    default void recordFinished(ScoredMatch match) {
+    }
+
+    default void discardRecorded() {
+    }
+
+    default void append(long version) {
+    }
+
+    /**
+     * Makes all the appended entries durable.
+     */
+    default void sync() {
+    }
+
+    default boolean isCheckpointDue() {
+        return false;
+    }
+
+    /**
+     * Directs all the following entries to a new generation of the log.
+     *
+     * @return the generation that the snapshot taken right now has to be followed by during recovery
+     */
+    default long startNewGeneration() {
+        return 0;
+    }
+
+    /**
+     * Persists the state of the board and drops the generations of the log preceding {@code nextGeneration}.
+     *
+     * @param liveMatches live matches in the order they started
+     */
+    default void writeSnapshot(long version, long nextGeneration, Collection<? extends ScoredMatch> liveMatches) {
+    }
+
+    @Override
+    default void close() {
+    }
+}
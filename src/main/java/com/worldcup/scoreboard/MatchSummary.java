@@ -7,11 +7,12 @@ public record MatchSummary(String summary) {
         requireNonNull(summary);
     }
 
-    static MatchSummary from(Match match) {
+    static MatchSummary from(ScoredMatch match) {
         return new MatchSummary(buildSummary(match));
     }
 
-    private static String buildSummary(Match match) {
-        return "%s %d - %s %d".formatted(match.homeTeamName(), match.homeTeamScore(), match.awayTeamName(), match.awayTeamScore());
+    private static String buildSummary(ScoredMatch match) {
+        // concatenation is linked once (invokedynamic), unlike String::formatted that parses the format on every call
+        return match.homeTeamName() + " " + match.homeTeamScore() + " - " + match.awayTeamName() + " " + match.awayTeamScore();
     }
 }
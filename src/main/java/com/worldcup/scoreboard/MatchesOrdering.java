@@ -0,0 +1,34 @@
+package com.worldcup.scoreboard;
+
+import java.util.Comparator;
+
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestGoalDifferenceFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestScoringMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.recentlyStartedMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.teamNamesAlphabetically;
+
+/**
+ * Named orderings of the board, each one maintained by the scoreboard as its own index.
+ */
+public enum MatchesOrdering {
+    /**
+     * The highest total score first, the most recently started first among the equally scoring ones.
+     */
+    HIGHEST_SCORING_FIRST(highestScoringMatchesFirst().thenComparing(recentlyStartedMatchesFirst())),
+    RECENTLY_STARTED_FIRST(recentlyStartedMatchesFirst()),
+    /**
+     * The highest goal difference first, then as {@link #HIGHEST_SCORING_FIRST}.
+     */
+    HIGHEST_GOAL_DIFFERENCE_FIRST(highestGoalDifferenceFirst().thenComparing(HIGHEST_SCORING_FIRST.policy)),
+    TEAM_NAMES_ALPHABETICALLY(teamNamesAlphabetically());
+
+    private final Comparator<ScoredMatch> policy;
+
+    MatchesOrdering(Comparator<ScoredMatch> policy) {
+        this.policy = policy;
+    }
+
+    Comparator<ScoredMatch> policy() {
+        return policy;
+    }
+}
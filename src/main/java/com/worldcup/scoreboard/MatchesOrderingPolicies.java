@@ -4,16 +4,38 @@ import java.util.Comparator;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
 
+/**
+ * Orderings of any representation of the matches - they compare just the primitive fields (and the names) of a
+ * {@link ScoredMatch}.
+ */
 class MatchesOrderingPolicies {
     private MatchesOrderingPolicies() {
     }
 
-    static Comparator<Match> highestScoringMatchesFirst() {
-        return comparingInt((Match match) -> match.homeTeamScore() + match.awayTeamScore()).reversed();
+    static <M extends ScoredMatch> Comparator<M> highestScoringMatchesFirst() {
+        return comparingInt((M match) -> match.homeTeamScore() + match.awayTeamScore()).reversed();
     }
 
-    static Comparator<Match> recentlyStartedMatchesFirst() {
-        return comparing(Match::startMatchTime).reversed();
+    static <M extends ScoredMatch> Comparator<M> highestGoalDifferenceFirst() {
+        return comparingInt((M match) -> Math.abs(match.homeTeamScore() - match.awayTeamScore())).reversed();
+    }
+
+    static <M extends ScoredMatch> Comparator<M> recentlyStartedMatchesFirst() {
+        return comparingLong((M match) -> match.startEpochNanos()).reversed();
+    }
+
+    /**
+     * Breaks every tie left by the other policies, as the start sequence is unique among the live matches - the
+     * ordering becomes a strict total one, replayed the same after a restart and on the replicas, at the cost of
+     * a single comparison of two longs.
+     */
+    static <M extends LiveMatch> Comparator<M> lastStartedMatchesFirst() {
+        return comparingLong((M match) -> match.startSequence()).reversed();
+    }
+
+    static <M extends ScoredMatch> Comparator<M> teamNamesAlphabetically() {
+        return comparing((M match) -> match.homeTeamName()).thenComparing(match -> match.awayTeamName());
     }
 }
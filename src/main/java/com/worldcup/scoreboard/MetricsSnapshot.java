@@ -0,0 +1,83 @@
+package com.worldcup.scoreboard;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Metrics of a scoreboard built {@link Scoreboard.Builder#withMetrics() with metrics} - all empty otherwise.
+ *
+ * @param operations    calls of the scoreboard's writing operations, both the successful and the failed ones
+ * @param failures      failed calls by the type of the thrown exception, i.e. {@code MatchNotFoundException}
+ * @param indexUpdates  time of updating the ordered indexes by a single change of the board
+ * @param indexBuilds   time of building the indexes at once, i.e. of a board recovered from the journal
+ * @param indexSize     number of matches in the last published index
+ * @param caches        accesses of the per-version caches of the board
+ * @param replicationLag time from publishing a version on the leader till publishing it on this follower
+ */
+public record MetricsSnapshot(Map<Operation, OperationMetrics> operations, Map<String, Long> failures,
+                              LatencySnapshot indexUpdates, LatencySnapshot indexBuilds, int indexSize,
+                              Map<Cache, CacheMetrics> caches, LatencySnapshot replicationLag) {
+    static final MetricsSnapshot EMPTY = empty();
+
+    public MetricsSnapshot {
+        operations = Map.copyOf(operations);
+        failures = Map.copyOf(failures);
+        caches = Map.copyOf(caches);
+    }
+
+    public OperationMetrics operation(Operation operation) {
+        return operations.get(operation);
+    }
+
+    public CacheMetrics cache(Cache cache) {
+        return caches.get(cache);
+    }
+
+    private static MetricsSnapshot empty() {
+        var operations = new EnumMap<Operation, OperationMetrics>(Operation.class);
+        for (var operation : Operation.values()) {
+            operations.put(operation, new OperationMetrics(0, LatencySnapshot.EMPTY));
+        }
+        var caches = new EnumMap<Cache, CacheMetrics>(Cache.class);
+        for (var cache : Cache.values()) {
+            caches.put(cache, new CacheMetrics(0, 0));
+        }
+        return new MetricsSnapshot(operations, Map.of(), LatencySnapshot.EMPTY, LatencySnapshot.EMPTY, 0, caches, LatencySnapshot.EMPTY);
+    }
+
+    public enum Operation {
+        START_MATCH,
+        UPDATE_MATCH,
+        FINISH_MATCH,
+        APPLY_ALL
+    }
+
+    public enum Cache {
+        /**
+         * Lists of summaries, in any of the board's orderings.
+         */
+        SUMMARIES,
+        BOARD_FRAME,
+        DELTA_FRAME
+    }
+
+    /**
+     * @param failures calls that threw (and batches that got rejected)
+     * @param latency  time of all the calls, including the failed ones
+     */
+    public record OperationMetrics(long failures, LatencySnapshot latency) {
+        public long count() {
+            return latency.count();
+        }
+    }
+
+    public record CacheMetrics(long hits, long misses) {
+        /**
+         * @return share of the accesses served from the cache, {@code 0} when there were none
+         */
+        public double hitRate() {
+            long accesses = hits + misses;
+            return accesses == 0 ? 0 : (double) hits / accesses;
+        }
+    }
+}
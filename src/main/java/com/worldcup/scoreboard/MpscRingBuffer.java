@@ -0,0 +1,98 @@
+package com.worldcup.scoreboard;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue of many producers and a single consumer, on a ring of preallocated slots (in the
+ * spirit of Vyukov's bounded queue).
+ * <p>
+ * Every slot has a sequence number telling whose turn it is: a producer claims the slot of the next position with
+ * a CAS once the slot is free for that position, writes the element and publishes it by advancing the sequence.
+ * The consumer takes the element once the sequence shows it's published, and frees the slot for the position a
+ * whole ring later. A full ring rejects the element instead of waiting.
+ */
+final class MpscRingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // accessed by the consumer only
+    private long head;
+
+    /**
+     * @param capacity rounded up to a power of two, at least 2 - a published element of a single slot would look
+     *                 like a free slot of the next lap
+     */
+    MpscRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int slot = 0; slot < size; slot++) {
+            sequences.set(slot, slot);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return {@code false} when the ring is full
+     */
+    boolean offer(E element) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long sequence = sequences.get(slotOf(position));
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                // the slot still holds the element of the previous lap
+                return false;
+            }
+            // another producer has claimed the position meanwhile
+        }
+        int slot = slotOf(position);
+        elements[slot] = element;
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements to the given list - the consumer only.
+     *
+     * @return number of the moved elements
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> drained, int maxElements) {
+        int count = 0;
+        for (; count < maxElements; count++) {
+            int slot = slotOf(head);
+            if (sequences.get(slot) != head + 1) {
+                // empty, or the next element is claimed but not published yet
+                break;
+            }
+            drained.add((E) elements[slot]);
+            elements[slot] = null;
+            sequences.set(slot, head + elements.length);
+            head++;
+        }
+        return count;
+    }
+
+    /**
+     * @return whether there's no element to drain - the consumer only
+     */
+    boolean isEmpty() {
+        return sequences.get(slotOf(head)) != head + 1;
+    }
+
+    private int slotOf(long position) {
+        return (int) position & mask;
+    }
+}
@@ -0,0 +1,335 @@
+package com.worldcup.scoreboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, persistent sorted set backed by a weight-balanced tree.
+ * <p>
+ * Every modification copies only the path from the root to the modified node and shares the rest of the tree
+ * with the previous version, so an insert or remove costs {@code O(log n)} and any version can be safely read
+ * by many threads while a newer one is being built.
+ */
+final class OrderedIndex<E> implements Iterable<E> {
+    private static final int DELTA = 3;
+    private static final int RATIO = 2;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> root;
+
+    private OrderedIndex(Comparator<? super E> comparator, Node<E> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    static <E> OrderedIndex<E> empty(Comparator<? super E> comparator) {
+        return new OrderedIndex<>(comparator, null);
+    }
+
+    /**
+     * Builds the index at once, in {@code O(n log n)} for unsorted elements and {@code O(n)} for sorted ones.
+     *
+     * @param elements distinct elements (according to the comparator)
+     */
+    static <E> OrderedIndex<E> of(Comparator<? super E> comparator, Collection<? extends E> elements) {
+        var sortedElements = new ArrayList<E>(elements);
+        sortedElements.sort(comparator);
+        return new OrderedIndex<>(comparator, build(sortedElements, 0, sortedElements.size()));
+    }
+
+    /**
+     * Inserts the element or replaces the one equal to it (according to the comparator) - a replacement keeps
+     * the shape of the tree and copies just the path to the replaced node.
+     */
+    OrderedIndex<E> insert(E element) {
+        return new OrderedIndex<>(comparator, insert(root, element));
+    }
+
+    OrderedIndex<E> remove(E element) {
+        var newRoot = remove(root, element);
+        return newRoot == root ? this : new OrderedIndex<>(comparator, newRoot);
+    }
+
+    Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * @return position of the element in the index (0-based) or {@code -1} when it's not part of the index
+     */
+    int indexOf(E element) {
+        int position = 0;
+        var node = root;
+        while (node != null) {
+            int comparison = comparator.compare(element, node.value);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return position + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    E get(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        var node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position > leftSize) {
+                position -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Binary search driven by the given function, i.e. for elements that cannot be easily created just to be compared.
+     *
+     * @param direction negative when the searched element precedes the given one, positive when it follows it
+     *                  and zero when the given element is the searched one
+     * @return the searched element or {@code null}
+     */
+    E search(ToIntFunction<? super E> direction) {
+        var node = root;
+        while (node != null) {
+            int comparison = direction.applyAsInt(node.value);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return up to {@code limit} elements starting at the given position, in {@code O(log n + limit)}
+     */
+    List<E> slice(int fromPosition, int limit) {
+        var slice = new ArrayList<E>(Math.max(0, Math.min(limit, size() - fromPosition)));
+        var iterator = new InOrderIterator<>(root, fromPosition);
+        while (slice.size() < limit && iterator.hasNext()) {
+            slice.add(iterator.next());
+        }
+        return Collections.unmodifiableList(slice);
+    }
+
+    List<E> toList() {
+        var list = new ArrayList<E>(size());
+        forEach(list::add);
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new InOrderIterator<>(root, 0);
+    }
+
+    // perfectly balanced tree satisfies the weight-balance invariant
+    private static <E> Node<E> build(List<E> sortedElements, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(sortedElements.get(middle), build(sortedElements, from, middle), build(sortedElements, middle + 1, to));
+    }
+
+    private Node<E> insert(Node<E> node, E element) {
+        if (node == null) {
+            return new Node<>(element, null, null);
+        }
+        int comparison = comparator.compare(element, node.value);
+        if (comparison < 0) {
+            return balance(node.value, insert(node.left, element), node.right);
+        } else if (comparison > 0) {
+            return balance(node.value, node.left, insert(node.right, element));
+        }
+        return new Node<>(element, node.left, node.right);
+    }
+
+    private Node<E> remove(Node<E> node, E element) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(element, node.value);
+        if (comparison < 0) {
+            var left = remove(node.left, element);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        } else if (comparison > 0) {
+            var right = remove(node.right, element);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        return glue(node.left, node.right);
+    }
+
+    private static <E> Node<E> glue(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.size > right.size) {
+            return balance(max(left), removeMax(left), right);
+        }
+        return balance(min(right), left, removeMin(right));
+    }
+
+    private static <E> E min(Node<E> node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.value;
+    }
+
+    private static <E> E max(Node<E> node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.value;
+    }
+
+    private static <E> Node<E> removeMin(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.value, removeMin(node.left), node.right);
+    }
+
+    private static <E> Node<E> removeMax(Node<E> node) {
+        if (node.right == null) {
+            return node.left;
+        }
+        return balance(node.value, node.left, removeMax(node.right));
+    }
+
+    private static <E> Node<E> balance(E value, Node<E> left, Node<E> right) {
+        int leftSize = size(left);
+        int rightSize = size(right);
+        if (leftSize + rightSize <= 1) {
+            return new Node<>(value, left, right);
+        }
+        if (rightSize > DELTA * leftSize) {
+            return size(right.left) < RATIO * size(right.right)
+                    ? singleLeft(value, left, right)
+                    : doubleLeft(value, left, right);
+        }
+        if (leftSize > DELTA * rightSize) {
+            return size(left.right) < RATIO * size(left.left)
+                    ? singleRight(value, left, right)
+                    : doubleRight(value, left, right);
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static <E> Node<E> singleLeft(E value, Node<E> left, Node<E> right) {
+        return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+    }
+
+    private static <E> Node<E> doubleLeft(E value, Node<E> left, Node<E> right) {
+        var rightLeft = right.left;
+        return new Node<>(rightLeft.value,
+                new Node<>(value, left, rightLeft.left),
+                new Node<>(right.value, rightLeft.right, right.right));
+    }
+
+    private static <E> Node<E> singleRight(E value, Node<E> left, Node<E> right) {
+        return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+    }
+
+    private static <E> Node<E> doubleRight(E value, Node<E> left, Node<E> right) {
+        var leftRight = left.right;
+        return new Node<>(leftRight.value,
+                new Node<>(left.value, left.left, leftRight.left),
+                new Node<>(value, leftRight.right, right));
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;
+
+        private Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static final class InOrderIterator<E> implements Iterator<E> {
+        private final Deque<Node<E>> path = new ArrayDeque<>();
+
+        private InOrderIterator(Node<E> root, int fromPosition) {
+            var node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (fromPosition < leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else if (fromPosition > leftSize) {
+                    fromPosition -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    path.push(node);
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            var node = path.pop();
+            pushLeftPath(node.right);
+            return node.value;
+        }
+
+        private void pushLeftPath(Node<E> node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
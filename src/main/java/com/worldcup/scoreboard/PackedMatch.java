@@ -0,0 +1,113 @@
+package com.worldcup.scoreboard;
+
+import java.time.Instant;
+
+/**
+ * Match stored on the scoreboard as a single flat object of primitive fields - ids of the teams, their scores, the
+ * start time and sequence - about a quarter of a {@link RenderedMatch} with its record, names, start time and summary. The names
+ * are kept just once per team, by the {@link TeamRegistry}, and the summary is rendered on every call.
+ */
+final class PackedMatch implements LiveMatch {
+    private final TeamRegistry teamRegistry;
+    private final int homeTeamId;
+    private final int awayTeamId;
+    private final int homeTeamScore;
+    private final int awayTeamScore;
+    private final long startEpochNanos;
+    private final long startSequence;
+
+    PackedMatch(TeamRegistry teamRegistry, int homeTeamId, int awayTeamId, int homeTeamScore, int awayTeamScore,
+                long startEpochNanos, long startSequence) {
+        this.teamRegistry = teamRegistry;
+        this.homeTeamId = homeTeamId;
+        this.awayTeamId = awayTeamId;
+        this.homeTeamScore = homeTeamScore;
+        this.awayTeamScore = awayTeamScore;
+        this.startEpochNanos = startEpochNanos;
+        this.startSequence = startSequence;
+    }
+
+    /**
+     * @param homeTeamId id of the match's home team in the registry
+     * @param awayTeamId id of the match's away team in the registry
+     */
+    static PackedMatch of(TeamRegistry teamRegistry, int homeTeamId, int awayTeamId, Match match, long startSequence) {
+        return new PackedMatch(teamRegistry, homeTeamId, awayTeamId, match.homeTeamScore(), match.awayTeamScore(),
+                match.startEpochNanos(), startSequence);
+    }
+
+    @Override
+    public String homeTeamName() {
+        return teamRegistry.nameOf(homeTeamId);
+    }
+
+    @Override
+    public String awayTeamName() {
+        return teamRegistry.nameOf(awayTeamId);
+    }
+
+    @Override
+    public int homeTeamScore() {
+        return homeTeamScore;
+    }
+
+    @Override
+    public int awayTeamScore() {
+        return awayTeamScore;
+    }
+
+    @Override
+    public long startEpochNanos() {
+        return startEpochNanos;
+    }
+
+    @Override
+    public long startSequence() {
+        return startSequence;
+    }
+
+    @Override
+    public Match match() {
+        return new Match(homeTeamName(), awayTeamName(), homeTeamScore, awayTeamScore,
+                Instant.ofEpochSecond(0, startEpochNanos));
+    }
+
+    @Override
+    public MatchSummary summary() {
+        return MatchSummary.from(this);
+    }
+
+    @Override
+    public PackedMatch update(int homeTeamScore, int awayTeamScore) {
+        if (homeTeamScore == this.homeTeamScore && awayTeamScore == this.awayTeamScore) {
+            return this;
+        }
+        return new PackedMatch(teamRegistry, homeTeamId, awayTeamId, homeTeamScore, awayTeamScore, startEpochNanos,
+                startSequence);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PackedMatch otherMatch
+                && homeTeamId == otherMatch.homeTeamId
+                && awayTeamId == otherMatch.awayTeamId
+                && homeTeamScore == otherMatch.homeTeamScore
+                && awayTeamScore == otherMatch.awayTeamScore
+                && startEpochNanos == otherMatch.startEpochNanos
+                && startSequence == otherMatch.startSequence;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * homeTeamId + awayTeamId;
+        hash = 31 * hash + homeTeamScore;
+        hash = 31 * hash + awayTeamScore;
+        hash = 31 * hash + Long.hashCode(startEpochNanos);
+        return 31 * hash + Long.hashCode(startSequence);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedMatch[" + summary().summary() + ", startEpochNanos=" + startEpochNanos + ", startSequence=" + startSequence + "]";
+    }
+}
@@ -0,0 +1,130 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.MetricsSnapshot.Cache;
+import com.worldcup.scoreboard.MetricsSnapshot.CacheMetrics;
+import com.worldcup.scoreboard.MetricsSnapshot.Operation;
+import com.worldcup.scoreboard.MetricsSnapshot.OperationMetrics;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics recorded by lock-free counters and histograms - writers record from under the write lock, readers
+ * record the cache accesses concurrently.
+ */
+final class RecordingMetrics implements ScoreboardMetrics {
+    private final Map<Operation, LatencyHistogram> operationLatencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> operationFailures = new EnumMap<>(Operation.class);
+    private final Map<Class<?>, LongAdder> failuresByType = new ConcurrentHashMap<>();
+    private final LatencyHistogram indexUpdates = new LatencyHistogram();
+    private final LatencyHistogram indexBuilds = new LatencyHistogram();
+    private final LatencyHistogram replicationLag = new LatencyHistogram();
+    private final Map<Cache, LongAdder> cacheHits = new EnumMap<>(Cache.class);
+    private final Map<Cache, LongAdder> cacheMisses = new EnumMap<>(Cache.class);
+    private volatile int indexSize;
+    private ObjectName objectName;
+
+    RecordingMetrics() {
+        for (var operation : Operation.values()) {
+            operationLatencies.put(operation, new LatencyHistogram());
+            operationFailures.put(operation, new LongAdder());
+        }
+        for (var cache : Cache.values()) {
+            cacheHits.put(cache, new LongAdder());
+            cacheMisses.put(cache, new LongAdder());
+        }
+    }
+
+    /**
+     * Registers the metrics in the platform's MBean server as {@code com.worldcup.scoreboard:type=Scoreboard,name="<name>"}
+     * until closed.
+     */
+    void registerMBean(String name) {
+        try {
+            objectName = new ObjectName("com.worldcup.scoreboard:type=Scoreboard,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxMetrics(this), objectName);
+        } catch (JMException e) {
+            throw new DomainValidationException("Cannot register metrics as " + name + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long startTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long startTime) {
+        operationLatencies.get(operation).record(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public RuntimeException recordFailure(Operation operation, long startTime, RuntimeException failure) {
+        recordOperation(operation, startTime);
+        operationFailures.get(operation).increment();
+        failuresByType.computeIfAbsent(failure.getClass(), type -> new LongAdder()).increment();
+        return failure;
+    }
+
+    @Override
+    public void recordRejectedBatch(long startTime) {
+        recordOperation(Operation.APPLY_ALL, startTime);
+        operationFailures.get(Operation.APPLY_ALL).increment();
+    }
+
+    @Override
+    public void recordIndexUpdate(long startTime, int indexSize) {
+        indexUpdates.record(System.nanoTime() - startTime);
+        this.indexSize = indexSize;
+    }
+
+    @Override
+    public void recordIndexBuild(long startTime, int indexSize) {
+        indexBuilds.record(System.nanoTime() - startTime);
+        this.indexSize = indexSize;
+    }
+
+    @Override
+    public void recordCacheAccess(Cache cache, boolean hit) {
+        (hit ? cacheHits : cacheMisses).get(cache).increment();
+    }
+
+    @Override
+    public void recordReplicationLag(long lagNanos) {
+        // clocks of the leader and of the follower may disagree a little
+        replicationLag.record(Math.max(0, lagNanos));
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        var operations = new EnumMap<Operation, OperationMetrics>(Operation.class);
+        operationLatencies.forEach((operation, latencies) ->
+                operations.put(operation, new OperationMetrics(operationFailures.get(operation).sum(), latencies.snapshot())));
+        var failures = new HashMap<String, Long>();
+        failuresByType.forEach((type, count) -> failures.put(type.getSimpleName(), count.sum()));
+        var caches = new EnumMap<Cache, CacheMetrics>(Cache.class);
+        cacheHits.forEach((cache, hits) -> caches.put(cache, new CacheMetrics(hits.sum(), cacheMisses.get(cache).sum())));
+        return new MetricsSnapshot(operations, failures, indexUpdates.snapshot(), indexBuilds.snapshot(), indexSize, caches,
+                replicationLag.snapshot());
+    }
+
+    @Override
+    public void close() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException alreadyUnregistered) {
+            // nothing left to clean up
+        }
+        objectName = null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Match stored on the scoreboard together with its pre-rendered summary - the summary is rendered once per score
+ * change instead of on every read.
+ */
+record RenderedMatch(Match match, MatchSummary summary, long startSequence) implements LiveMatch {
+    RenderedMatch(Match match, long startSequence) {
+        this(match, MatchSummary.from(match), startSequence);
+    }
+
+    @Override
+    public String homeTeamName() {
+        return match.homeTeamName();
+    }
+
+    @Override
+    public String awayTeamName() {
+        return match.awayTeamName();
+    }
+
+    @Override
+    public int homeTeamScore() {
+        return match.homeTeamScore();
+    }
+
+    @Override
+    public int awayTeamScore() {
+        return match.awayTeamScore();
+    }
+
+    @Override
+    public long startEpochNanos() {
+        return match.startEpochNanos();
+    }
+
+    @Override
+    public RenderedMatch update(int homeTeamScore, int awayTeamScore) {
+        if (homeTeamScore == match.homeTeamScore() && awayTeamScore == match.awayTeamScore()) {
+            return this;
+        }
+        return new RenderedMatch(match.update(homeTeamScore, awayTeamScore), startSequence);
+    }
+}
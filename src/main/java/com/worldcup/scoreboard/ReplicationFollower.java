@@ -0,0 +1,186 @@
+package com.worldcup.scoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_FINISHED;
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_STARTED;
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_UPDATED;
+
+/**
+ * Keeps the board of a follower in sync with its leader's {@link ReplicationServer} - see {@link ReplicationLog}
+ * for the protocol.
+ * <p>
+ * A single thread connects, catches up and then applies the leader's entries one version at a time, acknowledging
+ * the applied version whenever it has read everything the leader sent so far. A broken connection (or a leader
+ * silent for longer than a few heartbeats) is reconnected with a growing delay, and the follower catches up from
+ * its last applied version. An entry that doesn't apply to the board means the board diverged - the follower
+ * forgets the leader's history, so the next connection starts over from a snapshot.
+ */
+final class ReplicationFollower implements AutoCloseable {
+    private static final int CONNECT_TIMEOUT_MILLIS = 1_000;
+    private static final int READ_TIMEOUT_MILLIS = 3 * ReplicationServer.HEARTBEAT_INTERVAL_MILLIS;
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 10;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 1_000;
+
+    private final Scoreboard scoreboard;
+    private final InetSocketAddress leaderAddress;
+    private final ScoreboardMetrics metrics;
+    private final Thread thread;
+    // history of the leader's log that the board follows - accessed by the follower's thread only
+    private long history = ReplicationLog.NO_HISTORY;
+    private volatile Socket socket;
+    private volatile boolean closed;
+
+    ReplicationFollower(Scoreboard scoreboard, InetSocketAddress leaderAddress, ScoreboardMetrics metrics) {
+        this.scoreboard = scoreboard;
+        this.leaderAddress = leaderAddress;
+        this.metrics = metrics;
+        this.thread = new Thread(this::run, "scoreboard-follower-" + leaderAddress);
+        this.thread.setDaemon(true);
+    }
+
+    InetSocketAddress leaderAddress() {
+        return leaderAddress;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeSocket();
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+        while (!closed) {
+            try (var connection = new Socket()) {
+                socket = connection;
+                if (closed) {
+                    return;
+                }
+                connection.connect(leaderAddress, CONNECT_TIMEOUT_MILLIS);
+                connection.setTcpNoDelay(true);
+                connection.setSoTimeout(READ_TIMEOUT_MILLIS);
+                reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+                follow(connection);
+            } catch (IOException | UncheckedIOException leaderIsGone) {
+                // reconnected below, caught up from the last applied version
+            } catch (RuntimeException diverged) {
+                history = ReplicationLog.NO_HISTORY;
+            }
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+            reconnectDelay = Math.min(2 * reconnectDelay, MAX_RECONNECT_DELAY_MILLIS);
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        var output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        var input = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024));
+        output.writeInt(ReplicationLog.PROTOCOL_MAGIC);
+        output.writeLong(history);
+        output.writeLong(scoreboard.publishedVersion());
+        output.flush();
+        long leaderHistory = input.readLong();
+        while (!closed) {
+            byte frameType = input.readByte();
+            switch (frameType) {
+                case ReplicationLog.SNAPSHOT -> {
+                    loadSnapshot(input);
+                    history = leaderHistory;
+                }
+                case ReplicationLog.ENTRY -> {
+                    var payload = new byte[input.readInt()];
+                    input.readFully(payload);
+                    applyEntry(new DataInputStream(new ByteArrayInputStream(payload)));
+                }
+                case ReplicationLog.HEARTBEAT -> {
+                    // keeps the connection from timing out
+                }
+                default -> throw new IOException("Unknown frame of the replication: " + frameType);
+            }
+            if (input.available() == 0) {
+                output.writeLong(scoreboard.publishedVersion());
+                output.flush();
+            }
+        }
+    }
+
+    private void loadSnapshot(DataInputStream input) throws IOException {
+        long version = input.readLong();
+        int numberOfMatches = input.readInt();
+        var liveMatches = new ArrayList<Match>(numberOfMatches);
+        for (int i = 0; i < numberOfMatches; i++) {
+            liveMatches.add(MappedFileJournal.readMatch(input));
+        }
+        scoreboard.loadReplicated(version, liveMatches);
+    }
+
+    private void applyEntry(DataInputStream entry) throws IOException {
+        long version = entry.readLong();
+        long publishedAtNanos = entry.readLong();
+        int numberOfChanges = entry.readInt();
+        long expectedVersion = scoreboard.publishedVersion() + 1;
+        if (version != expectedVersion) {
+            throw new IllegalStateException("Expected version " + expectedVersion + " of the replicated log, got " + version);
+        }
+        scoreboard.applyReplicated(version, () -> {
+            try {
+                for (int i = 0; i < numberOfChanges; i++) {
+                    applyChange(entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        var now = Instant.now();
+        metrics.recordReplicationLag(now.getEpochSecond() * 1_000_000_000L + now.getNano() - publishedAtNanos);
+    }
+
+    private void applyChange(DataInputStream entry) throws IOException {
+        byte changeType = entry.readByte();
+        var homeTeamName = entry.readUTF();
+        var awayTeamName = entry.readUTF();
+        switch (changeType) {
+            case MATCH_STARTED -> scoreboard.startMatch(new Match(homeTeamName, awayTeamName,
+                    Instant.ofEpochSecond(entry.readLong(), entry.readInt())));
+            case MATCH_UPDATED -> scoreboard.updateReplicated(homeTeamName, awayTeamName, entry.readInt(), entry.readInt());
+            case MATCH_FINISHED -> scoreboard.finishReplicated(homeTeamName, awayTeamName);
+            default -> throw new IllegalStateException("Unknown change in the replicated log: " + changeType);
+        }
+    }
+
+    private void closeSocket() {
+        var connection = socket;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (IOException alreadyClosed) {
+            // nothing left to clean up
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.worldcup.scoreboard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_FINISHED;
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_STARTED;
+import static com.worldcup.scoreboard.MappedFileJournal.MATCH_UPDATED;
+
+/**
+ * {@link MatchJournal} of a replicated scoreboard - passes everything on to the actual journal and additionally
+ * encodes every published version into an entry for the followers.
+ * <p>
+ * The entries of the last {@code tailSize} versions are kept in memory, so that a follower reconnecting at a recent
+ * version catches up from them. Any other follower gets a snapshot of the board first. Every instance of the log has
+ * its own random {@code history} - a follower of another history (i.e. of the leader before it was restarted) always
+ * gets a snapshot, even when its version happens to be a recent one.
+ * <p>
+ * Leader's stream: {@code [long history]} followed by frames - {@code [SNAPSHOT][long version][int number of
+ * matches][matches...]}, {@code [ENTRY][int payload length][payload]} or {@code [HEARTBEAT]}, where payload is
+ * {@code [long version][long publishing time in epoch nanos][int number of changes][changes...]} with the changes
+ * in the format of {@link MappedFileJournal}. Follower's stream: {@code [int magic][long history][long version]}
+ * followed by the versions it has applied (acknowledgments).
+ * <p>
+ * Entries are recorded and appended under the repository's write lock, so is a follower attached.
+ */
+final class ReplicationLog implements MatchJournal {
+    static final int PROTOCOL_MAGIC = 0x5245_504C;
+    static final long NO_HISTORY = 0;
+    static final byte SNAPSHOT = 1;
+    static final byte ENTRY = 2;
+    static final byte HEARTBEAT = 3;
+
+    private static final int ENTRY_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+    private static final int ENTRY_PAYLOAD_HEADER_SIZE = 2 * Long.BYTES + Integer.BYTES;
+
+    private final MatchJournal journal;
+    private final long history = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ByteArrayOutputStream recordedChangesBytes = new ByteArrayOutputStream();
+    private final DataOutputStream recordedChanges = new DataOutputStream(recordedChangesBytes);
+    private final List<Follower> followers = new CopyOnWriteArrayList<>();
+    // entry of a version is kept at version % tail.length
+    private final byte[][] tail;
+    private int recordedChangesCount;
+    private int tailCount;
+    private long lastVersion = -1;
+
+    ReplicationLog(MatchJournal journal, int tailSize) {
+        this.journal = journal;
+        this.tail = new byte[tailSize][];
+    }
+
+    long history() {
+        return history;
+    }
+
+    int numberOfFollowers() {
+        return followers.size();
+    }
+
+    @Override
+    public void recordStarted(ScoredMatch match) {
+        journal.recordStarted(match);
+        record(MATCH_STARTED, match);
+    }
+
+    @Override
+    public void recordUpdated(ScoredMatch match) {
+        journal.recordUpdated(match);
+        record(MATCH_UPDATED, match);
+    }
+
+    @Override
+    public void recordFinished(ScoredMatch match) {
+        journal.recordFinished(match);
+        record(MATCH_FINISHED, match);
+    }
+
+    @Override
+    public void discardRecorded() {
+        journal.discardRecorded();
+        recordedChangesBytes.reset();
+        recordedChangesCount = 0;
+    }
+
+    /**
+     * Appends an entry for every published version, so the followers see every version.
+     */
+    @Override
+    public void append(long version) {
+        journal.append(version);
+        var now = Instant.now();
+        var entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + ENTRY_PAYLOAD_HEADER_SIZE + recordedChangesBytes.size())
+                .put(ENTRY)
+                .putInt(ENTRY_PAYLOAD_HEADER_SIZE + recordedChangesBytes.size())
+                .putLong(version)
+                .putLong(now.getEpochSecond() * 1_000_000_000L + now.getNano())
+                .putInt(recordedChangesCount)
+                .put(recordedChangesBytes.toByteArray())
+                .array();
+        recordedChangesBytes.reset();
+        recordedChangesCount = 0;
+
+        if (version != lastVersion + 1) {
+            // the board was loaded in between - the preceding entries don't lead to it
+            tailCount = 0;
+        }
+        tail[(int) (version % tail.length)] = entry;
+        tailCount = Math.min(tailCount + 1, tail.length);
+        lastVersion = version;
+        for (var follower : followers) {
+            if (!follower.offer(entry)) {
+                followers.remove(follower);
+            }
+        }
+    }
+
+    /**
+     * Registers the follower for the entries of the versions published from now on.
+     *
+     * @param publishedVersion version of the board as published right now
+     * @param board            index of that version, immutable - it's encoded only once the lock is released
+     * @return what the follower needs to get to the published version
+     */
+    CatchUp attach(Follower follower, long followerHistory, long followerVersion, long publishedVersion, OrderedIndex<LiveMatch> board) {
+        followers.add(follower);
+        if (followerHistory != history || followerVersion > publishedVersion) {
+            return CatchUp.fromSnapshot(publishedVersion, board);
+        }
+        if (followerVersion == publishedVersion) {
+            return CatchUp.fromEntries(List.of());
+        }
+        if (lastVersion != publishedVersion || followerVersion < lastVersion - tailCount) {
+            return CatchUp.fromSnapshot(publishedVersion, board);
+        }
+        var entries = new ArrayList<byte[]>((int) (publishedVersion - followerVersion));
+        for (long version = followerVersion + 1; version <= publishedVersion; version++) {
+            entries.add(tail[(int) (version % tail.length)]);
+        }
+        return CatchUp.fromEntries(entries);
+    }
+
+    void detach(Follower follower) {
+        followers.remove(follower);
+    }
+
+    @Override
+    public void sync() {
+        journal.sync();
+    }
+
+    @Override
+    public boolean isCheckpointDue() {
+        return journal.isCheckpointDue();
+    }
+
+    @Override
+    public long startNewGeneration() {
+        return journal.startNewGeneration();
+    }
+
+    @Override
+    public void writeSnapshot(long version, long nextGeneration, Collection<? extends ScoredMatch> liveMatches) {
+        journal.writeSnapshot(version, nextGeneration, liveMatches);
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private void record(byte changeType, ScoredMatch match) {
+        try {
+            MappedFileJournal.writeChange(recordedChanges, changeType, match);
+            recordedChangesCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Receiver of the entries, called under the repository's write lock.
+     */
+    interface Follower {
+        /**
+         * Has to return immediately.
+         *
+         * @return {@code false} when the follower cannot take more entries - it's detached then
+         */
+        boolean offer(byte[] entry);
+    }
+
+    /**
+     * Either a snapshot of the board or the entries following the follower's version, to send before any offered
+     * entry.
+     */
+    record CatchUp(long snapshotVersion, OrderedIndex<LiveMatch> snapshot, List<byte[]> entries) {
+        static CatchUp fromSnapshot(long version, OrderedIndex<LiveMatch> board) {
+            return new CatchUp(version, board, List.of());
+        }
+
+        static CatchUp fromEntries(List<byte[]> entries) {
+            return new CatchUp(-1, null, entries);
+        }
+
+        void writeTo(DataOutputStream output) throws IOException {
+            if (snapshot != null) {
+                output.writeByte(SNAPSHOT);
+                output.writeLong(snapshotVersion);
+                output.writeInt(snapshot.size());
+                for (var liveMatch : LiveMatch.inStartOrder(snapshot)) {
+                    MappedFileJournal.writeMatch(output, liveMatch);
+                }
+            }
+            for (var entry : entries) {
+                output.write(entry);
+            }
+        }
+    }
+}
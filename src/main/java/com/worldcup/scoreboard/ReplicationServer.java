@@ -0,0 +1,218 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the log of a {@link Scoreboard.Builder#replicated(int) replicated} scoreboard (the leader) over TCP to
+ * its {@link Scoreboard.Builder#followerOf(InetSocketAddress) followers}.
+ * <p>
+ * Every follower connection has a sender thread and a thread reading the follower's acknowledgments. The writers
+ * never wait for the followers: entries are offered to a bounded queue of every follower, and a follower that
+ * overflows its queue is disconnected - it reconnects and catches up from the log's tail or from a snapshot.
+ * The replication is asynchronous - a follower serves the board of a version that the leader has already published.
+ */
+public final class ReplicationServer implements AutoCloseable {
+    static final int HEARTBEAT_INTERVAL_MILLIS = 1_000;
+
+    private static final int FOLLOWER_QUEUE_CAPACITY = 64 * 1024;
+
+    private final Scoreboard leader;
+    private final ReplicationLog replicationLog;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final Set<FollowerConnection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private ReplicationServer(Scoreboard leader, ServerSocket serverSocket) {
+        this.leader = leader;
+        this.replicationLog = leader.replicationLog();
+        this.serverSocket = serverSocket;
+        this.acceptor = new Thread(this::acceptFollowers, "scoreboard-replication-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * @param leader  scoreboard built as {@link Scoreboard.Builder#replicated(int) replicated}
+     * @param address address to listen on, port {@code 0} picks any free one
+     */
+    public static ReplicationServer start(Scoreboard leader, InetSocketAddress address) {
+        if (leader == null || address == null) {
+            throw new DomainValidationException("Scoreboard and address cannot be null");
+        }
+        // fails fast when the scoreboard is not replicated
+        leader.replicationLog();
+        try {
+            var serverSocket = new ServerSocket();
+            serverSocket.bind(address);
+            var server = new ReplicationServer(leader, serverSocket);
+            server.acceptor.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start the replication on " + address, e);
+        }
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return connected followers with their lag behind the leader's last published version
+     */
+    public List<FollowerStatus> getFollowers() {
+        long publishedVersion = leader.publishedVersion();
+        return connections.stream()
+                .filter(FollowerConnection::isAttached)
+                .map(connection -> new FollowerStatus(connection.address(), connection.acknowledgedVersion,
+                        Math.max(0, publishedVersion - connection.acknowledgedVersion)))
+                .sorted(Comparator.comparing(FollowerStatus::address))
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException alreadyClosed) {
+            // nothing left to clean up
+        }
+        connections.forEach(FollowerConnection::close);
+    }
+
+    private void acceptFollowers() {
+        while (!closed) {
+            try {
+                var socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                var connection = new FollowerConnection(socket);
+                connections.add(connection);
+                if (closed) {
+                    connection.close();
+                    return;
+                }
+                connection.start();
+            } catch (IOException e) {
+                // the server socket is closed, or the follower is gone before being served
+            }
+        }
+    }
+
+    private final class FollowerConnection implements ReplicationLog.Follower {
+        private final Socket socket;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(FOLLOWER_QUEUE_CAPACITY);
+        private final Thread sender;
+        private final Thread acknowledgmentReader;
+        private final DataInputStream input;
+        private volatile long acknowledgedVersion = -1;
+        private volatile boolean closed;
+
+        private FollowerConnection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.sender = new Thread(this::send, "scoreboard-replication-sender-" + address());
+            this.sender.setDaemon(true);
+            this.acknowledgmentReader = new Thread(this::readAcknowledgments, "scoreboard-replication-acks-" + address());
+            this.acknowledgmentReader.setDaemon(true);
+        }
+
+        void start() {
+            sender.start();
+        }
+
+        String address() {
+            return socket.getRemoteSocketAddress().toString();
+        }
+
+        boolean isAttached() {
+            return acknowledgedVersion >= 0;
+        }
+
+        @Override
+        public boolean offer(byte[] entry) {
+            if (closed || !queue.offer(entry)) {
+                // can't wait for the socket here, under the leader's write lock - closed by the sender
+                closed = true;
+                return false;
+            }
+            return true;
+        }
+
+        private void send() {
+            try (socket) {
+                socket.setSoTimeout(HEARTBEAT_INTERVAL_MILLIS * 3);
+                if (input.readInt() != ReplicationLog.PROTOCOL_MAGIC) {
+                    return;
+                }
+                long followerHistory = input.readLong();
+                long followerVersion = input.readLong();
+                socket.setSoTimeout(0);
+                acknowledgedVersion = followerHistory == replicationLog.history() ? followerVersion : 0;
+                var catchUp = leader.attachFollower(this, followerHistory, followerVersion);
+                acknowledgmentReader.start();
+                var output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                output.writeLong(replicationLog.history());
+                catchUp.writeTo(output);
+                // makes the follower acknowledge the catch-up right away
+                output.writeByte(ReplicationLog.HEARTBEAT);
+                output.flush();
+                while (!closed) {
+                    var entry = queue.poll(HEARTBEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (entry == null) {
+                        output.writeByte(ReplicationLog.HEARTBEAT);
+                    }
+                    // everything queued meanwhile goes out with a single flush
+                    for (; entry != null; entry = queue.poll()) {
+                        output.write(entry);
+                    }
+                    output.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException followerIsGone) {
+                // nothing to clean up besides the connection
+            } finally {
+                close();
+            }
+        }
+
+        private void readAcknowledgments() {
+            try {
+                while (!closed) {
+                    acknowledgedVersion = input.readLong();
+                }
+            } catch (IOException followerIsGone) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            replicationLog.detach(this);
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException alreadyClosed) {
+                // nothing left to clean up
+            }
+            sender.interrupt();
+        }
+    }
+}
@@ -1,122 +1,1755 @@
 package com.worldcup.scoreboard;
 
+import com.worldcup.scoreboard.MetricsSnapshot.Cache;
+import com.worldcup.scoreboard.MetricsSnapshot.Operation;
 import com.worldcup.scoreboard.exceptions.DomainValidationException;
 import com.worldcup.scoreboard.exceptions.MatchNotFoundException;
 import com.worldcup.scoreboard.exceptions.TeamPartOfLiveMatchException;
 
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
-import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestScoringMatchesFirst;
-import static com.worldcup.scoreboard.MatchesOrderingPolicies.recentlyStartedMatchesFirst;
-import static java.util.Collections.emptyList;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.lastStartedMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.teamNamesAlphabetically;
 
-public class Scoreboard {
+public class Scoreboard implements AutoCloseable {
     private final InMemoryMatchRepository matchRepository;
+    private final ScoreboardMetrics metrics;
+    // null unless built as a leader of the replication
+    private final ReplicationLog replicationLog;
+    // null unless built as a follower
+    private final ReplicationFollower follower;
 
     public static Scoreboard defaultInstance() {
-        return new Scoreboard(
-                new Scoreboard.InMemoryMatchRepository(
-                        highestScoringMatchesFirst()
-                                .thenComparing(recentlyStartedMatchesFirst())));
+        return builder().build();
     }
 
-    private Scoreboard(InMemoryMatchRepository repository) {
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private Scoreboard(InMemoryMatchRepository repository, ScoreboardMetrics metrics, ReplicationLog replicationLog,
+                       InetSocketAddress leaderAddress) {
         this.matchRepository = repository;
+        this.metrics = metrics;
+        this.replicationLog = replicationLog;
+        this.follower = leaderAddress == null ? null : new ReplicationFollower(this, leaderAddress, metrics);
     }
 
     public void startMatch(String homeTeamName, String awayTeamName) {
+        long startTime = metrics.startTime();
+        try {
+            start(homeTeamName, awayTeamName);
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.START_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.START_MATCH, startTime);
+    }
+
+    private void start(String homeTeamName, String awayTeamName) {
+        validateWritable();
         validateNonNull(homeTeamName, awayTeamName);
-        validateForLiveMatch(homeTeamName);
-        validateForLiveMatch(awayTeamName);
 
-        matchRepository.save(new Match(homeTeamName, awayTeamName, Instant.now()));
+        startMatch(new Match(homeTeamName, awayTeamName, matchRepository.clock().instant()));
+    }
+
+    void startMatch(Match match) {
+        matchRepository.saveNew(match);
+    }
+
+    /**
+     * @param startSequence start sequence numbered by the caller (i.e. across all the shards of a
+     *                      {@link ShardedScoreboard}) instead of by this board
+     */
+    void startMatch(Match match, long startSequence) {
+        matchRepository.saveNew(match, startSequence);
     }
 
     public void updateMatch(String homeTeamName, String awayTeamName, MatchScore matchScore) {
+        long startTime = metrics.startTime();
+        try {
+            validateNonNull(matchScore);
+            update(homeTeamName, awayTeamName, matchScore.homeTeamScore(), matchScore.awayTeamScore());
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.UPDATE_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.UPDATE_MATCH, startTime);
+    }
+
+    /**
+     * Same as {@link #updateMatch(String, String, MatchScore)}, for the callers that want to skip allocating the score.
+     */
+    public void updateMatch(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+        long startTime = metrics.startTime();
+        try {
+            update(homeTeamName, awayTeamName, homeTeamScore, awayTeamScore);
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.UPDATE_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.UPDATE_MATCH, startTime);
+    }
+
+    private void update(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+        validateWritable();
         validateNonNull(homeTeamName, awayTeamName);
+        validateScoresNotNegative(homeTeamScore, awayTeamScore);
 
-        matchRepository.findByTeamNames(homeTeamName, awayTeamName)
-                .map(match -> match.update(matchScore))
-                .ifPresentOrElse(matchRepository::save, () -> {
-                    throw new MatchNotFoundException(homeTeamName, awayTeamName);
-                });
+        if (!matchRepository.updateByTeamNames(homeTeamName, awayTeamName, homeTeamScore, awayTeamScore)) {
+            throw new MatchNotFoundException(homeTeamName, awayTeamName);
+        }
     }
 
     public void finishMatch(String homeTeamName, String awayTeamName) {
+        long startTime = metrics.startTime();
+        try {
+            finish(homeTeamName, awayTeamName);
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.FINISH_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.FINISH_MATCH, startTime);
+    }
+
+    private void finish(String homeTeamName, String awayTeamName) {
+        validateWritable();
         validateNonNull(homeTeamName, awayTeamName);
         matchRepository.deleteByTeamNames(homeTeamName, awayTeamName);
     }
 
+    /**
+     * Resolves the team's name into a stable id, that can be used with id-based operations. Meant for callers
+     * (i.e. feed handlers) that resolve the names once and skip the name lookups afterward.
+     */
+    public int resolveTeamId(String teamName) {
+        if (teamName == null || teamName.isBlank()) {
+            throw new DomainValidationException("Team's name cannot be null nor blank");
+        }
+        return matchRepository.resolveTeamId(teamName.strip());
+    }
+
+    public void startMatch(int homeTeamId, int awayTeamId) {
+        long startTime = metrics.startTime();
+        try {
+            start(matchRepository.teamName(homeTeamId), matchRepository.teamName(awayTeamId));
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.START_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.START_MATCH, startTime);
+    }
+
+    public void updateMatch(int homeTeamId, int awayTeamId, MatchScore matchScore) {
+        long startTime = metrics.startTime();
+        try {
+            validateNonNull(matchScore);
+            update(homeTeamId, awayTeamId, matchScore.homeTeamScore(), matchScore.awayTeamScore());
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.UPDATE_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.UPDATE_MATCH, startTime);
+    }
+
+    /**
+     * The cheapest way of updating the score - with the teams' ids resolved upfront, an update that doesn't change
+     * the score allocates nothing, and the one that does allocates only the new version of the index.
+     */
+    public void updateMatch(int homeTeamId, int awayTeamId, int homeTeamScore, int awayTeamScore) {
+        long startTime = metrics.startTime();
+        try {
+            update(homeTeamId, awayTeamId, homeTeamScore, awayTeamScore);
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.UPDATE_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.UPDATE_MATCH, startTime);
+    }
+
+    private void update(int homeTeamId, int awayTeamId, int homeTeamScore, int awayTeamScore) {
+        validateWritable();
+        validateScoresNotNegative(homeTeamScore, awayTeamScore);
+        if (!matchRepository.updateByTeamIds(homeTeamId, awayTeamId, homeTeamScore, awayTeamScore)) {
+            throw new MatchNotFoundException(matchRepository.teamName(homeTeamId), matchRepository.teamName(awayTeamId));
+        }
+    }
+
+    public void finishMatch(int homeTeamId, int awayTeamId) {
+        long startTime = metrics.startTime();
+        try {
+            validateWritable();
+            matchRepository.deleteByTeamIds(homeTeamId, awayTeamId);
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.FINISH_MATCH, startTime, e);
+        }
+        metrics.recordOperation(Operation.FINISH_MATCH, startTime);
+    }
+
+    /**
+     * Applies all the commands atomically - either all of them are applied, or none of them if any command is
+     * rejected. The commands are validated in order, each one against the board as left by the preceding ones,
+     * and every command gets its own result instead of the first failure aborting the whole batch.
+     * Readers see the board either before or after the whole batch.
+     */
+    public BatchResult applyAll(List<ScoreboardCommand> commands) {
+        long startTime = metrics.startTime();
+        if (commands == null) {
+            throw metrics.recordFailure(Operation.APPLY_ALL, startTime, new DomainValidationException("Commands cannot be null"));
+        }
+        try {
+            validateWritable();
+        } catch (RuntimeException e) {
+            throw metrics.recordFailure(Operation.APPLY_ALL, startTime, e);
+        }
+        var batchResult = matchRepository.inTransaction(() -> commands.stream()
+                .map(this::apply)
+                .toList());
+        if (batchResult.applied()) {
+            metrics.recordOperation(Operation.APPLY_ALL, startTime);
+        } else {
+            metrics.recordRejectedBatch(startTime);
+        }
+        return batchResult;
+    }
+
+    /**
+     * Applies the commands one by one, each on its own - a rejected command doesn't affect the others. All of them
+     * are applied under a single acquisition of the write lock and published as a single version.
+     *
+     * @see AsyncScoreboard
+     */
+    List<CommandResult> applyEach(List<ScoreboardCommand> commands) {
+        return matchRepository.inBatch(() -> {
+            var commandResults = new ArrayList<CommandResult>(commands.size());
+            for (var command : commands) {
+                // every command stands on its own here, so it counts as a single operation
+                long startTime = metrics.startTime();
+                var commandResult = apply(command);
+                recordCommand(commandResult, startTime);
+                commandResults.add(commandResult);
+            }
+            return commandResults;
+        });
+    }
+
     public List<MatchSummary> getMatchesSummary() {
-        return matchRepository.queryOrdered().stream()
-                .map(MatchSummary::from)
-                .toList();
+        return matchRepository.queryOrderedSummaries();
+    }
+
+    /**
+     * @param ordering the scoreboard's ordering or any of the additional ones it was built with
+     * @see Builder#alsoOrderedBy(MatchesOrdering...)
+     */
+    public List<MatchSummary> getMatchesSummary(MatchesOrdering ordering) {
+        return read().getMatchesSummary(ordering);
+    }
+
+    /**
+     * @return the board as it was at the given version
+     * @see #read(long)
+     */
+    public List<MatchSummary> getMatchesSummary(long version) {
+        return read(version).getMatchesSummary();
+    }
+
+    /**
+     * @return summaries of up to {@code k} first matches on the board
+     */
+    public List<MatchSummary> getTopMatches(int k) {
+        return read().getTopMatches(k);
+    }
+
+    /**
+     * Page of the board that costs time proportional to the page's size (not the board's size).
+     *
+     * @param offset number of the leading matches to skip
+     * @param limit  maximal number of the returned summaries
+     */
+    public List<MatchSummary> getMatchesSummary(int offset, int limit) {
+        return read().getMatchesSummary(offset, limit);
+    }
+
+    /**
+     * @return current position (1-based) of the live match on the board
+     */
+    public int getRank(String homeTeamName, String awayTeamName) {
+        return read().getRank(homeTeamName, awayTeamName);
+    }
+
+    /**
+     * Live matches of the teams whose names start with the prefix, ignoring the case (e.g. "ger" finds Germany) -
+     * in time proportional to the number of the found matches, not the board's size.
+     *
+     * @return summaries of the found matches, in the order of the board
+     */
+    public List<MatchSummary> searchByTeamName(String teamNamePrefix) {
+        return read().searchByTeamName(teamNamePrefix);
+    }
+
+    public BoardSnapshot getSnapshot() {
+        return read().getSnapshot();
+    }
+
+    /**
+     * @return the last published version of the board - all the queries of the returned view see that very version,
+     * no matter the changes published meanwhile
+     */
+    public BoardVersion read() {
+        return matchRepository.readLatest();
+    }
+
+    /**
+     * @return the board as it was at the given version, one of the versions retained by the scoreboard
+     * @see Builder#retainingVersions(int)
+     */
+    public BoardVersion read(long version) {
+        return matchRepository.readVersion(version);
+    }
+
+    /**
+     * @return the version of the board that was the last published one at the given instant, i.e. to replay the
+     * board as it was a minute ago
+     * @see Builder#retainingVersions(int)
+     */
+    public BoardVersion readAsOf(Instant instant) {
+        if (instant == null) {
+            throw new DomainValidationException("Instant cannot be null");
+        }
+        return matchRepository.readAsOf(instant);
+    }
+
+    /**
+     * @return the board encoded as a binary frame - built once per version and shared by all the callers
+     */
+    public BoardFrame getBoardFrame() {
+        return matchRepository.queryBoardFrame();
+    }
+
+    /**
+     * @param since frame of this scoreboard that the client is already up-to-date with
+     * @return changes of the board since the given frame, as a binary frame built once for all the callers that
+     * pass a frame of the same version
+     */
+    public BoardFrame getDeltaFrame(BoardFrame since) {
+        if (since == null) {
+            throw new DomainValidationException("Base frame cannot be null");
+        }
+        return matchRepository.queryDeltaFrame(since);
+    }
+
+    /**
+     * @return number of the matches in the archive
+     * @see Builder#archivedIn(Path)
+     */
+    public int getNumberOfFinishedMatches() {
+        return matchRepository.archive().size();
+    }
+
+    /**
+     * @return record of the archived matches between the teams, from the point of view of the first one
+     * @see Builder#archivedIn(Path)
+     */
+    public HeadToHead getHeadToHead(String teamName, String opponentName) {
+        validateNonNull(teamName, opponentName);
+
+        return matchRepository.archive().headToHead(teamName.strip(), opponentName.strip());
+    }
+
+    /**
+     * @return goals scored by the team in all the archived matches
+     * @see Builder#archivedIn(Path)
+     */
+    public long getGoalsScored(String teamName) {
+        if (teamName == null) {
+            throw new DomainValidationException("Team's name cannot be null");
+        }
+        return matchRepository.archive().goalsScored(teamName.strip());
     }
 
-    private void validateForLiveMatch(String teamName) {
-        if (matchRepository.existsByTeamName(teamName)) {
-            throw new TeamPartOfLiveMatchException(teamName);
+    /**
+     * @return up to {@code k} archived matches with the most goals, the most recently finished first among the equal
+     * ones
+     * @see Builder#archivedIn(Path)
+     */
+    public List<FinishedMatch> getHighestScoringFinishedMatches(int k) {
+        if (k < 0) {
+            throw new DomainValidationException("Number of matches cannot be negative");
         }
+        return matchRepository.archive().highestScoring(k);
     }
 
-    private void validateNonNull(String homeTeamName, String awayTeamName) {
+    /**
+     * @return metrics of the scoreboard's operations, empty unless the scoreboard was built with them
+     * @see Builder#withMetrics()
+     */
+    public MetricsSnapshot getMetrics() {
+        return metrics.snapshot();
+    }
+
+    /**
+     * @return publisher of the board's changes - see {@link ScoreboardEvent} for the ordering and resync rules
+     */
+    public Flow.Publisher<ScoreboardEvent> changeFeed() {
+        return matchRepository::subscribe;
+    }
+
+    /**
+     * @return the last published index of the board, in the scoreboard's ordering
+     */
+    OrderedIndex<LiveMatch> publishedMatches() {
+        return matchRepository.publishedMatches();
+    }
+
+    long publishedVersion() {
+        return matchRepository.publishedVersion();
+    }
+
+    /**
+     * @see ReplicationServer
+     */
+    ReplicationLog replicationLog() {
+        if (replicationLog == null) {
+            throw new DomainValidationException("Scoreboard is not replicated - see Scoreboard.Builder#replicated");
+        }
+        return replicationLog;
+    }
+
+    ReplicationLog.CatchUp attachFollower(ReplicationLog.Follower follower, long followerHistory, long followerVersion) {
+        return matchRepository.attachFollower(replicationLog(), follower, followerHistory, followerVersion);
+    }
+
+    /**
+     * Replaces the board of a follower with the leader's snapshot.
+     */
+    void loadReplicated(long version, Collection<Match> liveMatches) {
+        matchRepository.load(new MappedFileJournal.RecoveredBoard(version, liveMatches));
+    }
+
+    /**
+     * Applies the changes of a single version of the leader, all of them published at once as that version.
+     */
+    void applyReplicated(long version, Runnable changes) {
+        matchRepository.inReplicatedTransaction(version, changes);
+    }
+
+    void updateReplicated(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+        if (!matchRepository.updateByTeamNames(homeTeamName, awayTeamName, homeTeamScore, awayTeamScore)) {
+            throw new MatchNotFoundException(homeTeamName, awayTeamName);
+        }
+    }
+
+    void finishReplicated(String homeTeamName, String awayTeamName) {
+        if (!matchRepository.deleteByTeamNames(homeTeamName, awayTeamName)) {
+            throw new MatchNotFoundException(homeTeamName, awayTeamName);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the board, so the journal of a durable scoreboard can be truncated. Does nothing when
+     * the scoreboard is not durable.
+     */
+    public void checkpoint() {
+        matchRepository.checkpoint();
+    }
+
+    @Override
+    public void close() {
+        if (follower != null) {
+            follower.close();
+        }
+        matchRepository.close();
+        metrics.close();
+    }
+
+    // records no metrics - a batch is measured as a whole
+    private CommandResult apply(ScoreboardCommand command) {
+        try {
+            if (command instanceof ScoreboardCommand.StartMatch startMatch) {
+                start(startMatch.homeTeamName(), startMatch.awayTeamName());
+            } else if (command instanceof ScoreboardCommand.UpdateMatch updateMatch) {
+                var matchScore = updateMatch.matchScore();
+                validateNonNull(matchScore);
+                update(updateMatch.homeTeamName(), updateMatch.awayTeamName(), matchScore.homeTeamScore(), matchScore.awayTeamScore());
+            } else if (command instanceof ScoreboardCommand.FinishMatch finishMatch) {
+                finish(finishMatch.homeTeamName(), finishMatch.awayTeamName());
+            } else {
+                throw new DomainValidationException("Command cannot be null");
+            }
+            return CommandResult.success(command);
+        } catch (RuntimeException e) {
+            return CommandResult.failure(command, e);
+        }
+    }
+
+    private void recordCommand(CommandResult commandResult, long startTime) {
+        var command = commandResult.command();
+        Operation operation;
+        if (command instanceof ScoreboardCommand.StartMatch) {
+            operation = Operation.START_MATCH;
+        } else if (command instanceof ScoreboardCommand.UpdateMatch) {
+            operation = Operation.UPDATE_MATCH;
+        } else if (command instanceof ScoreboardCommand.FinishMatch) {
+            operation = Operation.FINISH_MATCH;
+        } else {
+            return;
+        }
+        if (commandResult.failed()) {
+            metrics.recordFailure(operation, startTime, commandResult.error());
+        } else {
+            metrics.recordOperation(operation, startTime);
+        }
+    }
+
+    private void validateWritable() {
+        if (follower != null) {
+            throw new DomainValidationException("Scoreboard is a read-only follower of " + follower.leaderAddress());
+        }
+    }
+
+    static void validateNonNull(String homeTeamName, String awayTeamName) {
         if (homeTeamName == null || awayTeamName == null) {
             throw new DomainValidationException("Teams' name cannot be null");
         }
     }
 
+    static void validateNonNull(MatchScore matchScore) {
+        if (matchScore == null) {
+            throw new DomainValidationException("Match score cannot be null");
+        }
+    }
+
+    private static void validateScoresNotNegative(int homeTeamScore, int awayTeamScore) {
+        if (homeTeamScore < 0 || awayTeamScore < 0) {
+            throw new DomainValidationException("Team score cannot be a negative number");
+        }
+    }
+
+    public static final class Builder {
+        // the mapped slots have to fit in an int-sized buffer
+        private static final int MAX_SHARED_MATCHES = 1 << 20;
+
+        private MatchesOrdering ordering = MatchesOrdering.HIGHEST_SCORING_FIRST;
+        private final Set<MatchesOrdering> additionalOrderings = EnumSet.noneOf(MatchesOrdering.class);
+        private Path journalDirectory;
+        private int journalSegmentSize = MappedFileJournal.DEFAULT_SEGMENT_SIZE;
+        private boolean metricsEnabled;
+        private Path archiveDirectory;
+        private String metricsMBeanName;
+        private int replicationTailSize;
+        private InetSocketAddress leaderAddress;
+        private int retainedVersions = 1;
+        private Clock clock = Clock.systemUTC();
+        private Indexing indexing = Indexing.EAGER;
+        private Duration indexStaleness = Duration.ZERO;
+        private Path sharedBoardFile;
+        private int sharedBoardCapacity;
+        private boolean packedMatches;
+
+        private Builder() {
+        }
+
+        /**
+         * Ordering of {@link #getMatchesSummary()}, as well as of the pages, ranks and the change feed.
+         */
+        public Builder orderedBy(MatchesOrdering ordering) {
+            if (ordering == null) {
+                throw new DomainValidationException("Ordering cannot be null");
+            }
+            this.ordering = ordering;
+            return this;
+        }
+
+        /**
+         * Orderings available through {@link #getMatchesSummary(MatchesOrdering)}. Each one is kept as a separate
+         * index, updated on every write - the summaries are never sorted on read.
+         */
+        public Builder alsoOrderedBy(MatchesOrdering... orderings) {
+            if (orderings == null || Arrays.asList(orderings).contains(null)) {
+                throw new DomainValidationException("Orderings cannot be null");
+            }
+            additionalOrderings.addAll(Arrays.asList(orderings));
+            return this;
+        }
+
+        /**
+         * Makes the scoreboard durable - every change is appended to a journal in the given directory before it's
+         * visible to the readers, and the board stored there is recovered when the scoreboard is built.
+         */
+        public Builder durable(Path journalDirectory) {
+            if (journalDirectory == null) {
+                throw new DomainValidationException("Journal's directory cannot be null");
+            }
+            this.journalDirectory = journalDirectory;
+            return this;
+        }
+
+        /**
+         * Size of a single memory-mapped file of the journal. A snapshot of the board is taken every time one gets full.
+         */
+        public Builder journalSegmentSize(int journalSegmentSize) {
+            if (journalSegmentSize <= 0) {
+                throw new DomainValidationException("Journal's segment size has to be a positive number");
+            }
+            this.journalSegmentSize = journalSegmentSize;
+            return this;
+        }
+
+        /**
+         * Clock of the matches' start times, of the finish times in the archive and of the versions' publishing
+         * times - i.e. a simulated one, to replay a match day exactly and faster than real time.
+         */
+        public Builder clock(Clock clock) {
+            if (clock == null) {
+                throw new DomainValidationException("Clock cannot be null");
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Keeps every live match as a single flat object of primitive fields - ids of the teams, their scores and the
+         * start time - instead of the match with its names, start time and pre-rendered summary. Meant for boards of
+         * hundreds of thousands of live matches: the names are kept once per team, the orderings compare just the
+         * fields, and the summaries are rendered on read instead (once per version, like their caching).
+         */
+        public Builder withPackedMatches() {
+            this.packedMatches = true;
+            return this;
+        }
+
+        /**
+         * Defers updating the indexes to the reads - a write only marks them stale, and the next read brings them up
+         * to date at once, applying just the last change of every match changed meanwhile. Meant for write-heavy
+         * boards that are read every now and then - a read after many writes pays for them instead of every write.
+         */
+        public Builder indexedOnRead() {
+            return indexedOnRead(Duration.ZERO);
+        }
+
+        /**
+         * Same as {@link #indexedOnRead()}, but a read brings the indexes up to date only once their oldest missing
+         * change is older than the given window - until then, the reads see the last published board. All the
+         * changes within the window coalesce into a single version.
+         */
+        public Builder indexedOnRead(Duration coalescingWindow) {
+            if (coalescingWindow == null || coalescingWindow.isNegative()) {
+                throw new DomainValidationException("Coalescing window cannot be null nor negative");
+            }
+            this.indexing = Indexing.ON_READ;
+            this.indexStaleness = coalescingWindow;
+            return this;
+        }
+
+        /**
+         * Defers updating the indexes to a background thread, which brings them up to date every
+         * {@code maxStaleness}. The reads never update the indexes - they see a board that is at most that stale
+         * (plus the time of the update itself).
+         */
+        public Builder indexedInBackground(Duration maxStaleness) {
+            if (maxStaleness == null || maxStaleness.isNegative() || maxStaleness.isZero()) {
+                throw new DomainValidationException("Maximal staleness has to be a positive duration");
+            }
+            this.indexing = Indexing.IN_BACKGROUND;
+            this.indexStaleness = maxStaleness;
+            return this;
+        }
+
+        /**
+         * Number of the last published versions of the board that stay readable through {@link Scoreboard#read(long)}
+         * and {@link Scoreboard#readAsOf(Instant)} - only the latest one by default. The versions share all their
+         * unchanged nodes, so a version costs just the path of the index that its change has copied.
+         */
+        public Builder retainingVersions(int retainedVersions) {
+            if (retainedVersions <= 0) {
+                throw new DomainValidationException("Number of the retained versions has to be a positive number");
+            }
+            this.retainedVersions = retainedVersions;
+            return this;
+        }
+
+        /**
+         * Keeps the final results of the finished matches in a columnar archive in the given directory, see
+         * {@link Scoreboard#getHeadToHead(String, String)} and the like. The archive is memory-mapped - it takes
+         * no heap, no matter the number of matches.
+         */
+        public Builder archivedIn(Path archiveDirectory) {
+            if (archiveDirectory == null) {
+                throw new DomainValidationException("Archive's directory cannot be null");
+            }
+            this.archiveDirectory = archiveDirectory;
+            return this;
+        }
+
+        /**
+         * Shares every published version of the board through a memory-mapped file, for the other processes on the
+         * host to read with a {@link SharedBoardReader}. Only the top {@code capacity} matches of the board are
+         * shared, and a version rewrites just the matches that have moved or changed since the previous one.
+         */
+        public Builder sharedIn(Path file, int capacity) {
+            if (file == null) {
+                throw new DomainValidationException("Shared board's file cannot be null");
+            }
+            if (capacity <= 0 || capacity > MAX_SHARED_MATCHES) {
+                throw new DomainValidationException("Shared board's capacity has to be a positive number up to " + MAX_SHARED_MATCHES);
+            }
+            this.sharedBoardFile = file;
+            this.sharedBoardCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Records counts and latencies of the operations, see {@link Scoreboard#getMetrics()}. Without it, the
+         * scoreboard doesn't even read the clock.
+         */
+        public Builder withMetrics() {
+            this.metricsEnabled = true;
+            return this;
+        }
+
+        /**
+         * Same as {@link #withMetrics()}, also exposed over JMX as
+         * {@code com.worldcup.scoreboard:type=Scoreboard,name="<name>"} until the scoreboard is closed.
+         *
+         * @see ScoreboardMetricsMXBean
+         */
+        public Builder withMetrics(String mBeanName) {
+            if (mBeanName == null || mBeanName.isBlank()) {
+                throw new DomainValidationException("Metrics' name cannot be null nor blank");
+            }
+            this.metricsEnabled = true;
+            this.metricsMBeanName = mBeanName;
+            return this;
+        }
+
+        /**
+         * Lets followers replicate the scoreboard through a {@link ReplicationServer}. The entries of the last
+         * {@code tailSize} versions are kept in memory - a follower that falls further behind catches up from a
+         * snapshot of the board instead.
+         */
+        public Builder replicated(int tailSize) {
+            if (tailSize <= 0) {
+                throw new DomainValidationException("Replication's tail size has to be a positive number");
+            }
+            this.replicationTailSize = tailSize;
+            return this;
+        }
+
+        /**
+         * Makes the scoreboard a read-only follower of the {@link ReplicationServer} at the given address. The board
+         * is replicated in the background (reconnecting whenever the connection breaks), and all the writing
+         * operations are rejected.
+         */
+        public Builder followerOf(InetSocketAddress leaderAddress) {
+            if (leaderAddress == null) {
+                throw new DomainValidationException("Leader's address cannot be null");
+            }
+            this.leaderAddress = leaderAddress;
+            return this;
+        }
+
+        public Scoreboard build() {
+            if (leaderAddress != null && (journalDirectory != null || replicationTailSize > 0)) {
+                throw new DomainValidationException("Follower's board comes from its leader - it cannot be durable nor replicated");
+            }
+            if (indexing != Indexing.EAGER && (journalDirectory != null || replicationTailSize > 0 || leaderAddress != null)) {
+                // the journal's entries and the followers' versions are the published versions
+                throw new DomainValidationException("Board indexed on read or in the background cannot be durable, replicated nor a follower");
+            }
+            var otherOrderings = EnumSet.copyOf(additionalOrderings);
+            otherOrderings.remove(ordering);
+            var metrics = newMetrics();
+            var archive = archiveDirectory == null
+                    ? MatchArchive.NONE
+                    : MappedMatchArchive.open(archiveDirectory, MappedMatchArchive.DEFAULT_ROWS_PER_CHUNK);
+            var journal = journalDirectory == null
+                    ? MatchJournal.NONE
+                    : MappedFileJournal.open(journalDirectory, journalSegmentSize);
+            var replicationLog = replicationTailSize == 0 ? null : new ReplicationLog(journal, replicationTailSize);
+            var sharedBoard = sharedBoardFile == null ? null : SharedBoardWriter.open(sharedBoardFile, sharedBoardCapacity);
+            var repository = new InMemoryMatchRepository(ordering, otherOrderings, replicationLog == null ? journal : replicationLog,
+                    archive, metrics, retainedVersions, clock, indexing, indexStaleness, sharedBoard, packedMatches);
+            if (journal instanceof MappedFileJournal durableJournal) {
+                repository.load(durableJournal.recoveredBoard());
+            }
+            var scoreboard = new Scoreboard(repository, metrics, replicationLog, leaderAddress);
+            if (scoreboard.follower != null) {
+                scoreboard.follower.start();
+            }
+            return scoreboard;
+        }
+
+        private ScoreboardMetrics newMetrics() {
+            if (!metricsEnabled) {
+                return ScoreboardMetrics.NONE;
+            }
+            var metrics = new RecordingMetrics();
+            if (metricsMBeanName != null) {
+                metrics.registerMBean(metricsMBeanName);
+            }
+            return metrics;
+        }
+    }
+
+    private enum Indexing {
+        EAGER,
+        ON_READ,
+        IN_BACKGROUND
+    }
+
+    /**
+     * Writers are serialized by a single lock - every mutation ends with publishing a new version of the ordered
+     * index, which is a single shared structure anyway. Readers never take the lock: they read the last published,
+     * immutable index.
+     * <p>
+     * Unless the indexing is deferred - then a mutation only records the match as it was in the indexes, and the
+     * indexes are brought up to date (and published) later, by a read or by the background refresher. That one
+     * takes the write lock.
+     */
     private static class InMemoryMatchRepository {
-        private static final String KEY_SEPARATOR = "#";
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final TeamRegistry teamRegistry = new TeamRegistry();
+        private final BitSet teamsWithLiveMatch = new BitSet();
+        private final LongHashMap<LiveMatch> liveMatchesByTeamIds = new LongHashMap<>();
+        private final ChangeFeed changeFeed = new ChangeFeed(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+        private final MatchJournal journal;
+        private final MatchArchive archive;
+        private final ScoreboardMetrics metrics;
+        private final Clock clock;
+        private final Map<MatchesOrdering, OrderedIndex<LiveMatch>> additionalOrderedIndexes = new EnumMap<>(MatchesOrdering.class);
+        private final MatchesOrdering ordering;
+        private OrderedIndex<LiveMatch> matchesOrderedIndex;
+        private OrderedIndex<LiveMatch> matchesByTeamNamesIndex;
+        // names of the indexed teams, each mapped to the key of its match
+        private TeamNameTrie teamNamesIndex = TeamNameTrie.empty();
+        private volatile PublishedIndex publishedIndex;
+        // window of the last published versions, a version is kept at version % length - written before publishing
+        // the version itself, so a reader that sees the published index sees the window up to it too
+        private final PublishedIndex[] retainedVersions;
+        private volatile long oldestRetainedVersion;
+        // not null only while a transaction is in progress - undo actions aren't even created outside of it
+        private Deque<Runnable> undoLog;
+        // set while a batch is in progress - its changes are published once it's done
+        private boolean batchInProgress;
+        private boolean batchChanged;
+        private final Indexing indexing;
+        private final long indexStalenessNanos;
+        // deferred indexing only - the match as it is in the indexes (null when it's not there) by the key of every
+        // match changed since the last refresh, so that any number of changes of a match cost a single index update
+        private final Map<Long, LiveMatch> unindexedMatches = new HashMap<>();
+        private volatile boolean indexStale;
+        // System.nanoTime() of the oldest change missing in the indexes - written before indexStale is set
+        private long staleSinceNanos;
+        // null unless indexed in the background
+        private final Thread refresher;
+        // null unless shared
+        private final SharedBoardWriter sharedBoard;
+        private final boolean packedMatches;
+        // the start sequence of the next new match - only ever growing, so the matches started while a transaction
+        // was rolled back just leave a gap
+        private long nextStartSequence;
+
+        private InMemoryMatchRepository(MatchesOrdering ordering, Set<MatchesOrdering> additionalOrderings, MatchJournal journal,
+                                        MatchArchive archive, ScoreboardMetrics metrics, int retainedVersions, Clock clock,
+                                        Indexing indexing, Duration indexStaleness, SharedBoardWriter sharedBoard,
+                                        boolean packedMatches) {
+            this.ordering = ordering;
+            this.packedMatches = packedMatches;
+            this.sharedBoard = sharedBoard;
+            this.journal = journal;
+            this.archive = archive;
+            this.metrics = metrics;
+            this.clock = clock;
+            this.retainedVersions = new PublishedIndex[retainedVersions];
+            this.matchesOrderedIndex = emptyIndex(ordering);
+            this.matchesByTeamNamesIndex = OrderedIndex.empty(teamNamesAlphabetically());
+            additionalOrderings.forEach(additionalOrdering -> additionalOrderedIndexes.put(additionalOrdering, emptyIndex(additionalOrdering)));
+            this.publishedIndex = share(retain(newPublishedIndex(0)));
+            this.indexing = indexing;
+            this.indexStalenessNanos = indexStaleness.toNanos();
+            if (indexing == Indexing.IN_BACKGROUND) {
+                this.refresher = new Thread(this::refreshInBackground, "scoreboard-index-refresher");
+                this.refresher.setDaemon(true);
+                this.refresher.start();
+            } else {
+                this.refresher = null;
+            }
+        }
+
+        // Start sequences are unique among live matches, so they make the ordering a strict one and
+        // let the index tell apart matches that the policy itself considers equal.
+        private static OrderedIndex<LiveMatch> emptyIndex(MatchesOrdering ordering) {
+            Comparator<LiveMatch> policy = ordering.policy()::compare;
+            return OrderedIndex.empty(policy.thenComparing(lastStartedMatchesFirst()));
+        }
+
+        /**
+         * Replaces the board with the recovered one at once - the indexes are built in bulk instead of replaying
+         * every change.
+         */
+        void load(MappedFileJournal.RecoveredBoard recoveredBoard) {
+            writeLock.lock();
+            try {
+                teamsWithLiveMatch.clear();
+                liveMatchesByTeamIds.clear();
+                teamNamesIndex = TeamNameTrie.empty();
+                nextStartSequence = 0;
+                var liveMatches = new ArrayList<LiveMatch>(recoveredBoard.liveMatches().size());
+                for (var match : recoveredBoard.liveMatches()) {
+                    int homeTeamId = teamRegistry.register(match.homeTeamName());
+                    int awayTeamId = teamRegistry.register(match.awayTeamName());
+                    var liveMatch = newLiveMatch(homeTeamId, awayTeamId, match, nextStartSequence++);
+                    teamsWithLiveMatch.set(homeTeamId);
+                    teamsWithLiveMatch.set(awayTeamId);
+                    var key = buildKey(homeTeamId, awayTeamId);
+                    liveMatchesByTeamIds.put(key, liveMatch);
+                    addTeamNames(key, liveMatch);
+                    liveMatches.add(liveMatch);
+                }
+                long startTime = metrics.startTime();
+                matchesOrderedIndex = OrderedIndex.of(matchesOrderedIndex.comparator(), liveMatches);
+                matchesByTeamNamesIndex = OrderedIndex.of(matchesByTeamNamesIndex.comparator(), liveMatches);
+                additionalOrderedIndexes.replaceAll((additionalOrdering, index) -> OrderedIndex.of(index.comparator(), liveMatches));
+                metrics.recordIndexBuild(startTime, matchesOrderedIndex.size());
+                // the versions before aren't the predecessors of the loaded one
+                oldestRetainedVersion = recoveredBoard.version();
+                publishedIndex.retire();
+                publishedIndex = share(retain(newPublishedIndex(recoveredBoard.version())));
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        OrderedIndex<LiveMatch> publishedMatches() {
+            return latestIndex().index();
+        }
+
+        long publishedVersion() {
+            return latestIndex().version();
+        }
+
+        MatchArchive archive() {
+            return archive;
+        }
+
+        Clock clock() {
+            return clock;
+        }
+
+        List<MatchSummary> queryOrderedSummaries() {
+            return summariesOf(latestIndex().view());
+        }
+
+        BoardVersion readLatest() {
+            return new BoardVersion(this, latestIndex());
+        }
+
+        BoardVersion readVersion(long version) {
+            var latest = latestIndex();
+            if (version == latest.version()) {
+                return new BoardVersion(this, latest);
+            }
+            var retained = retainedVersion(version, latest);
+            if (retained == null) {
+                throw new DomainValidationException("Version " + version + " of the board is not retained");
+            }
+            return new BoardVersion(this, retained);
+        }
+
+        /**
+         * Binary search of the window - versions are published in order, so are their publishing times.
+         */
+        BoardVersion readAsOf(Instant instant) {
+            var latest = latestIndex();
+            long low = Math.max(oldestRetainedVersion, latest.version() - retainedVersions.length + 1);
+            long high = latest.version();
+            PublishedIndex found = null;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                var candidate = middle == latest.version() ? latest : retainedVersion(middle, latest);
+                if (candidate == null) {
+                    // evicted meanwhile - the instant is about to fall out of the window anyway
+                    low = middle + 1;
+                } else if (candidate.publishedAt().isAfter(instant)) {
+                    high = middle - 1;
+                } else {
+                    found = candidate;
+                    low = middle + 1;
+                }
+            }
+            if (found == null) {
+                throw new DomainValidationException("Board as of " + instant + " is not retained");
+            }
+            return new BoardVersion(this, found);
+        }
+
+        private PublishedIndex retainedVersion(long version, PublishedIndex latest) {
+            if (version > latest.version() || version < oldestRetainedVersion || version <= latest.version() - retainedVersions.length) {
+                return null;
+            }
+            var retained = retainedVersions[(int) (version % retainedVersions.length)];
+            // a slot may be overwritten by a version published after the latest one read above
+            return retained != null && retained.version() == version ? retained : null;
+        }
+
+        BoardFrame queryBoardFrame() {
+            return latestIndex().boardFrame(metrics);
+        }
+
+        BoardFrame queryDeltaFrame(BoardFrame since) {
+            var index = latestIndex();
+            if (since.version() > index.version()) {
+                throw new DomainValidationException("Frame of version " + since.version() + " is not of this scoreboard");
+            }
+            return index.deltaFrame(since, metrics);
+        }
+
+        private List<MatchSummary> summariesOf(OrderedView view) {
+            metrics.recordCacheAccess(Cache.SUMMARIES, view.hasSummaries());
+            return view.summaries();
+        }
+
+        // taking the lock guarantees that the subscriber gets every change of the versions published afterward
+        void subscribe(Flow.Subscriber<? super ScoreboardEvent> subscriber) {
+            writeLock.lock();
+            try {
+                changeFeed.publisher().subscribe(subscriber);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        // taking the lock guarantees that the follower gets every entry of the versions published afterward
+        ReplicationLog.CatchUp attachFollower(ReplicationLog replicationLog, ReplicationLog.Follower follower,
+                                              long followerHistory, long followerVersion) {
+            writeLock.lock();
+            try {
+                var index = publishedIndex;
+                return replicationLog.attach(follower, followerHistory, followerVersion, index.version(), index.index());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        int resolveTeamId(String teamName) {
+            return teamRegistry.register(teamName);
+        }
+
+        String teamName(int teamId) {
+            return teamRegistry.nameOf(teamId);
+        }
+
+        void saveNew(Match match) {
+            saveNew(match, -1);
+        }
+
+        /**
+         * @param startSequence negative for the next one of this board
+         */
+        void saveNew(Match match, long startSequence) {
+            int homeTeamId = teamRegistry.register(match.homeTeamName());
+            int awayTeamId = teamRegistry.register(match.awayTeamName());
+            writeLock.lock();
+            try {
+                validateForLiveMatch(homeTeamId, match.homeTeamName());
+                validateForLiveMatch(awayTeamId, match.awayTeamName());
+                var key = buildKey(homeTeamId, awayTeamId);
+                var liveMatch = newLiveMatch(homeTeamId, awayTeamId, match, startSequence < 0 ? nextStartSequence++ : startSequence);
+                journal.recordStarted(match);
+                teamsWithLiveMatch.set(homeTeamId);
+                teamsWithLiveMatch.set(awayTeamId);
+                liveMatchesByTeamIds.put(key, liveMatch);
+                changeFeed.recordChange(key, null);
+                if (undoLog != null) {
+                    undoLog.push(() -> {
+                        liveMatchesByTeamIds.remove(key);
+                        teamsWithLiveMatch.clear(homeTeamId);
+                        teamsWithLiveMatch.clear(awayTeamId);
+                    });
+                }
+                updateIndexes(key, null, liveMatch);
+                publish();
+            } finally {
+                writeLock.unlock();
+            }
+            syncJournal();
+        }
+
+        /**
+         * @return {@code false} when there's no such live match
+         */
+        boolean updateByTeamNames(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+            return updateByTeamIds(teamRegistry.idOf(homeTeamName), teamRegistry.idOf(awayTeamName), homeTeamScore, awayTeamScore);
+        }
+
+        // hot path - nothing is allocated here besides the new version of the match and of the indexes
+        boolean updateByTeamIds(int homeTeamId, int awayTeamId, int homeTeamScore, int awayTeamScore) {
+            if (homeTeamId < 0 || awayTeamId < 0) {
+                return false;
+            }
+            writeLock.lock();
+            try {
+                var key = buildKey(homeTeamId, awayTeamId);
+                var currentMatch = liveMatchesByTeamIds.get(key);
+                if (currentMatch == null) {
+                    return false;
+                }
+                var updatedMatch = currentMatch.update(homeTeamScore, awayTeamScore);
+                if (updatedMatch != currentMatch) {
+                    journal.recordUpdated(updatedMatch);
+                    liveMatchesByTeamIds.put(key, updatedMatch);
+                    changeFeed.recordChange(key, currentMatch);
+                    if (undoLog != null) {
+                        undoLog.push(() -> liveMatchesByTeamIds.put(key, currentMatch));
+                    }
+                    updateIndexes(key, currentMatch, updatedMatch);
+                    publish();
+                }
+                return true;
+            } finally {
+                writeLock.unlock();
+                syncJournal();
+            }
+        }
+
+        /**
+         * @return {@code false} when there's no such live match
+         */
+        boolean deleteByTeamNames(String homeTeamName, String awayTeamName) {
+            return deleteByTeamIds(teamRegistry.idOf(homeTeamName), teamRegistry.idOf(awayTeamName));
+        }
+
+        boolean deleteByTeamIds(int homeTeamId, int awayTeamId) {
+            if (homeTeamId < 0 || awayTeamId < 0) {
+                return false;
+            }
+            writeLock.lock();
+            try {
+                var key = buildKey(homeTeamId, awayTeamId);
+                var finishedMatch = liveMatchesByTeamIds.remove(key);
+                if (finishedMatch == null) {
+                    return false;
+                }
+                journal.recordFinished(finishedMatch);
+                archive.recordFinished(finishedMatch.match(), clock.instant());
+                teamsWithLiveMatch.clear(homeTeamId);
+                teamsWithLiveMatch.clear(awayTeamId);
+                changeFeed.recordChange(key, finishedMatch);
+                if (undoLog != null) {
+                    undoLog.push(() -> {
+                        liveMatchesByTeamIds.put(key, finishedMatch);
+                        teamsWithLiveMatch.set(homeTeamId);
+                        teamsWithLiveMatch.set(awayTeamId);
+                    });
+                }
+                updateIndexes(key, finishedMatch, null);
+                publish();
+                return true;
+            } finally {
+                writeLock.unlock();
+                syncJournal();
+            }
+        }
+
+        /**
+         * Runs all the operations under the write lock and publishes the index once at the end, unless they changed
+         * nothing. When any of the operations fails, all of them are rolled back and nothing gets published.
+         */
+        BatchResult inTransaction(Supplier<List<CommandResult>> operations) {
+            writeLock.lock();
+            undoLog = new ArrayDeque<>();
+            boolean applied = false;
+            try {
+                var commandResults = operations.get();
+                applied = commandResults.stream().noneMatch(CommandResult::failed);
+                return new BatchResult(applied, commandResults);
+            } finally {
+                endTransaction(applied, publishedIndex.version() + 1, false);
+            }
+        }
+
+        /**
+         * Runs all the operations under the write lock and publishes their changes once at the end. Unlike in a
+         * transaction, a failed operation doesn't roll back the others.
+         */
+        List<CommandResult> inBatch(Supplier<List<CommandResult>> operations) {
+            writeLock.lock();
+            batchInProgress = true;
+            try {
+                return operations.get();
+            } finally {
+                batchInProgress = false;
+                if (batchChanged) {
+                    batchChanged = false;
+                    publish();
+                }
+                writeLock.unlock();
+                syncJournal();
+            }
+        }
+
+        /**
+         * Same as {@link #inTransaction(Supplier)} for the changes of a leader's version, published as that very
+         * version. Any failure means the follower's board diverged from the leader's one - it's rolled back and
+         * rethrown.
+         */
+        void inReplicatedTransaction(long version, Runnable changes) {
+            writeLock.lock();
+            undoLog = new ArrayDeque<>();
+            boolean applied = false;
+            try {
+                changes.run();
+                applied = true;
+            } finally {
+                endTransaction(applied, version, true);
+            }
+        }
+
+        /**
+         * @param publishUnchanged whether to publish the version even when the transaction changed nothing - a
+         *                         follower does, to stay at the leader's version
+         */
+        private void endTransaction(boolean applied, long version, boolean publishUnchanged) {
+            var undoActions = undoLog;
+            undoLog = null;
+            if (applied) {
+                // every change of the transaction left its undo action - none means there's nothing to publish
+                if (publishUnchanged || !undoActions.isEmpty()) {
+                    publish(version);
+                }
+            } else {
+                undoActions.forEach(Runnable::run);
+                if (indexing == Indexing.EAGER) {
+                    // deferred indexing keeps the changes of the writes before the batch - the batch's own ones
+                    // compare the undone matches to themselves and emit nothing
+                    changeFeed.discardChanges();
+                }
+                journal.discardRecorded();
+                archive.discardRecorded();
+                matchesOrderedIndex = publishedIndex.index();
+                matchesByTeamNamesIndex = publishedIndex.matchesByTeamNames();
+                teamNamesIndex = publishedIndex.teamNames();
+                publishedIndex.additionalViews().forEach((additionalOrdering, view) -> additionalOrderedIndexes.put(additionalOrdering, view.index()));
+            }
+            writeLock.unlock();
+            syncJournal();
+        }
+
+        /**
+         * Snapshots the last published version of the board. Only switching the journal to a new generation
+         * happens under the write lock - the snapshot itself is written while the writers carry on.
+         */
+        void checkpoint() {
+            checkpoint(false);
+        }
+
+        private void checkpoint(boolean onlyIfDue) {
+            long nextGeneration;
+            PublishedIndex index;
+            writeLock.lock();
+            try {
+                if (onlyIfDue && !journal.isCheckpointDue()) {
+                    return;
+                }
+                nextGeneration = journal.startNewGeneration();
+                index = publishedIndex;
+            } finally {
+                writeLock.unlock();
+            }
+            journal.writeSnapshot(index.version(), nextGeneration, LiveMatch.inStartOrder(index.index()));
+        }
+
+        void close() {
+            if (refresher != null) {
+                refresher.interrupt();
+                try {
+                    refresher.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            writeLock.lock();
+            try {
+                changeFeed.close();
+                journal.close();
+                archive.close();
+                if (sharedBoard != null) {
+                    sharedBoard.close();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        // called after releasing the write lock, so that the writers waiting for it join the same flush
+        private void syncJournal() {
+            if (writeLock.isHeldByCurrentThread()) {
+                // part of a transaction, synced once it's done
+                return;
+            }
+            journal.sync();
+            if (journal.isCheckpointDue()) {
+                checkpoint(true);
+            }
+        }
+
+        /**
+         * @return the last published index, brought up to date first when it's due
+         */
+        private PublishedIndex latestIndex() {
+            if (indexStale && indexing == Indexing.ON_READ && System.nanoTime() - staleSinceNanos >= indexStalenessNanos) {
+                refreshIndexes();
+            }
+            return publishedIndex;
+        }
+
+        private void refreshInBackground() {
+            while (!Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(indexStalenessNanos);
+                if (indexStale) {
+                    refreshIndexes();
+                }
+            }
+        }
+
+        /**
+         * Applies the unindexed changes to the indexes and publishes them as a single version.
+         */
+        private void refreshIndexes() {
+            writeLock.lock();
+            try {
+                if (!indexStale) {
+                    // refreshed by another reader meanwhile
+                    return;
+                }
+                boolean changed = false;
+                for (var unindexedMatch : unindexedMatches.entrySet()) {
+                    var indexedMatch = unindexedMatch.getValue();
+                    var liveMatch = liveMatchesByTeamIds.get(unindexedMatch.getKey());
+                    if (indexedMatch == liveMatch) {
+                        // i.e. started and finished meanwhile, or changed by a rejected batch only
+                        continue;
+                    }
+                    if (indexedMatch != null && liveMatch != null && indexedMatch.equals(liveMatch)) {
+                        // updated back to the indexed score - the indexed match stays
+                        liveMatchesByTeamIds.put(unindexedMatch.getKey(), indexedMatch);
+                        continue;
+                    }
+                    applyToIndexes(unindexedMatch.getKey(), indexedMatch, liveMatch);
+                    changed = true;
+                }
+                unindexedMatches.clear();
+                if (changed) {
+                    publishIndexes(publishedIndex.version() + 1);
+                } else {
+                    changeFeed.discardChanges();
+                }
+                // only once published - a read that doesn't see the indexes stale anymore sees them up to date
+                indexStale = false;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * @param indexedMatch match as it is in the indexes, null when it's a new one
+         * @param liveMatch    match as it is now, null when it's finished
+         */
+        private void updateIndexes(long key, LiveMatch indexedMatch, LiveMatch liveMatch) {
+            if (indexing == Indexing.EAGER) {
+                applyToIndexes(key, indexedMatch, liveMatch);
+            } else if (!unindexedMatches.containsKey(key)) {
+                unindexedMatches.put(key, indexedMatch);
+            }
+        }
+
+        private void applyToIndexes(long key, LiveMatch indexedMatch, LiveMatch liveMatch) {
+            if (indexedMatch == null) {
+                addToIndexes(key, liveMatch);
+            } else if (liveMatch == null) {
+                removeFromIndexes(key, indexedMatch);
+            } else {
+                replaceInIndexes(indexedMatch, liveMatch);
+            }
+        }
 
-        private final Set<String> teamsWithLiveMatch = new HashSet<>();
-        private final Map<String, Match> liveMatchesByKey = new HashMap<>();
-        private List<Match> matchesOrderedIndex = emptyList();
+        private void addToIndexes(long key, LiveMatch liveMatch) {
+            long startTime = metrics.startTime();
+            matchesOrderedIndex = matchesOrderedIndex.insert(liveMatch);
+            matchesByTeamNamesIndex = matchesByTeamNamesIndex.insert(liveMatch);
+            addTeamNames(key, liveMatch);
+            if (!additionalOrderedIndexes.isEmpty()) {
+                additionalOrderedIndexes.replaceAll((additionalOrdering, index) -> index.insert(liveMatch));
+            }
+            metrics.recordIndexUpdate(startTime, matchesOrderedIndex.size());
+        }
+
+        private void replaceInIndexes(LiveMatch currentMatch, LiveMatch updatedMatch) {
+            long startTime = metrics.startTime();
+            matchesOrderedIndex = matchesOrderedIndex.remove(currentMatch).insert(updatedMatch);
+            // same team names - the match is replaced in place, copying a single path of the tree
+            matchesByTeamNamesIndex = matchesByTeamNamesIndex.insert(updatedMatch);
+            if (!additionalOrderedIndexes.isEmpty()) {
+                additionalOrderedIndexes.replaceAll((additionalOrdering, index) -> index.remove(currentMatch).insert(updatedMatch));
+            }
+            metrics.recordIndexUpdate(startTime, matchesOrderedIndex.size());
+        }
+
+        private void removeFromIndexes(long key, LiveMatch liveMatch) {
+            long startTime = metrics.startTime();
+            matchesOrderedIndex = matchesOrderedIndex.remove(liveMatch);
+            matchesByTeamNamesIndex = matchesByTeamNamesIndex.remove(liveMatch);
+            // a deferred refresh can add a new match of the team before removing its finished one
+            teamNamesIndex = teamNamesIndex.remove(liveMatch.homeTeamName(), key).remove(liveMatch.awayTeamName(), key);
+            if (!additionalOrderedIndexes.isEmpty()) {
+                additionalOrderedIndexes.replaceAll((additionalOrdering, index) -> index.remove(liveMatch));
+            }
+            metrics.recordIndexUpdate(startTime, matchesOrderedIndex.size());
+        }
+
+        private void addTeamNames(long key, LiveMatch liveMatch) {
+            teamNamesIndex = teamNamesIndex.put(liveMatch.homeTeamName(), key).put(liveMatch.awayTeamName(), key);
+        }
+
+        private void publish() {
+            publish(publishedIndex.version() + 1);
+        }
+
+        private void publish(long version) {
+            if (undoLog != null) {
+                return;
+            }
+            if (batchInProgress) {
+                batchChanged = true;
+                return;
+            }
+            if (indexing == Indexing.EAGER) {
+                publishIndexes(version);
+                return;
+            }
+            // no journal to append to - a board with deferred indexing is neither durable nor replicated
+            archive.append();
+            if (!indexStale) {
+                staleSinceNanos = System.nanoTime();
+                indexStale = true;
+            }
+        }
+
+        private void publishIndexes(long version) {
+            var previousIndex = publishedIndex;
+            journal.append(version);
+            archive.append();
+            previousIndex.retire();
+            publishedIndex = share(retain(newPublishedIndex(version)));
+            changeFeed.emitChanges(version, previousIndex.index(), matchesOrderedIndex, liveMatchesByTeamIds);
+        }
+
+        private PublishedIndex newPublishedIndex(long version) {
+            var publishedAt = clock.instant();
+            if (additionalOrderedIndexes.isEmpty()) {
+                return new PublishedIndex(version, publishedAt, new OrderedView(matchesOrderedIndex), matchesByTeamNamesIndex,
+                        teamNamesIndex, Map.of());
+            }
+            var additionalViews = new EnumMap<MatchesOrdering, OrderedView>(MatchesOrdering.class);
+            additionalOrderedIndexes.forEach((additionalOrdering, index) -> additionalViews.put(additionalOrdering, new OrderedView(index)));
+            return new PublishedIndex(version, publishedAt, new OrderedView(matchesOrderedIndex), matchesByTeamNamesIndex,
+                    teamNamesIndex, additionalViews);
+        }
+
+        private PublishedIndex retain(PublishedIndex index) {
+            retainedVersions[(int) (index.version() % retainedVersions.length)] = index;
+            return index;
+        }
+
+        private PublishedIndex share(PublishedIndex index) {
+            if (sharedBoard != null) {
+                sharedBoard.write(index.version(), index.publishedAt(), index.index());
+            }
+            return index;
+        }
+
+        private LiveMatch newLiveMatch(int homeTeamId, int awayTeamId, Match match, long startSequence) {
+            return packedMatches
+                    ? PackedMatch.of(teamRegistry, homeTeamId, awayTeamId, match, startSequence)
+                    : new RenderedMatch(match, startSequence);
+        }
+
+        private void validateForLiveMatch(int teamId, String teamName) {
+            if (teamsWithLiveMatch.get(teamId)) {
+                throw new TeamPartOfLiveMatchException(teamName);
+            }
+        }
+
+        private static long buildKey(int homeTeamId, int awayTeamId) {
+            return (long) homeTeamId << Integer.SIZE | awayTeamId;
+        }
+
+        private static int homeTeamIdOf(long key) {
+            return (int) (key >>> Integer.SIZE);
+        }
+
+        private static int awayTeamIdOf(long key) {
+            return (int) key;
+        }
+    }
+
+    /**
+     * Version of the indexes visible to the readers.
+     * <p>
+     * Once a newer version is published, the version is retired - it drops its caches and doesn't cache anymore,
+     * so a retained version holds only its own nodes of the indexes.
+     */
+    private static final class PublishedIndex {
+        private final long version;
+        private final Instant publishedAt;
+        private final OrderedView view;
+        private final OrderedIndex<LiveMatch> matchesByTeamNames;
+        private final TeamNameTrie teamNames;
+        private final Map<MatchesOrdering, OrderedView> additionalViews;
+        private volatile BoardFrame boardFrame;
+        // the last one only - all the senders usually catch up from the same version
+        private volatile BoardFrame deltaFrame;
+        private volatile boolean retired;
+
+        private PublishedIndex(long version, Instant publishedAt, OrderedView view, OrderedIndex<LiveMatch> matchesByTeamNames,
+                               TeamNameTrie teamNames, Map<MatchesOrdering, OrderedView> additionalViews) {
+            this.version = version;
+            this.publishedAt = publishedAt;
+            this.view = view;
+            this.matchesByTeamNames = matchesByTeamNames;
+            this.teamNames = teamNames;
+            this.additionalViews = additionalViews;
+        }
+
+        long version() {
+            return version;
+        }
+
+        Instant publishedAt() {
+            return publishedAt;
+        }
+
+        OrderedIndex<LiveMatch> index() {
+            return view.index();
+        }
+
+        OrderedView view() {
+            return view;
+        }
+
+        OrderedIndex<LiveMatch> matchesByTeamNames() {
+            return matchesByTeamNames;
+        }
+
+        TeamNameTrie teamNames() {
+            return teamNames;
+        }
+
+        Map<MatchesOrdering, OrderedView> additionalViews() {
+            return additionalViews;
+        }
+
+        List<MatchSummary> summaries(int offset, int limit) {
+            return view.summaries(offset, limit);
+        }
+
+        BoardFrame boardFrame(ScoreboardMetrics metrics) {
+            var result = boardFrame;
+            metrics.recordCacheAccess(Cache.BOARD_FRAME, result != null);
+            if (result == null) {
+                result = BoardFrameEncoder.encodeFull(version, index(), matchesByTeamNames);
+                if (!retired) {
+                    boardFrame = result;
+                }
+            }
+            return result;
+        }
+
+        BoardFrame deltaFrame(BoardFrame since, ScoreboardMetrics metrics) {
+            var result = deltaFrame;
+            boolean cached = result != null && result.baseVersion() == since.version();
+            metrics.recordCacheAccess(Cache.DELTA_FRAME, cached);
+            if (!cached) {
+                result = BoardFrameEncoder.encodeDelta(since, version, index(), matchesByTeamNames);
+                if (!retired) {
+                    deltaFrame = result;
+                }
+            }
+            return result;
+        }
+
+        void retire() {
+            retired = true;
+            boardFrame = null;
+            deltaFrame = null;
+            view.retire();
+            additionalViews.values().forEach(OrderedView::retire);
+        }
 
-        private final Comparator<Match> matchesOrderingPolicy;
+        /**
+         * @return 1-based rank of the match
+         */
+        OptionalInt rankOf(String homeTeamName, String awayTeamName) {
+            var liveMatch = matchOf(homeTeamName, awayTeamName);
+            return liveMatch == null ? OptionalInt.empty() : OptionalInt.of(index().indexOf(liveMatch) + 1);
+        }
 
-        private InMemoryMatchRepository(Comparator<Match> matchesOrderingPolicy) {
-            this.matchesOrderingPolicy = matchesOrderingPolicy;
+        /**
+         * @return summaries of the matches of the teams whose names start with the prefix (ignoring the case), in
+         * the order of the board - {@code O(k log n)} for {@code k} such matches
+         */
+        List<MatchSummary> summariesOfTeams(String teamNamePrefix, TeamRegistry teamRegistry) {
+            var positions = IntStream.builder();
+            teamNames.forEachWithPrefix(teamNamePrefix, key -> positions.add(index().indexOf(matchOf(
+                    teamRegistry.nameOf(InMemoryMatchRepository.homeTeamIdOf(key)),
+                    teamRegistry.nameOf(InMemoryMatchRepository.awayTeamIdOf(key))))));
+            // both teams of a match can start with the prefix
+            return positions.build().sorted().distinct()
+                    .mapToObj(position -> index().get(position).summary())
+                    .toList();
         }
 
-        List<Match> queryOrdered() {
-            return matchesOrderedIndex;
+        private LiveMatch matchOf(String homeTeamName, String awayTeamName) {
+            return matchesByTeamNames.search(candidate -> {
+                int comparison = homeTeamName.compareTo(candidate.homeTeamName());
+                return comparison != 0 ? comparison : awayTeamName.compareTo(candidate.awayTeamName());
+            });
+        }
+    }
+
+    /**
+     * Published ordered index with its list of summaries built at most once.
+     */
+    private static final class OrderedView {
+        private final OrderedIndex<LiveMatch> index;
+        private volatile List<MatchSummary> summaries;
+        private volatile boolean retired;
+
+        private OrderedView(OrderedIndex<LiveMatch> index) {
+            this.index = index;
         }
 
-        void save(Match match) {
-            teamsWithLiveMatch.add(match.homeTeamName());
-            teamsWithLiveMatch.add(match.awayTeamName());
-            liveMatchesByKey.put(buildKey(match), match);
-            rebuildOrderedIndex();
+        OrderedIndex<LiveMatch> index() {
+            return index;
         }
 
-        boolean existsByTeamName(String teamName) {
-            return teamsWithLiveMatch.contains(teamName);
+        boolean hasSummaries() {
+            return summaries != null;
         }
 
-        Optional<Match> findByTeamNames(String homeTeamName, String awayTeamName) {
-            return Optional.ofNullable(liveMatchesByKey.get(buildKey(homeTeamName, awayTeamName)));
+        List<MatchSummary> summaries() {
+            var result = summaries;
+            if (result == null) {
+                var list = new ArrayList<MatchSummary>(index.size());
+                index.forEach(liveMatch -> list.add(liveMatch.summary()));
+                result = Collections.unmodifiableList(list);
+                if (!retired) {
+                    summaries = result;
+                }
+            }
+            return result;
         }
 
-        void deleteByTeamNames(String homeTeamName, String awayTeamName) {
-            teamsWithLiveMatch.remove(homeTeamName);
-            teamsWithLiveMatch.remove(awayTeamName);
-            liveMatchesByKey.remove(buildKey(homeTeamName, awayTeamName));
-            rebuildOrderedIndex();
+        void retire() {
+            retired = true;
+            summaries = null;
         }
 
-        private void rebuildOrderedIndex() {
-            this.matchesOrderedIndex = this.liveMatchesByKey.values().stream()
-                    .sorted(this.matchesOrderingPolicy)
+        List<MatchSummary> summaries(int offset, int limit) {
+            var allSummaries = summaries;
+            if (allSummaries != null) {
+                return allSummaries.subList(Math.min(offset, allSummaries.size()), (int) Math.min((long) offset + limit, allSummaries.size()));
+            }
+            return index.slice(offset, limit).stream()
+                    .map(LiveMatch::summary)
                     .toList();
         }
+    }
+
+    /**
+     * Single version of the board - a read transaction, all its queries are answered from that very version.
+     * Holding on to it costs nothing but keeping its nodes of the indexes from being collected.
+     *
+     * @see Scoreboard#read()
+     */
+    public static final class BoardVersion {
+        private final InMemoryMatchRepository repository;
+        private final PublishedIndex index;
+
+        private BoardVersion(InMemoryMatchRepository repository, PublishedIndex index) {
+            this.repository = repository;
+            this.index = index;
+        }
+
+        public long version() {
+            return index.version();
+        }
+
+        public Instant publishedAt() {
+            return index.publishedAt();
+        }
+
+        public List<MatchSummary> getMatchesSummary() {
+            return repository.summariesOf(index.view());
+        }
+
+        /**
+         * @param ordering the scoreboard's ordering or any of the additional ones it was built with
+         */
+        public List<MatchSummary> getMatchesSummary(MatchesOrdering ordering) {
+            if (ordering == null) {
+                throw new DomainValidationException("Ordering cannot be null");
+            }
+            if (ordering == repository.ordering) {
+                return getMatchesSummary();
+            }
+            var view = index.additionalViews().get(ordering);
+            if (view == null) {
+                throw new DomainValidationException("Matches are not ordered by " + ordering);
+            }
+            return repository.summariesOf(view);
+        }
+
+        /**
+         * @see Scoreboard#getMatchesSummary(int, int)
+         */
+        public List<MatchSummary> getMatchesSummary(int offset, int limit) {
+            if (offset < 0 || limit < 0) {
+                throw new DomainValidationException("Offset and limit cannot be negative numbers");
+            }
+            return index.summaries(offset, limit);
+        }
+
+        public List<MatchSummary> getTopMatches(int k) {
+            return getMatchesSummary(0, k);
+        }
+
+        /**
+         * @return position (1-based) of the match on this version of the board
+         */
+        public int getRank(String homeTeamName, String awayTeamName) {
+            validateNonNull(homeTeamName, awayTeamName);
+
+            return index.rankOf(homeTeamName.strip(), awayTeamName.strip())
+                    .orElseThrow(() -> new MatchNotFoundException(homeTeamName, awayTeamName));
+        }
 
-        private String buildKey(String homeTeamName, String awayTeamName) {
-            return homeTeamName + KEY_SEPARATOR + awayTeamName;
+        /**
+         * @see Scoreboard#searchByTeamName(String)
+         */
+        public List<MatchSummary> searchByTeamName(String teamNamePrefix) {
+            if (teamNamePrefix == null || teamNamePrefix.isBlank()) {
+                throw new DomainValidationException("Team name's prefix cannot be null nor blank");
+            }
+            return index.summariesOfTeams(teamNamePrefix.stripLeading(), repository.teamRegistry);
         }
 
-        private String buildKey(Match match) {
-            return buildKey(match.homeTeamName(), match.awayTeamName());
+        public BoardSnapshot getSnapshot() {
+            return new BoardSnapshot(index.version(), getMatchesSummary());
         }
     }
 }
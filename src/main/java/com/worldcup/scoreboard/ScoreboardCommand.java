@@ -0,0 +1,16 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Single operation on the {@link Scoreboard}, used to apply many operations at once with
+ * {@link Scoreboard#applyAll(java.util.List)}.
+ */
+public sealed interface ScoreboardCommand {
+    record StartMatch(String homeTeamName, String awayTeamName) implements ScoreboardCommand {
+    }
+
+    record UpdateMatch(String homeTeamName, String awayTeamName, MatchScore matchScore) implements ScoreboardCommand {
+    }
+
+    record FinishMatch(String homeTeamName, String awayTeamName) implements ScoreboardCommand {
+    }
+}
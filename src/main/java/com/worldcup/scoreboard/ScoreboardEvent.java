@@ -0,0 +1,39 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Change of the {@link Scoreboard}, emitted by {@link Scoreboard#changeFeed()}.
+ * <p>
+ * Every published change of the board gets the next {@code version} (1, 2, 3, ...) and all the events describing
+ * that change share it. Every event additionally gets the next {@code sequence} of the feed (1, 2, 3, ...) - events
+ * are dropped one by one, so only a gap in the sequence (not in the versions) tells that some were missed. A subscriber
+ * that misses an event (i.e. because it was too slow to keep up) should resync from {@link Scoreboard#getSnapshot()}
+ * and ignore the events with a version not greater than the snapshot's one.
+ * <p>
+ * Ranks are 1-based positions on the board. Only the match that actually changed gets a {@link RankChanged} -
+ * the matches between its previous and its new rank are implicitly shifted by one.
+ */
+public sealed interface ScoreboardEvent {
+    long version();
+
+    long sequence();
+
+    String homeTeamName();
+
+    String awayTeamName();
+
+    record MatchStarted(long version, long sequence, String homeTeamName, String awayTeamName, MatchScore matchScore, int rank)
+            implements ScoreboardEvent {
+    }
+
+    record ScoreChanged(long version, long sequence, String homeTeamName, String awayTeamName, MatchScore matchScore)
+            implements ScoreboardEvent {
+    }
+
+    record RankChanged(long version, long sequence, String homeTeamName, String awayTeamName, int previousRank, int rank)
+            implements ScoreboardEvent {
+    }
+
+    record MatchFinished(long version, long sequence, String homeTeamName, String awayTeamName, int lastRank)
+            implements ScoreboardEvent {
+    }
+}
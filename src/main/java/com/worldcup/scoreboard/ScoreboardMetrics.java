@@ -0,0 +1,56 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.MetricsSnapshot.Cache;
+import com.worldcup.scoreboard.MetricsSnapshot.Operation;
+
+/**
+ * Instrumentation points of the scoreboard. {@link #NONE} doesn't even read the clock - with all its methods
+ * empty, the calls are inlined away and disabled metrics cost nothing.
+ */
+interface ScoreboardMetrics extends AutoCloseable {
+    ScoreboardMetrics NONE = new ScoreboardMetrics() {
+    };
+
+    /**
+     * @return start time to pass to the recording methods
+     */
+    default long startTime() {
+        return 0;
+    }
+
+    default void recordOperation(Operation operation, long startTime) {
+    }
+
+    /**
+     * @return the given failure, to be rethrown
+     */
+    default RuntimeException recordFailure(Operation operation, long startTime, RuntimeException failure) {
+        return failure;
+    }
+
+    default void recordRejectedBatch(long startTime) {
+    }
+
+    default void recordIndexUpdate(long startTime, int indexSize) {
+    }
+
+    default void recordIndexBuild(long startTime, int indexSize) {
+    }
+
+    default void recordCacheAccess(Cache cache, boolean hit) {
+    }
+
+    /**
+     * @param lagNanos time since the leader published the version that a follower has just published
+     */
+    default void recordReplicationLag(long lagNanos) {
+    }
+
+    default MetricsSnapshot snapshot() {
+        return MetricsSnapshot.EMPTY;
+    }
+
+    @Override
+    default void close() {
+    }
+}
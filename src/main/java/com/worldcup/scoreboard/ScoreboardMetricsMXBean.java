@@ -0,0 +1,34 @@
+package com.worldcup.scoreboard;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link MetricsSnapshot}, registered by {@link Scoreboard.Builder#withMetrics(String)}. Latencies are
+ * keyed by the operation and the percentile, i.e. {@code UPDATE_MATCH.p99}, in nanoseconds.
+ */
+public interface ScoreboardMetricsMXBean {
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getOperationFailureCounts();
+
+    /**
+     * @return failed calls by the simple name of the thrown exception
+     */
+    Map<String, Long> getFailureCountsByType();
+
+    Map<String, Long> getOperationLatenciesNanos();
+
+    /**
+     * @return latencies of updating the indexes, keyed by the percentile
+     */
+    Map<String, Long> getIndexUpdateLatenciesNanos();
+
+    int getIndexSize();
+
+    Map<String, Double> getCacheHitRates();
+
+    /**
+     * @return lag of a follower behind its leader, keyed by the percentile
+     */
+    Map<String, Long> getReplicationLagNanos();
+}
@@ -0,0 +1,22 @@
+package com.worldcup.scoreboard;
+
+/**
+ * Teams, score and start time of a match - all that the orderings compare and the summaries render, so both work
+ * on any representation of the match without building a {@link Match} first.
+ */
+interface ScoredMatch {
+    long NANOS_PER_SECOND = 1_000_000_000L;
+
+    String homeTeamName();
+
+    String awayTeamName();
+
+    int homeTeamScore();
+
+    int awayTeamScore();
+
+    /**
+     * @return start time in nanoseconds since the epoch - covers the years 1677 to 2262
+     */
+    long startEpochNanos();
+}
@@ -0,0 +1,278 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import com.worldcup.scoreboard.exceptions.MatchNotFoundException;
+import com.worldcup.scoreboard.exceptions.TeamPartOfLiveMatchException;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Board of many competitions played at once, split into independent {@link Scoreboard} shards - each shard has its
+ * own write lock and indexes, so writes routed to different shards don't contend.
+ * <p>
+ * Matches are routed to a shard by the competition or, when none is given, by the home team. The rule that a team
+ * plays in a single live match at a time holds across all the shards - every live team is claimed in a shared
+ * concurrent map before its match reaches the shard. The start sequences of the matches, the final tie-breaker of
+ * the orderings, are numbered across all the shards too - so matches of different shards compare just like the
+ * matches of a single board.
+ * <p>
+ * The global summary is a k-way merge of the shards' published indexes. Every shard is read at its own last
+ * published version, so the merged board is not a consistent cut of all the shards.
+ */
+public class ShardedScoreboard {
+    private final List<Scoreboard> shards;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, LiveMatchClaim> liveMatchClaims = new ConcurrentHashMap<>();
+    private final AtomicLong nextStartSequence = new AtomicLong();
+    private final Comparator<? super LiveMatch> matchesOrdering;
+    private volatile MergedSummary mergedSummary;
+
+    private ShardedScoreboard(List<Scoreboard> shards, Clock clock) {
+        this.shards = shards;
+        this.clock = clock;
+        this.matchesOrdering = shards.get(0).publishedMatches().comparator();
+        this.mergedSummary = new MergedSummary(publishedIndexes(), List.of());
+    }
+
+    public static ShardedScoreboard withShards(int numberOfShards) {
+        return withShards(numberOfShards, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock clock of the matches' start times
+     * @see Scoreboard.Builder#clock(Clock)
+     */
+    public static ShardedScoreboard withShards(int numberOfShards, Clock clock) {
+        if (numberOfShards <= 0) {
+            throw new DomainValidationException("Number of shards has to be a positive number");
+        }
+        if (clock == null) {
+            throw new DomainValidationException("Clock cannot be null");
+        }
+        return new ShardedScoreboard(IntStream.range(0, numberOfShards)
+                .mapToObj(shard -> Scoreboard.builder().clock(clock).build())
+                .toList(), clock);
+    }
+
+    /**
+     * Starts the match in the shard of the home team.
+     */
+    public void startMatch(String homeTeamName, String awayTeamName) {
+        Scoreboard.validateNonNull(homeTeamName, awayTeamName);
+        var match = new Match(homeTeamName, awayTeamName, clock.instant());
+
+        startMatch(shardIndex(match.homeTeamName()), match);
+    }
+
+    /**
+     * Starts the match in the shard of the competition, so that all the matches of a competition share a shard.
+     */
+    public void startMatch(String competition, String homeTeamName, String awayTeamName) {
+        if (competition == null || competition.isBlank()) {
+            throw new DomainValidationException("Competition cannot be null nor blank");
+        }
+        Scoreboard.validateNonNull(homeTeamName, awayTeamName);
+        var match = new Match(homeTeamName, awayTeamName, clock.instant());
+
+        startMatch(shardIndex(competition.strip()), match);
+    }
+
+    public void updateMatch(String homeTeamName, String awayTeamName, MatchScore matchScore) {
+        Scoreboard.validateNonNull(homeTeamName, awayTeamName);
+        Scoreboard.validateNonNull(matchScore);
+
+        var claim = findClaim(homeTeamName.strip(), awayTeamName.strip())
+                .orElseThrow(() -> new MatchNotFoundException(homeTeamName, awayTeamName));
+        shards.get(claim.shardIndex()).updateMatch(claim.homeTeamName(), claim.awayTeamName(), matchScore);
+    }
+
+    public void finishMatch(String homeTeamName, String awayTeamName) {
+        Scoreboard.validateNonNull(homeTeamName, awayTeamName);
+
+        findClaim(homeTeamName.strip(), awayTeamName.strip()).ifPresent(claim -> {
+            // waits for the match to get to its shard, when it's still being started
+            synchronized (claim) {
+                shards.get(claim.shardIndex()).finishMatch(claim.homeTeamName(), claim.awayTeamName());
+                releaseTeams(claim);
+            }
+        });
+    }
+
+    /**
+     * Merged summary of all the shards, built at most once per combination of the shards' published versions.
+     */
+    public List<MatchSummary> getMatchesSummary() {
+        var indexes = publishedIndexes();
+        var cached = mergedSummary;
+        if (cached.isMergedFrom(indexes)) {
+            return cached.summaries();
+        }
+        var summaries = new ArrayList<MatchSummary>();
+        mergedMatches(indexes).forEachRemaining(liveMatch -> summaries.add(liveMatch.summary()));
+        var merged = new MergedSummary(indexes, Collections.unmodifiableList(summaries));
+        mergedSummary = merged;
+        return merged.summaries();
+    }
+
+    /**
+     * @return summaries of up to {@code k} first matches of all the shards, merged lazily in {@code O(k log shards)}
+     */
+    public List<MatchSummary> getTopMatches(int k) {
+        if (k < 0) {
+            throw new DomainValidationException("Number of matches cannot be a negative number");
+        }
+        var topMatches = new ArrayList<MatchSummary>(Math.min(k, 1024));
+        var matches = mergedMatches(publishedIndexes());
+        while (topMatches.size() < k && matches.hasNext()) {
+            topMatches.add(matches.next().summary());
+        }
+        return Collections.unmodifiableList(topMatches);
+    }
+
+    private void startMatch(int shardIndex, Match match) {
+        var claim = new LiveMatchClaim(shardIndex, match.homeTeamName(), match.awayTeamName());
+        synchronized (claim) {
+            claimTeam(match.homeTeamName(), claim);
+            try {
+                claimTeam(match.awayTeamName(), claim);
+                shards.get(shardIndex).startMatch(match, nextStartSequence.getAndIncrement());
+            } catch (RuntimeException e) {
+                releaseTeams(claim);
+                throw e;
+            }
+        }
+    }
+
+    private void releaseTeams(LiveMatchClaim claim) {
+        liveMatchClaims.remove(claim.homeTeamName(), claim);
+        liveMatchClaims.remove(claim.awayTeamName(), claim);
+    }
+
+    private void claimTeam(String teamName, LiveMatchClaim claim) {
+        if (liveMatchClaims.putIfAbsent(teamName, claim) != null) {
+            throw new TeamPartOfLiveMatchException(teamName);
+        }
+    }
+
+    private Optional<LiveMatchClaim> findClaim(String homeTeamName, String awayTeamName) {
+        var claim = liveMatchClaims.get(homeTeamName);
+        if (claim == null || !claim.homeTeamName().equals(homeTeamName) || !claim.awayTeamName().equals(awayTeamName)) {
+            return Optional.empty();
+        }
+        return Optional.of(claim);
+    }
+
+    private int shardIndex(String routingKey) {
+        return Math.floorMod(routingKey.hashCode(), shards.size());
+    }
+
+    private List<OrderedIndex<LiveMatch>> publishedIndexes() {
+        var indexes = new ArrayList<OrderedIndex<LiveMatch>>(shards.size());
+        for (var shard : shards) {
+            indexes.add(shard.publishedMatches());
+        }
+        return indexes;
+    }
+
+    private Iterator<LiveMatch> mergedMatches(List<OrderedIndex<LiveMatch>> indexes) {
+        return new MergingIterator(indexes, matchesOrdering);
+    }
+
+    /**
+     * Claim of both teams of a live match. Compared by identity - a failed start must not release the claim of
+     * a concurrent start of the same match.
+     */
+    private static final class LiveMatchClaim {
+        private final int shardIndex;
+        private final String homeTeamName;
+        private final String awayTeamName;
+
+        private LiveMatchClaim(int shardIndex, String homeTeamName, String awayTeamName) {
+            this.shardIndex = shardIndex;
+            this.homeTeamName = homeTeamName;
+            this.awayTeamName = awayTeamName;
+        }
+
+        int shardIndex() {
+            return shardIndex;
+        }
+
+        String homeTeamName() {
+            return homeTeamName;
+        }
+
+        String awayTeamName() {
+            return awayTeamName;
+        }
+    }
+
+    private record MergedSummary(List<OrderedIndex<LiveMatch>> indexes, List<MatchSummary> summaries) {
+        // published indexes are immutable, so the same instances mean the same boards
+        boolean isMergedFrom(List<OrderedIndex<LiveMatch>> otherIndexes) {
+            for (int shard = 0; shard < indexes.size(); shard++) {
+                if (indexes.get(shard) != otherIndexes.get(shard)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Lazy k-way merge - yields the next match of all the shards in {@code O(log shards)}.
+     */
+    private static final class MergingIterator implements Iterator<LiveMatch> {
+        private final PriorityQueue<ShardCursor> cursors;
+
+        private MergingIterator(List<OrderedIndex<LiveMatch>> indexes, Comparator<? super LiveMatch> matchesOrdering) {
+            this.cursors = new PriorityQueue<>(Math.max(1, indexes.size()),
+                    (first, second) -> matchesOrdering.compare(first.head, second.head));
+            for (var index : indexes) {
+                var iterator = index.iterator();
+                if (iterator.hasNext()) {
+                    cursors.add(new ShardCursor(iterator.next(), iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public LiveMatch next() {
+            var cursor = cursors.poll();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            var next = cursor.head;
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                cursors.add(cursor);
+            }
+            return next;
+        }
+
+        private static final class ShardCursor {
+            private LiveMatch head;
+            private final Iterator<LiveMatch> rest;
+
+            private ShardCursor(LiveMatch head, Iterator<LiveMatch> rest) {
+                this.head = head;
+                this.rest = rest;
+            }
+        }
+    }
+}
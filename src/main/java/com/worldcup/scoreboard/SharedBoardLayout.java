@@ -0,0 +1,65 @@
+package com.worldcup.scoreboard;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the file of a shared board - written by the {@link SharedBoardWriter}, read by the
+ * {@link SharedBoardReader}. All the values are little-endian.
+ * <p>
+ * Header of {@value #HEADER_SIZE} bytes:
+ * <pre>
+ *  0 int  magic                 24 long board's version
+ *  4 int  layout's version      32 long publishing time (nanoseconds since the epoch)
+ *  8 int  slot's size           40 int  number of the written slots
+ * 12 int  number of the slots   44 int  number of the live matches (can exceed the slots)
+ * 16 long sequence of the seqlock - odd while the board is being written
+ * </pre>
+ * Followed by a fixed-width slot of every match, in the board's order:
+ * <pre>
+ *   0 short length + {@value #NAME_BYTES} bytes of the home team's name (UTF-8, truncated on a character boundary)
+ *  66 short length + {@value #NAME_BYTES} bytes of the away team's name
+ * 132 int  home team's score     140 int  start time's nanoseconds
+ * 136 int  away team's score     144 long start time's seconds since the epoch
+ * </pre>
+ */
+final class SharedBoardLayout {
+    static final int MAGIC = 0x53484252;
+    static final int LAYOUT_VERSION = 1;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int LAYOUT_VERSION_OFFSET = 4;
+    static final int SLOT_SIZE_OFFSET = 8;
+    static final int CAPACITY_OFFSET = 12;
+    static final int SEQUENCE_OFFSET = 16;
+    static final int VERSION_OFFSET = 24;
+    static final int PUBLISHED_AT_OFFSET = 32;
+    static final int MATCHES_OFFSET = 40;
+    static final int TOTAL_MATCHES_OFFSET = 44;
+    static final int HEADER_SIZE = 64;
+
+    static final int NAME_BYTES = 64;
+    static final int HOME_TEAM_NAME_OFFSET = 0;
+    static final int AWAY_TEAM_NAME_OFFSET = Short.BYTES + NAME_BYTES;
+    static final int HOME_TEAM_SCORE_OFFSET = 2 * (Short.BYTES + NAME_BYTES);
+    static final int AWAY_TEAM_SCORE_OFFSET = HOME_TEAM_SCORE_OFFSET + Integer.BYTES;
+    static final int START_NANOS_OFFSET = AWAY_TEAM_SCORE_OFFSET + Integer.BYTES;
+    static final int START_SECONDS_OFFSET = START_NANOS_OFFSET + Integer.BYTES;
+    static final int SLOT_SIZE = START_SECONDS_OFFSET + Long.BYTES;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    // ordered accesses of the sequence - the slots themselves are read and written with plain accesses in between
+    static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, BYTE_ORDER);
+
+    private SharedBoardLayout() {
+    }
+
+    static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * SLOT_SIZE;
+    }
+
+    static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
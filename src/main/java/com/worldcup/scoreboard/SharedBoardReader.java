@@ -0,0 +1,179 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.worldcup.scoreboard.SharedBoardLayout.*;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads the board that a {@link Scoreboard} shares through a memory-mapped file (see
+ * {@link Scoreboard.Builder#sharedIn(Path, int)}) - meant for other processes on the same host. Reading is just
+ * copying from the shared memory: no system calls, no locks, and the writer never waits for the readers.
+ * <p>
+ * Self-contained, so that it can be shipped on its own - see the {@code sharedBoardReaderJar} task of the build.
+ * Not thread-safe - every reading thread needs a reader of its own.
+ */
+public final class SharedBoardReader implements AutoCloseable {
+    private static final long MAX_WRITING_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final byte[] slots;
+    private final ByteBuffer copy;
+
+    private SharedBoardReader(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.slots = new byte[capacity * SLOT_SIZE];
+        this.copy = ByteBuffer.wrap(slots).order(BYTE_ORDER);
+    }
+
+    /**
+     * @throws IllegalStateException when the file is not a shared board (of this layout)
+     */
+    public static SharedBoardReader open(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, READ);
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalStateException("File " + file + " is not a shared board");
+            }
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(BYTE_ORDER);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IllegalStateException("File " + file + " is not a shared board");
+            }
+            if (header.getInt(LAYOUT_VERSION_OFFSET) != LAYOUT_VERSION || header.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE) {
+                throw new IllegalStateException("Shared board " + file + " is of layout " + header.getInt(LAYOUT_VERSION_OFFSET)
+                        + ", expected " + LAYOUT_VERSION);
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            if (capacity <= 0 || channel.size() < fileSize(capacity)) {
+                throw new IllegalStateException("Shared board " + file + " is truncated");
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize(capacity));
+            buffer.order(BYTE_ORDER);
+            return new SharedBoardReader(channel, buffer, capacity);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Cannot map the shared board " + file, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * @return version of the board - cheap enough to poll, reading the board only once it changes
+     */
+    public long version() {
+        long startTime = System.nanoTime();
+        while (true) {
+            long sequence = awaitWritten(startTime);
+            long version = buffer.getLong(VERSION_OFFSET);
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getVolatile(buffer, SEQUENCE_OFFSET) == sequence) {
+                return version;
+            }
+        }
+    }
+
+    /**
+     * @return the last written board - always a whole version of it, never one that's being written
+     * @throws IllegalStateException when the board has been in the middle of writing for too long, i.e. its
+     *                               writer died meanwhile
+     */
+    public Board read() {
+        long startTime = System.nanoTime();
+        while (true) {
+            long sequence = awaitWritten(startTime);
+            long version = buffer.getLong(VERSION_OFFSET);
+            long publishedAt = buffer.getLong(PUBLISHED_AT_OFFSET);
+            // bounded, as the values read in the middle of writing can be anything
+            int matches = Math.min(Math.max(buffer.getInt(MATCHES_OFFSET), 0), capacity);
+            int totalMatches = buffer.getInt(TOTAL_MATCHES_OFFSET);
+            buffer.get(HEADER_SIZE, slots, 0, matches * SLOT_SIZE);
+            // none of the reads above can be seen after the sequence's check
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getVolatile(buffer, SEQUENCE_OFFSET) == sequence) {
+                return new Board(version, Instant.ofEpochSecond(0, publishedAt), totalMatches, decode(matches));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    private long awaitWritten(long startTime) {
+        while (true) {
+            long sequence = (long) SEQUENCE.getAcquire(buffer, SEQUENCE_OFFSET);
+            if ((sequence & 1) == 0) {
+                return sequence;
+            }
+            if (System.nanoTime() - startTime > MAX_WRITING_NANOS) {
+                throw new IllegalStateException("Shared board is being written for too long - its writer is gone");
+            }
+            Thread.yield();
+        }
+    }
+
+    private List<SharedMatch> decode(int matches) {
+        var sharedMatches = new ArrayList<SharedMatch>(matches);
+        for (int slot = 0; slot < matches; slot++) {
+            int offset = slot * SLOT_SIZE;
+            sharedMatches.add(new SharedMatch(
+                    decodeName(offset + HOME_TEAM_NAME_OFFSET),
+                    decodeName(offset + AWAY_TEAM_NAME_OFFSET),
+                    copy.getInt(offset + HOME_TEAM_SCORE_OFFSET),
+                    copy.getInt(offset + AWAY_TEAM_SCORE_OFFSET),
+                    Instant.ofEpochSecond(copy.getLong(offset + START_SECONDS_OFFSET), copy.getInt(offset + START_NANOS_OFFSET))));
+        }
+        return sharedMatches;
+    }
+
+    private String decodeName(int offset) {
+        return new String(slots, offset + Short.BYTES, copy.getShort(offset), StandardCharsets.UTF_8);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to do about it - the mapping stays valid anyway
+        }
+    }
+
+    /**
+     * @param totalMatches number of the live matches - more than the {@code matches} when the board doesn't fit in
+     *                     the file, and only the top ones are shared
+     */
+    public record Board(long version, Instant publishedAt, int totalMatches, List<SharedMatch> matches) {
+    }
+
+    /**
+     * Match of the shared board - the team names are truncated to 64 bytes of UTF-8.
+     */
+    public record SharedMatch(String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore,
+                              Instant startTime) {
+        public String summary() {
+            return homeTeamName + " " + homeTeamScore + " - " + awayTeamName + " " + awayTeamScore;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.worldcup.scoreboard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static com.worldcup.scoreboard.SharedBoardLayout.*;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Publishes every version of the board into a memory-mapped file, for the {@link SharedBoardReader}s of other
+ * processes on the host - see {@link SharedBoardLayout}.
+ * <p>
+ * A seqlock keeps the readers consistent without any coordination with them: the sequence is odd while the slots
+ * are being written, and a reader retries whenever the sequence has changed while it was copying the board. Only
+ * the slots whose match has changed since the previous version are written - a goal moves a match by a few
+ * positions, rewriting just the slots in between. Matches beyond the file's capacity (the bottom of the board) are
+ * left out.
+ * <p>
+ * Not thread-safe - used by the writers only (under the repository's write lock).
+ */
+final class SharedBoardWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    // the match written in every slot (by identity), null when the slot has to be written
+    private final LiveMatch[] writtenMatches;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer encodedName = ByteBuffer.allocate(NAME_BYTES);
+
+    private SharedBoardWriter(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.writtenMatches = new LiveMatch[capacity];
+    }
+
+    /**
+     * Maps the file, keeping the sequence of a file of the same layout - so the readers that have mapped it before
+     * (i.e. of a previous run of the service) carry on.
+     */
+    static SharedBoardWriter open(Path file, int capacity) {
+        try {
+            var channel = FileChannel.open(file, CREATE, READ, WRITE);
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            buffer.order(BYTE_ORDER);
+            boolean sameLayout = buffer.getInt(MAGIC_OFFSET) == MAGIC
+                    && buffer.getInt(LAYOUT_VERSION_OFFSET) == LAYOUT_VERSION
+                    && buffer.getInt(SLOT_SIZE_OFFSET) == SLOT_SIZE
+                    && buffer.getInt(CAPACITY_OFFSET) == capacity;
+            long sequence = sameLayout ? (long) SEQUENCE.getVolatile(buffer, SEQUENCE_OFFSET) : 0;
+            // even, in case the previous writer died in the middle of a version
+            SEQUENCE.setVolatile(buffer, SEQUENCE_OFFSET, sequence + 1 & ~1L);
+            buffer.putInt(LAYOUT_VERSION_OFFSET, LAYOUT_VERSION);
+            buffer.putInt(SLOT_SIZE_OFFSET, SLOT_SIZE);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            // the magic comes last - a reader accepts the file once the rest of the header is there
+            VarHandle.storeStoreFence();
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            return new SharedBoardWriter(channel, buffer, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the shared board " + file, e);
+        }
+    }
+
+    void write(long version, Instant publishedAt, OrderedIndex<LiveMatch> board) {
+        long sequence = (long) SEQUENCE.get(buffer, SEQUENCE_OFFSET) + 1;
+        SEQUENCE.setVolatile(buffer, SEQUENCE_OFFSET, sequence);
+        // none of the writes below can be seen before the odd sequence
+        VarHandle.storeStoreFence();
+        int slot = 0;
+        for (var liveMatch : board) {
+            if (slot == capacity) {
+                break;
+            }
+            if (writtenMatches[slot] != liveMatch) {
+                writeSlot(slot, liveMatch);
+                writtenMatches[slot] = liveMatch;
+            }
+            slot++;
+        }
+        for (int emptySlot = slot; emptySlot < capacity && writtenMatches[emptySlot] != null; emptySlot++) {
+            writtenMatches[emptySlot] = null;
+        }
+        buffer.putLong(VERSION_OFFSET, version);
+        buffer.putLong(PUBLISHED_AT_OFFSET, publishedAt.getEpochSecond() * 1_000_000_000L + publishedAt.getNano());
+        buffer.putInt(MATCHES_OFFSET, slot);
+        buffer.putInt(TOTAL_MATCHES_OFFSET, board.size());
+        SEQUENCE.setRelease(buffer, SEQUENCE_OFFSET, sequence + 1);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the shared board", e);
+        }
+    }
+
+    private void writeSlot(int slot, ScoredMatch match) {
+        int offset = slotOffset(slot);
+        writeName(offset + HOME_TEAM_NAME_OFFSET, match.homeTeamName());
+        writeName(offset + AWAY_TEAM_NAME_OFFSET, match.awayTeamName());
+        buffer.putInt(offset + HOME_TEAM_SCORE_OFFSET, match.homeTeamScore());
+        buffer.putInt(offset + AWAY_TEAM_SCORE_OFFSET, match.awayTeamScore());
+        buffer.putInt(offset + START_NANOS_OFFSET, (int) Math.floorMod(match.startEpochNanos(), ScoredMatch.NANOS_PER_SECOND));
+        buffer.putLong(offset + START_SECONDS_OFFSET, Math.floorDiv(match.startEpochNanos(), ScoredMatch.NANOS_PER_SECOND));
+    }
+
+    // a longer name is cut at the last whole character that fits
+    private void writeName(int offset, String name) {
+        encodedName.clear();
+        encoder.reset().encode(CharBuffer.wrap(name), encodedName, true);
+        buffer.putShort(offset, (short) encodedName.position());
+        buffer.put(offset + Short.BYTES, encodedName.array(), 0, encodedName.position());
+    }
+}
@@ -0,0 +1,209 @@
+package com.worldcup.scoreboard;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable, persistent radix tree of team names, each mapped to a {@code long} (the key of the team's live match).
+ * <p>
+ * Every modification copies only the path of the name - at most one node per character, in practice a couple of
+ * them, as the chains of single children are merged into one node. So a put or remove costs {@code O(name length)}
+ * and any version can be safely read by many threads while a newer one is being built.
+ */
+final class TeamNameTrie {
+    static final long NO_VALUE = -1;
+
+    private static final Node[] NO_CHILDREN = {};
+    private static final TeamNameTrie EMPTY = new TeamNameTrie(new Node("", NO_VALUE, NO_CHILDREN), 0);
+
+    private final Node root;
+    private final int size;
+
+    private TeamNameTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static TeamNameTrie empty() {
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param value non-negative value of the name, replacing the current one
+     */
+    TeamNameTrie put(String teamName, long value) {
+        boolean added = get(teamName) == NO_VALUE;
+        return new TeamNameTrie(put(root, teamName, 0, value), added ? size + 1 : size);
+    }
+
+    TeamNameTrie remove(String teamName) {
+        var newRoot = remove(root, teamName, 0);
+        return newRoot == root ? this : new TeamNameTrie(newRoot, size - 1);
+    }
+
+    /**
+     * Removes the name only while it still maps to the value - i.e. not when it has been put again for a new match.
+     */
+    TeamNameTrie remove(String teamName, long value) {
+        return get(teamName) == value ? remove(teamName) : this;
+    }
+
+    /**
+     * @return value of the name or {@link #NO_VALUE}
+     */
+    long get(String teamName) {
+        var node = root;
+        int from = 0;
+        while (from < teamName.length()) {
+            int child = childIndex(node, teamName.charAt(from));
+            if (child < 0 || !teamName.startsWith(node.children[child].label, from)) {
+                return NO_VALUE;
+            }
+            node = node.children[child];
+            from += node.label.length();
+        }
+        return node.value;
+    }
+
+    /**
+     * Passes the values of all the names starting with the prefix, ignoring the case, to the action - in
+     * {@code O(prefix length + number of the names)}.
+     */
+    void forEachWithPrefix(String prefix, LongConsumer action) {
+        forEachWithPrefix(root, prefix, 0, action);
+    }
+
+    private static void forEachWithPrefix(Node node, String prefix, int from, LongConsumer action) {
+        if (from == prefix.length()) {
+            forEach(node, action);
+            return;
+        }
+        // the children are ordered by the exact character - either case of it can be anywhere
+        for (var child : node.children) {
+            int length = Math.min(child.label.length(), prefix.length() - from);
+            if (child.label.regionMatches(true, 0, prefix, from, length)) {
+                forEachWithPrefix(child, prefix, from + length, action);
+            }
+        }
+    }
+
+    private static void forEach(Node node, LongConsumer action) {
+        if (node.value != NO_VALUE) {
+            action.accept(node.value);
+        }
+        for (var child : node.children) {
+            forEach(child, action);
+        }
+    }
+
+    // the node's label is the part of the name up to from
+    private static Node put(Node node, String teamName, int from, long value) {
+        if (from == teamName.length()) {
+            return new Node(node.label, value, node.children);
+        }
+        int child = childIndex(node, teamName.charAt(from));
+        if (child < 0) {
+            return node.withChildInserted(-child - 1, new Node(teamName.substring(from), value, NO_CHILDREN));
+        }
+        var childNode = node.children[child];
+        int common = commonPrefixLength(childNode.label, teamName, from);
+        if (common == childNode.label.length()) {
+            return node.withChild(child, put(childNode, teamName, from + common, value));
+        }
+        // the name diverges in the middle of the child's label - the label gets split
+        var split = new Node(childNode.label.substring(0, common), NO_VALUE,
+                new Node[]{new Node(childNode.label.substring(common), childNode.value, childNode.children)});
+        return node.withChild(child, put(split, teamName, from + common, value));
+    }
+
+    private static Node remove(Node node, String teamName, int from) {
+        if (from == teamName.length()) {
+            return node.value == NO_VALUE ? node : new Node(node.label, NO_VALUE, node.children);
+        }
+        int child = childIndex(node, teamName.charAt(from));
+        if (child < 0 || !teamName.startsWith(node.children[child].label, from)) {
+            return node;
+        }
+        var childNode = node.children[child];
+        var newChild = remove(childNode, teamName, from + childNode.label.length());
+        if (newChild == childNode) {
+            return node;
+        }
+        if (newChild.value == NO_VALUE && newChild.children.length == 0) {
+            return node.withChildRemoved(child);
+        }
+        if (newChild.value == NO_VALUE && newChild.children.length == 1) {
+            // a node without a value of its own is just a part of its only child's label
+            var grandchild = newChild.children[0];
+            newChild = new Node(newChild.label + grandchild.label, grandchild.value, grandchild.children);
+        }
+        return node.withChild(child, newChild);
+    }
+
+    private static int childIndex(Node node, char firstCharacter) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleCharacter = node.children[middle].label.charAt(0);
+            if (middleCharacter < firstCharacter) {
+                low = middle + 1;
+            } else if (middleCharacter > firstCharacter) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int commonPrefixLength(String label, String teamName, int from) {
+        int length = Math.min(label.length(), teamName.length() - from);
+        int common = 0;
+        while (common < length && label.charAt(common) == teamName.charAt(from + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        // part of the names between the parent and this node, empty only for the root
+        private final String label;
+        private final long value;
+        // ordered by the first character of their labels, all distinct
+        private final Node[] children;
+
+        private Node(String label, long value, Node[] children) {
+            this.label = label;
+            this.value = value;
+            this.children = children;
+        }
+
+        Node withChild(int index, Node child) {
+            var newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(label, value, newChildren);
+        }
+
+        Node withChildInserted(int index, Node child) {
+            var newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new Node(label, value, newChildren);
+        }
+
+        Node withChildRemoved(int index) {
+            if (children.length == 1) {
+                return new Node(label, value, NO_CHILDREN);
+            }
+            var newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            return new Node(label, value, newChildren);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns stripped team names into dense {@code int} ids (0, 1, 2, ...).
+ * <p>
+ * Ids are never released - the number of teams known to a scoreboard is small and bounded, while a stable id lets
+ * the callers resolve a name once and reuse the id afterward. Lookups are lock-free, registrations are serialized.
+ */
+final class TeamRegistry {
+    static final int UNKNOWN_TEAM_ID = -1;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private volatile String[] namesById = new String[64];
+    private int registeredTeams;
+
+    /**
+     * @param teamName already stripped team name
+     */
+    int register(String teamName) {
+        var id = idsByName.get(teamName);
+        return id != null ? id : registerNew(teamName);
+    }
+
+    /**
+     * @return id of the team or {@link #UNKNOWN_TEAM_ID} if the team was never registered
+     */
+    int idOf(String teamName) {
+        var id = idsByName.get(teamName.strip());
+        return id != null ? id : UNKNOWN_TEAM_ID;
+    }
+
+    String nameOf(int teamId) {
+        var names = namesById;
+        if (teamId < 0 || teamId >= names.length || names[teamId] == null) {
+            throw new DomainValidationException("Unknown team id: " + teamId);
+        }
+        return names[teamId];
+    }
+
+    private synchronized int registerNew(String teamName) {
+        var id = idsByName.get(teamName);
+        if (id != null) {
+            return id;
+        }
+        int newId = registeredTeams++;
+        var names = namesById;
+        if (newId == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        // the name has to be readable before the id is handed out to other threads
+        names[newId] = teamName;
+        namesById = names;
+        idsByName.put(teamName, newId);
+        return newId;
+    }
+}
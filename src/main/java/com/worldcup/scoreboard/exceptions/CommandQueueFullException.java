@@ -0,0 +1,9 @@
+package com.worldcup.scoreboard.exceptions;
+
+public class CommandQueueFullException extends RuntimeException {
+    private static final String ERROR_FORMAT_TEMPLATE = "Queue of %d commands is full";
+
+    public CommandQueueFullException(int capacity) {
+        super(ERROR_FORMAT_TEMPLATE.formatted(capacity));
+    }
+}
@@ -0,0 +1,87 @@
+package com.worldcup.scoreboard.http;
+
+import com.worldcup.scoreboard.MatchScore;
+import com.worldcup.scoreboard.MatchSummary;
+import com.worldcup.scoreboard.ScoreboardEvent;
+import com.worldcup.scoreboard.ScoreboardEvent.MatchFinished;
+import com.worldcup.scoreboard.ScoreboardEvent.MatchStarted;
+import com.worldcup.scoreboard.ScoreboardEvent.RankChanged;
+import com.worldcup.scoreboard.ScoreboardEvent.ScoreChanged;
+
+import java.util.List;
+
+/**
+ * Hand-written JSON of the few shapes the server returns - not worth a dependency.
+ */
+final class Json {
+    private Json() {
+    }
+
+    static String board(long version, List<MatchSummary> matchesSummary) {
+        var json = new StringBuilder(32 + matchesSummary.size() * 32)
+                .append("{\"version\":").append(version)
+                .append(",\"matches\":[");
+        for (int i = 0; i < matchesSummary.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            quote(json, matchesSummary.get(i).summary());
+        }
+        return json.append("]}").toString();
+    }
+
+    static String error(String message) {
+        var json = new StringBuilder("{\"error\":");
+        quote(json, message);
+        return json.append('}').toString();
+    }
+
+    static String event(ScoreboardEvent event) {
+        var json = new StringBuilder(128)
+                .append("{\"version\":").append(event.version())
+                .append(",\"sequence\":").append(event.sequence())
+                .append(",\"homeTeamName\":");
+        quote(json, event.homeTeamName());
+        json.append(",\"awayTeamName\":");
+        quote(json, event.awayTeamName());
+        if (event instanceof MatchStarted matchStarted) {
+            appendScore(json, matchStarted.matchScore());
+            json.append(",\"rank\":").append(matchStarted.rank());
+        } else if (event instanceof ScoreChanged scoreChanged) {
+            appendScore(json, scoreChanged.matchScore());
+        } else if (event instanceof RankChanged rankChanged) {
+            json.append(",\"previousRank\":").append(rankChanged.previousRank())
+                    .append(",\"rank\":").append(rankChanged.rank());
+        } else if (event instanceof MatchFinished matchFinished) {
+            json.append(",\"lastRank\":").append(matchFinished.lastRank());
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendScore(StringBuilder json, MatchScore matchScore) {
+        json.append(",\"homeTeamScore\":").append(matchScore.homeTeamScore())
+                .append(",\"awayTeamScore\":").append(matchScore.awayTeamScore());
+    }
+
+    private static void quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        json.append("\\u%04x".formatted((int) character));
+                    } else {
+                        json.append(character);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,230 @@
+package com.worldcup.scoreboard.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.worldcup.scoreboard.BoardSnapshot;
+import com.worldcup.scoreboard.Scoreboard;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only HTTP front of a {@link Scoreboard}, built on the JDK's {@code com.sun.net.httpserver} - no external
+ * dependencies.
+ * <ul>
+ *     <li>{@code GET /matches} - the board as JSON, {@code ?offset=&limit=} for a page of it</li>
+ *     <li>{@code GET /matches/top?k=} - the first {@code k} matches</li>
+ *     <li>{@code GET /matches/search?team=} - the matches of the teams whose names start with the given prefix</li>
+ *     <li>{@code GET /events} - Server-Sent Events: a {@code snapshot} of the board first and then every
+ *     {@link com.worldcup.scoreboard.ScoreboardEvent}. A client ignores the events with a version not greater than
+ *     the last snapshot's one.</li>
+ * </ul>
+ * Every request is served on its own virtual thread when the runtime has them (JDK 21+), otherwise on a cached
+ * pool of platform threads - an open event stream holds its thread for the whole connection.
+ */
+public final class ScoreboardHttpServer implements AutoCloseable {
+    private static final int CONNECTION_QUEUE_CAPACITY = 1024;
+    // event streams tend to connect all at once, i.e. after a restart
+    private static final int ACCEPT_BACKLOG = 4096;
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Scoreboard scoreboard;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SseBroadcaster broadcaster;
+    private volatile BoardJson boardJson = new BoardJson(-1, null);
+
+    private ScoreboardHttpServer(Scoreboard scoreboard, HttpServer server, ExecutorService executor) {
+        this.scoreboard = scoreboard;
+        this.server = server;
+        this.executor = executor;
+        this.broadcaster = new SseBroadcaster(scoreboard, CONNECTION_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param address address to listen on, port {@code 0} picks any free one
+     */
+    public static ScoreboardHttpServer start(Scoreboard scoreboard, InetSocketAddress address) {
+        if (scoreboard == null || address == null) {
+            throw new DomainValidationException("Scoreboard and address cannot be null");
+        }
+        try {
+            var executor = newRequestExecutor();
+            var server = HttpServer.create(address, ACCEPT_BACKLOG);
+            var httpServer = new ScoreboardHttpServer(scoreboard, server, executor);
+            server.createContext("/matches", httpServer::handleMatches);
+            server.createContext("/events", httpServer::handleEvents);
+            server.setExecutor(executor);
+            scoreboard.changeFeed().subscribe(httpServer.broadcaster);
+            server.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start the server on " + address, e);
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return number of clients connected to the event stream
+     */
+    public int numberOfEventStreams() {
+        return broadcaster.numberOfConnections();
+    }
+
+    @Override
+    public void close() {
+        broadcaster.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleMatches(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, Json.error("Only GET is supported"));
+                return;
+            }
+            try {
+                var path = exchange.getRequestURI().getPath();
+                var parameters = queryParameters(exchange);
+                if ("/matches".equals(path) && parameters.isEmpty()) {
+                    sendJson(exchange, 200, currentBoardJson().json());
+                } else if ("/matches".equals(path)) {
+                    // the page and its version from a single version of the board
+                    var board = scoreboard.read();
+                    var page = board.getMatchesSummary(intParameter(parameters, "offset", 0), intParameter(parameters, "limit", Integer.MAX_VALUE));
+                    sendJson(exchange, 200, Json.board(board.version(), page));
+                } else if ("/matches/top".equals(path)) {
+                    var board = scoreboard.read();
+                    var topMatches = board.getTopMatches(intParameter(parameters, "k", -1));
+                    sendJson(exchange, 200, Json.board(board.version(), topMatches));
+                } else if ("/matches/search".equals(path)) {
+                    var board = scoreboard.read();
+                    sendJson(exchange, 200, Json.board(board.version(), board.searchByTeamName(parameters.get("team"))));
+                } else {
+                    sendJson(exchange, 404, Json.error("Not found"));
+                }
+            } catch (DomainValidationException e) {
+                sendJson(exchange, 400, Json.error(e.getMessage()));
+            }
+        }
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        var connection = broadcaster.connect();
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            var body = exchange.getResponseBody();
+            // connected before taking the snapshot - no change can fall in between
+            var snapshot = currentBoardJson();
+            body.write(SseBroadcaster.snapshotFrame(snapshot.version(), snapshot.json()).bytes());
+            body.flush();
+            long snapshotVersion = snapshot.version();
+            while (!connection.isClosed()) {
+                var frame = connection.poll(HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                if (frame == null) {
+                    // detects the clients that are gone
+                    body.write(HEARTBEAT);
+                }
+                // everything queued meanwhile goes out with a single flush
+                for (; frame != null && !connection.isClosed(); frame = connection.poll()) {
+                    if (frame.isSnapshot() || frame.version() > snapshotVersion) {
+                        body.write(frame.bytes());
+                        snapshotVersion = frame.isSnapshot() ? frame.version() : snapshotVersion;
+                    }
+                }
+                body.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException clientIsGone) {
+            // nothing to clean up besides the connection
+        } finally {
+            broadcaster.disconnect(connection);
+        }
+    }
+
+    // encoded at most once per version of the board
+    private BoardJson currentBoardJson() {
+        var snapshot = scoreboard.getSnapshot();
+        var cached = boardJson;
+        if (cached.version() == snapshot.version()) {
+            return cached;
+        }
+        var encoded = new BoardJson(snapshot.version(), encode(snapshot));
+        boardJson = encoded;
+        return encoded;
+    }
+
+    private static String encode(BoardSnapshot snapshot) {
+        return Json.board(snapshot.version(), snapshot.matchesSummary());
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        var query = exchange.getRequestURI().getRawQuery();
+        var parameters = new HashMap<String, String>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (var parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            var name = separator < 0 ? parameter : parameter.substring(0, separator);
+            var value = separator < 0 ? "" : parameter.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name, int defaultValue) {
+        var value = parameters.get(name);
+        if (value == null) {
+            if (defaultValue < 0) {
+                throw new DomainValidationException("Parameter '" + name + "' is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new DomainValidationException("Parameter '" + name + "' has to be a number");
+        }
+    }
+
+    private static ExecutorService newRequestExecutor() {
+        try {
+            // JDK 21+, looked up reflectively so that the library still runs on JDK 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                var thread = new Thread(runnable, "scoreboard-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private record BoardJson(long version, String json) {
+    }
+}
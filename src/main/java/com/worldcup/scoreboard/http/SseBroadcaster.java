@@ -0,0 +1,148 @@
+package com.worldcup.scoreboard.http;
+
+import com.worldcup.scoreboard.Scoreboard;
+import com.worldcup.scoreboard.ScoreboardEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The only subscriber of the scoreboard's change feed - every event is encoded once and handed over to all the
+ * connected clients' queues, so the number of clients doesn't affect the feed itself.
+ */
+final class SseBroadcaster implements Flow.Subscriber<ScoreboardEvent> {
+    private final Scoreboard scoreboard;
+    private final int connectionQueueCapacity;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile Flow.Subscription subscription;
+    private long lastSequence = -1;
+
+    SseBroadcaster(Scoreboard scoreboard, int connectionQueueCapacity) {
+        this.scoreboard = scoreboard;
+        this.connectionQueueCapacity = connectionQueueCapacity;
+    }
+
+    Connection connect() {
+        var connection = new Connection(connectionQueueCapacity);
+        connections.add(connection);
+        return connection;
+    }
+
+    void disconnect(Connection connection) {
+        connections.remove(connection);
+    }
+
+    int numberOfConnections() {
+        return connections.size();
+    }
+
+    void close() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        connections.removeIf(connection -> {
+            connection.close();
+            return true;
+        });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ScoreboardEvent event) {
+        if (lastSequence >= 0 && event.sequence() != lastSequence + 1) {
+            // the feed dropped some events - clients resync from a snapshot instead
+            var snapshot = scoreboard.getSnapshot();
+            broadcast(snapshotFrame(snapshot.version(), Json.board(snapshot.version(), snapshot.matchesSummary())));
+        } else {
+            broadcast(eventFrame(event));
+        }
+        lastSequence = event.sequence();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        connections.forEach(Connection::close);
+    }
+
+    @Override
+    public void onComplete() {
+        connections.forEach(Connection::close);
+    }
+
+    private void broadcast(Frame frame) {
+        for (var connection : connections) {
+            connection.offer(frame);
+        }
+    }
+
+    static Frame snapshotFrame(long version, String boardJson) {
+        return new Frame(version, true, encode("snapshot", version, boardJson));
+    }
+
+    private static Frame eventFrame(ScoreboardEvent event) {
+        return new Frame(event.version(), false, encode(event.getClass().getSimpleName(), event.version(), Json.event(event)));
+    }
+
+    private static byte[] encode(String eventName, long version, String data) {
+        return ("event: " + eventName + "\nid: " + version + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    record Frame(long version, boolean isSnapshot, byte[] bytes) {
+    }
+
+    /**
+     * Frames waiting to be written to a single client. A client that doesn't keep up overflows its bounded queue
+     * and gets disconnected - it reconnects and starts over from a snapshot.
+     */
+    static final class Connection {
+        // wakes up the connection's writer once the connection is closed
+        private static final Frame WAKE_UP = new Frame(Long.MAX_VALUE, false, new byte[0]);
+
+        private final BlockingQueue<Frame> frames;
+        private volatile boolean closed;
+
+        private Connection(int capacity) {
+            this.frames = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * @return the next frame, {@code null} when there was none within the timeout
+         */
+        Frame poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return frames.poll(timeout, unit);
+        }
+
+        /**
+         * @return the next frame, {@code null} when there is none
+         */
+        Frame poll() {
+            return frames.poll();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        private void offer(Frame frame) {
+            if (!frames.offer(frame)) {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            frames.clear();
+            frames.offer(WAKE_UP);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.CommandQueueFullException;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import com.worldcup.scoreboard.exceptions.MatchNotFoundException;
+import com.worldcup.scoreboard.exceptions.TeamPartOfLiveMatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncScoreboardTest {
+    private final BlockingClock clock = new BlockingClock();
+    private Scoreboard scoreboard;
+    private AsyncScoreboard asyncScoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = Scoreboard.builder().clock(clock).build();
+        asyncScoreboard = AsyncScoreboard.start(scoreboard, 1_024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncScoreboard.close();
+        scoreboard.close();
+    }
+
+    @Test
+    void shouldApplyCommandsInOrderOfEnqueuing() throws Exception {
+        asyncScoreboard.startMatch("Mexico", "Canada");
+        asyncScoreboard.updateMatch("Mexico", "Canada", 0, 5);
+        asyncScoreboard.startMatch("Spain", "Brazil");
+        asyncScoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2)).get(5, TimeUnit.SECONDS);
+
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Spain 10 - Brazil 2", "Mexico 0 - Canada 5");
+    }
+
+    @Test
+    void shouldFailOnlyFutureOfRejectedCommand() {
+        var started = asyncScoreboard.startMatch("Mexico", "Canada");
+        var rejected = asyncScoreboard.startMatch("Mexico", "Spain");
+        var notFound = asyncScoreboard.finishMatch("Spain", "Brazil");
+        var updated = asyncScoreboard.updateMatch("Mexico", "Canada", 1, 0);
+
+        assertThat(updated).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(started).isCompleted();
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TeamPartOfLiveMatchException.class);
+        assertThat(notFound).isCompletedWithValue(null);
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Mexico 1 - Canada 0");
+    }
+
+    @Test
+    void shouldFailFutureOfInvalidCommand() {
+        assertThatThrownBy(() -> asyncScoreboard.updateMatch("Mexico", "Canada", -1, 0).get())
+                .hasCauseInstanceOf(DomainValidationException.class);
+        assertThatThrownBy(() -> asyncScoreboard.startMatch(null, "Canada").get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DomainValidationException.class);
+        assertThatThrownBy(() -> asyncScoreboard.updateMatch("Mexico", "Canada", 1, 0).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(MatchNotFoundException.class);
+    }
+
+    @Test
+    void shouldPublishSingleVersionPerBatch() throws Exception {
+        long version = scoreboard.read().version();
+        clock.blockNextReading();
+        asyncScoreboard.startMatch("Mexico", "Canada");
+        clock.awaitBlocked();
+
+        CompletableFuture<Void> lastUpdate = null;
+        for (int goals = 1; goals <= 10; goals++) {
+            lastUpdate = asyncScoreboard.updateMatch("Mexico", "Canada", goals, 0);
+        }
+        clock.release();
+        lastUpdate.get(5, TimeUnit.SECONDS);
+
+        // one version for the start, one for all the updates enqueued meanwhile
+        assertThat(scoreboard.read().version()).isEqualTo(version + 2);
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Mexico 10 - Canada 0");
+    }
+
+    @Test
+    void shouldRejectCommandWhenQueueIsFull() throws Exception {
+        try (var smallQueue = AsyncScoreboard.start(scoreboard, 2)) {
+            clock.blockNextReading();
+            smallQueue.startMatch("Mexico", "Canada");
+            clock.awaitBlocked();
+
+            var accepted = CompletableFuture.allOf(
+                    smallQueue.updateMatch("Mexico", "Canada", 1, 0),
+                    smallQueue.updateMatch("Mexico", "Canada", 2, 0));
+            var rejected = smallQueue.updateMatch("Mexico", "Canada", 3, 0);
+            clock.release();
+
+            assertThatThrownBy(rejected::get)
+                    .hasCauseInstanceOf(CommandQueueFullException.class);
+            assertThat(accepted).succeedsWithin(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void shouldApplyEnqueuedCommandsBeforeClosing() {
+        var updates = new ArrayList<CompletableFuture<Void>>();
+        asyncScoreboard.startMatch("Mexico", "Canada");
+        for (int goals = 1; goals <= 100; goals++) {
+            updates.add(asyncScoreboard.updateMatch("Mexico", "Canada", goals, 0));
+        }
+
+        asyncScoreboard.close();
+
+        assertThat(updates).allMatch(update -> update.isDone() && !update.isCompletedExceptionally());
+        assertThatThrownBy(() -> asyncScoreboard.finishMatch("Mexico", "Canada").get())
+                .hasCauseInstanceOf(DomainValidationException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCapacityIsNotPositive() {
+        assertThatThrownBy(() -> AsyncScoreboard.start(scoreboard, 0))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    /**
+     * Blocks the writer thread the next time it reads the clock (i.e. to start a match), so the commands pile up.
+     */
+    private static final class BlockingClock extends Clock {
+        private final AtomicBoolean blockNextReading = new AtomicBoolean();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void blockNextReading() {
+            blockNextReading.set(true);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public Instant instant() {
+            if (blockNextReading.compareAndSet(true, false)) {
+                blocked.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Instant.now();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
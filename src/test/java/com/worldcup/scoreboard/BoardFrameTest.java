@@ -0,0 +1,168 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardFrameTest {
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = Scoreboard.defaultInstance();
+        scoreboard.startMatch("Mexico", "Canada");
+        scoreboard.startMatch("Spain", "Brazil");
+        scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+    }
+
+    @Test
+    void shouldEncodeBoardInOrder() throws IOException {
+        var frame = scoreboard.getBoardFrame();
+
+        assertThat(frame.isDelta()).isFalse();
+        assertThat(frame.version()).isEqualTo(3);
+        assertThat(decodeFullFrame(frame.buffer())).containsExactly("Spain 10 - Brazil 2", "Mexico 0 - Canada 0");
+    }
+
+    @Test
+    void shouldShareFrameOfSameVersion() {
+        var frame = scoreboard.getBoardFrame();
+
+        assertThat(scoreboard.getBoardFrame()).isSameAs(frame);
+        assertThat(frame.buffer().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void shouldGiveEverySenderItsOwnPosition() {
+        var frame = scoreboard.getBoardFrame();
+        var firstSenderBuffer = frame.buffer();
+
+        firstSenderBuffer.position(firstSenderBuffer.limit());
+
+        assertThat(frame.buffer().position()).isZero();
+    }
+
+    @Test
+    void shouldEncodeDeltaSinceBaseFrame() throws IOException {
+        var baseFrame = scoreboard.getBoardFrame();
+        scoreboard.finishMatch("Spain", "Brazil");
+        scoreboard.startMatch("Germany", "France");
+        scoreboard.updateMatch("Germany", "France", new MatchScore(2, 2));
+
+        var deltaFrame = scoreboard.getDeltaFrame(baseFrame);
+
+        assertThat(deltaFrame.isDelta()).isTrue();
+        assertThat(deltaFrame.version()).isEqualTo(6);
+        assertThat(applyDeltaFrame(decodeFullFrame(baseFrame.buffer()), deltaFrame.buffer()))
+                .containsExactly("Germany 2 - France 2", "Mexico 0 - Canada 0");
+    }
+
+    @Test
+    void shouldShareDeltaFrameSinceSameVersion() {
+        var baseFrame = scoreboard.getBoardFrame();
+        scoreboard.updateMatch("Mexico", "Canada", new MatchScore(1, 0));
+
+        assertThat(scoreboard.getDeltaFrame(baseFrame)).isSameAs(scoreboard.getDeltaFrame(baseFrame));
+    }
+
+    @Test
+    void shouldFollowBoardWithChainOfDeltaFrames() throws IOException {
+        var random = new Random(42);
+        var frame = scoreboard.getBoardFrame();
+        var clientBoard = decodeFullFrame(frame.buffer());
+
+        for (int round = 0; round < 100; round++) {
+            var homeTeamName = "team-" + random.nextInt(10);
+            var awayTeamName = "team-" + random.nextInt(10);
+            try {
+                switch (random.nextInt(3)) {
+                    case 0 -> scoreboard.startMatch(homeTeamName, awayTeamName);
+                    case 1 -> scoreboard.updateMatch(homeTeamName, awayTeamName, random.nextInt(5), random.nextInt(5));
+                    default -> scoreboard.finishMatch(homeTeamName, awayTeamName);
+                }
+            } catch (RuntimeException ignored) {
+                // not every random command is valid
+            }
+            frame = scoreboard.getDeltaFrame(frame);
+            clientBoard = applyDeltaFrame(clientBoard, frame.buffer());
+
+            assertThat(clientBoard).isEqualTo(scoreboard.getMatchesSummary().stream().map(MatchSummary::summary).toList());
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBaseFrameIsNull() {
+        assertThatThrownBy(() -> scoreboard.getDeltaFrame(null))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    private static List<String> decodeFullFrame(ByteBuffer frame) throws IOException {
+        var input = inputOf(frame);
+        assertThat(input.readByte()).isEqualTo(BoardFrame.FULL_FRAME);
+        input.readLong();
+        int numberOfMatches = input.readInt();
+        var board = new ArrayList<String>();
+        for (int i = 0; i < numberOfMatches; i++) {
+            board.add(readMatch(input));
+        }
+        return board;
+    }
+
+    private static List<String> applyDeltaFrame(List<String> board, ByteBuffer frame) throws IOException {
+        var input = inputOf(frame);
+        assertThat(input.readByte()).isEqualTo(BoardFrame.DELTA_FRAME);
+        input.readLong();
+        input.readLong();
+        int numberOfMatches = input.readInt();
+        var teamsToRemove = new HashSet<String>();
+        int removedMatches = input.readInt();
+        for (int i = 0; i < removedMatches; i++) {
+            teamsToRemove.add(input.readUTF() + " vs " + input.readUTF());
+        }
+        int placedMatches = input.readInt();
+        var positions = new int[placedMatches];
+        var matches = new String[placedMatches];
+        for (int i = 0; i < placedMatches; i++) {
+            positions[i] = input.readInt();
+            matches[i] = readMatch(input);
+            teamsToRemove.add(teamsOf(matches[i]));
+        }
+        var updatedBoard = new ArrayList<String>(board);
+        updatedBoard.removeIf(match -> teamsToRemove.contains(teamsOf(match)));
+        for (int i = 0; i < placedMatches; i++) {
+            updatedBoard.add(positions[i], matches[i]);
+        }
+        assertThat(updatedBoard).hasSize(numberOfMatches);
+        return updatedBoard;
+    }
+
+    private static String readMatch(DataInputStream input) throws IOException {
+        var homeTeamName = input.readUTF();
+        var awayTeamName = input.readUTF();
+        return homeTeamName + " " + input.readInt() + " - " + awayTeamName + " " + input.readInt();
+    }
+
+    // team names in the tests have no spaces
+    private static String teamsOf(String summary) {
+        var tokens = summary.split(" ");
+        return tokens[0] + " vs " + tokens[3];
+    }
+
+    private static DataInputStream inputOf(ByteBuffer frame) {
+        var bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,186 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.ScoreboardEvent.MatchFinished;
+import com.worldcup.scoreboard.ScoreboardEvent.MatchStarted;
+import com.worldcup.scoreboard.ScoreboardEvent.RankChanged;
+import com.worldcup.scoreboard.ScoreboardEvent.ScoreChanged;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestScoringMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.teamNamesAlphabetically;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+    private static final long KEY_A = 1;
+    private static final long KEY_B = 2;
+
+    private final OrderedIndex<LiveMatch> emptyIndex =
+            OrderedIndex.empty(highestScoringMatchesFirst().thenComparing(teamNamesAlphabetically()));
+    private final LongHashMap<LiveMatch> liveMatches = new LongHashMap<>();
+    private final List<ScoreboardEvent> events = new ArrayList<>();
+    private final LiveMatch matchA = new RenderedMatch(new Match("team A", "team B", Instant.ofEpochSecond(1)), 1);
+    private final LiveMatch matchB = new RenderedMatch(new Match("team C", "team D", Instant.ofEpochSecond(2)), 2);
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new ChangeFeed(Runnable::run, 16);
+        changeFeed.publisher().subscribe(new CollectingSubscriber(Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldEmitStartedMatchWithItsRank() {
+        var index = emptyIndex.insert(matchA).insert(matchB);
+        liveMatches.put(KEY_A, matchA);
+        liveMatches.put(KEY_B, matchB);
+        changeFeed.recordChange(KEY_B, null);
+
+        changeFeed.emitChanges(1, emptyIndex.insert(matchA), index, liveMatches);
+
+        assertThat(events).containsExactly(new MatchStarted(1, 1, "team C", "team D", new MatchScore(0, 0), 2));
+    }
+
+    @Test
+    void shouldEmitScoreAndRankChange() {
+        var previousIndex = emptyIndex.insert(matchA).insert(matchB);
+        var updatedMatchB = matchB.update(new MatchScore(1, 0));
+        liveMatches.put(KEY_A, matchA);
+        liveMatches.put(KEY_B, updatedMatchB);
+        changeFeed.recordChange(KEY_B, matchB);
+
+        changeFeed.emitChanges(2, previousIndex, previousIndex.remove(matchB).insert(updatedMatchB), liveMatches);
+
+        assertThat(events).containsExactly(
+                new ScoreChanged(2, 1, "team C", "team D", new MatchScore(1, 0)),
+                new RankChanged(2, 2, "team C", "team D", 2, 1));
+    }
+
+    @Test
+    void shouldEmitFinishedMatchWithItsLastRank() {
+        var previousIndex = emptyIndex.insert(matchA).insert(matchB);
+        liveMatches.put(KEY_A, matchA);
+        changeFeed.recordChange(KEY_B, matchB);
+
+        changeFeed.emitChanges(3, previousIndex, previousIndex.remove(matchB), liveMatches);
+
+        assertThat(events).containsExactly(new MatchFinished(3, 1, "team C", "team D", 2));
+    }
+
+    @Test
+    void shouldEmitOnlyNetChangeOfMatchChangedManyTimes() {
+        var updatedMatchA = matchA.update(new MatchScore(2, 2));
+        liveMatches.put(KEY_A, updatedMatchA);
+        changeFeed.recordChange(KEY_A, null);
+        changeFeed.recordChange(KEY_A, matchA);
+
+        changeFeed.emitChanges(1, emptyIndex, emptyIndex.insert(updatedMatchA), liveMatches);
+
+        assertThat(events).containsExactly(new MatchStarted(1, 1, "team A", "team B", new MatchScore(2, 2), 1));
+    }
+
+    @Test
+    void shouldNotEmitDiscardedChanges() {
+        liveMatches.put(KEY_A, matchA);
+        changeFeed.recordChange(KEY_A, null);
+
+        changeFeed.discardChanges();
+        changeFeed.emitChanges(1, emptyIndex, emptyIndex.insert(matchA), liveMatches);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void shouldDropEventsForSubscriberThatDoesNotKeepUp() {
+        var slowSubscriberEvents = new ArrayList<ScoreboardEvent>();
+        var slowSubscriber = new CollectingSubscriber(0, slowSubscriberEvents);
+        changeFeed = new ChangeFeed(Runnable::run, 1);
+        changeFeed.publisher().subscribe(slowSubscriber);
+        var index = emptyIndex;
+
+        for (int version = 1; version <= 10; version++) {
+            var match = new RenderedMatch(new Match("home " + version, "away " + version, Instant.ofEpochSecond(version)), version);
+            liveMatches.put(version, match);
+            changeFeed.recordChange(version, null);
+            var previousIndex = index;
+            index = index.insert(match);
+            changeFeed.emitChanges(version, previousIndex, index, liveMatches);
+        }
+        slowSubscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(slowSubscriberEvents)
+                .singleElement()
+                .extracting(ScoreboardEvent::version)
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void shouldLeaveGapInSequenceWhenEventsOfVersionAreDropped() {
+        var slowSubscriberEvents = new ArrayList<ScoreboardEvent>();
+        var slowSubscriber = new CollectingSubscriber(0, slowSubscriberEvents);
+        changeFeed = new ChangeFeed(Runnable::run, 1);
+        changeFeed.publisher().subscribe(slowSubscriber);
+        var index = emptyIndex;
+        for (int key = 1; key <= 3; key++) {
+            var match = new RenderedMatch(new Match("home " + key, "away " + key, Instant.ofEpochSecond(key)), key);
+            liveMatches.put(key, match);
+            changeFeed.recordChange(key, null);
+            index = index.insert(match);
+        }
+
+        // the buffer fills up in the middle of the version's events
+        changeFeed.emitChanges(1, emptyIndex, index, liveMatches);
+        slowSubscriber.subscription.request(Long.MAX_VALUE);
+        var finishedMatch = liveMatches.remove(1);
+        changeFeed.recordChange(1, finishedMatch);
+        changeFeed.emitChanges(2, index, index.remove(finishedMatch), liveMatches);
+
+        assertThat(slowSubscriberEvents)
+                .extracting(ScoreboardEvent::version)
+                .containsExactly(1L, 2L);
+        assertThat(slowSubscriberEvents)
+                .extracting(ScoreboardEvent::sequence)
+                .containsExactly(1L, 4L);
+    }
+
+    private class CollectingSubscriber implements Flow.Subscriber<ScoreboardEvent> {
+        private final long demand;
+        private final List<ScoreboardEvent> collectedEvents;
+        private Flow.Subscription subscription;
+
+        private CollectingSubscriber(long demand) {
+            this(demand, events);
+        }
+
+        private CollectingSubscriber(long demand, List<ScoreboardEvent> collectedEvents) {
+            this.demand = demand;
+            this.collectedEvents = collectedEvents;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(ScoreboardEvent event) {
+            collectedEvents.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    void shouldReturnZerosWhenNothingWasRecorded() {
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.meanNanos()).isZero();
+        assertThat(snapshot.valueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void shouldReturnPercentilesWithinRelativeError() {
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(1_000_000);
+        assertThat(snapshot.maxNanos()).isEqualTo(1_000_000);
+        assertThat(snapshot.meanNanos()).isCloseTo(500_000.5, within(0.01));
+        assertThat(snapshot.valueAtPercentile(50)).isBetween(500_000L, 500_000L * 17 / 16);
+        assertThat(snapshot.valueAtPercentile(90)).isBetween(900_000L, 900_000L * 17 / 16);
+        assertThat(snapshot.valueAtPercentile(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void shouldRecordSmallValuesExactly() {
+        histogram.record(3);
+        histogram.record(7);
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.valueAtPercentile(50)).isEqualTo(3);
+        assertThat(snapshot.valueAtPercentile(100)).isEqualTo(7);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE})
+    void shouldPutValueIntoBucketCoveringIt(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+
+        assertThat(LatencyHistogram.highestValueOf(bucket)).isGreaterThanOrEqualTo(value);
+        if (bucket > 0) {
+            assertThat(LatencyHistogram.highestValueOf(bucket - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    void shouldRejectPercentileOutOfRange() {
+        assertThatThrownBy(() -> histogram.snapshot().valueAtPercentile(100.1))
+                .isInstanceOf(DomainValidationException.class);
+    }
+}
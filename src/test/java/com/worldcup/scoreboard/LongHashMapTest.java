@@ -0,0 +1,68 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashMapTest {
+    private final LongHashMap<String> map = new LongHashMap<>();
+
+    @Test
+    void shouldPutAndGetValue() {
+        assertThat(map.put(5L, "five")).isNull();
+        assertThat(map.put(5L, "FIVE")).isEqualTo("five");
+
+        assertThat(map.get(5L)).isEqualTo("FIVE");
+        assertThat(map.get(6L)).isNull();
+        assertThat(map.size()).isOne();
+    }
+
+    @Test
+    void shouldRemoveValue() {
+        map.put(1L, "one");
+
+        assertThat(map.remove(1L)).isEqualTo("one");
+        assertThat(map.remove(1L)).isNull();
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void shouldClearValues() {
+        map.put(1L, "one");
+        map.put(2L, "two");
+
+        map.clear();
+
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectNegativeKey() {
+        assertThatThrownBy(() -> map.put(-1L, "minus one"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations() {
+        var random = new Random(42);
+        var expected = new HashMap<Long, String>();
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = (long) random.nextInt(64) << Integer.SIZE | random.nextInt(64);
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+                case 1 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(map.get(key)).isEqualTo(expected.get(key));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+}
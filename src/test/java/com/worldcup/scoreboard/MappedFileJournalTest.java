@@ -0,0 +1,171 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.ScoreboardCommand.StartMatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileJournalTest {
+    private static final int SMALL_SEGMENT_SIZE = 4 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverBoardAfterRestart() {
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+            scoreboard.startMatch("Germany", "France");
+            scoreboard.finishMatch("Germany", "France");
+        }
+
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Spain 10 - Brazil 2", "Mexico 0 - Canada 0");
+            assertThat(scoreboard.getSnapshot().version()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void shouldKeepRecoveredTeamsLive() {
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+        }
+
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            var result = scoreboard.applyAll(List.of(new StartMatch("Mexico", "Brazil")));
+
+            assertThat(result.applied()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldNotPersistRejectedBatch() {
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.applyAll(List.of(new StartMatch("Mexico", "Canada"), new StartMatch("Mexico", "Brazil")));
+        }
+
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            assertThat(scoreboard.getMatchesSummary()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornEntryAtTheEndOfLog() throws IOException {
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+        }
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.startMatch("Spain", "Brazil");
+        }
+        var lastSegment = lastSegment();
+        var bytes = Files.readAllBytes(lastSegment);
+        bytes[12] ^= 0x7F;
+        Files.write(lastSegment, bytes);
+
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldTruncateLogOnCheckpoint() throws IOException {
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.updateMatch("Mexico", "Canada", new MatchScore(0, 5));
+            scoreboard.checkpoint();
+            scoreboard.startMatch("Spain", "Brazil");
+        }
+
+        assertThat(segments()).hasSize(1);
+        try (var scoreboard = Scoreboard.builder().durable(directory).build()) {
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 5", "Spain 0 - Brazil 0");
+            assertThat(scoreboard.getSnapshot().version()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldCheckpointWhenSegmentIsFull() throws IOException {
+        try (var scoreboard = Scoreboard.builder().durable(directory).journalSegmentSize(SMALL_SEGMENT_SIZE).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+            for (int goals = 1; goals <= 1_000; goals++) {
+                scoreboard.updateMatch("Mexico", "Canada", new MatchScore(goals, 0));
+            }
+        }
+
+        assertThat(segments()).hasSizeLessThan(3);
+        try (var scoreboard = Scoreboard.builder().durable(directory).journalSegmentSize(SMALL_SEGMENT_SIZE).build()) {
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 1000 - Canada 0");
+            assertThat(scoreboard.getSnapshot().version()).isEqualTo(1_001);
+        }
+    }
+
+    @Test
+    void shouldKeepOrderOfMatchesStartedAtSameInstantAfterRestart() {
+        var clock = Clock.fixed(Instant.parse("2026-06-11T19:00:00Z"), ZoneOffset.UTC);
+        List<MatchSummary> summaries;
+        try (var scoreboard = Scoreboard.builder().durable(directory).clock(clock).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.checkpoint();
+            scoreboard.startMatch("Germany", "France");
+            scoreboard.finishMatch("Mexico", "Canada");
+            scoreboard.startMatch("Mexico", "Canada");
+            summaries = scoreboard.getMatchesSummary();
+        }
+
+        try (var scoreboard = Scoreboard.builder().durable(directory).clock(clock).build()) {
+            assertThat(summaries)
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 0", "Germany 0 - France 0", "Spain 0 - Brazil 0");
+            assertThat(scoreboard.getMatchesSummary()).isEqualTo(summaries);
+        }
+    }
+
+    @Test
+    void shouldRecoverStartTimeOfMatches() {
+        var startMatchTime = Instant.ofEpochSecond(1_000, 42);
+        try (var journal = MappedFileJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            journal.recordStarted(new Match("Mexico", "Canada", startMatchTime));
+            journal.append(1);
+            journal.sync();
+        }
+
+        try (var journal = MappedFileJournal.open(directory, SMALL_SEGMENT_SIZE)) {
+            assertThat(journal.recoveredBoard().version()).isEqualTo(1);
+            assertThat(journal.recoveredBoard().liveMatches())
+                    .extracting(Match::startMatchTime)
+                    .containsExactly(startMatchTime);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        var segments = segments();
+        return segments.get(segments.size() - 1);
+    }
+}
@@ -0,0 +1,145 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.ScoreboardCommand.FinishMatch;
+import com.worldcup.scoreboard.ScoreboardCommand.StartMatch;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MappedMatchArchiveTest {
+    private static final int SMALL_CHUNK = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldArchiveFinishedMatches() {
+        try (var scoreboard = Scoreboard.builder().archivedIn(directory).build()) {
+            playMatch(scoreboard, "Mexico", "Canada", 0, 5);
+            playMatch(scoreboard, "Canada", "Mexico", 2, 2);
+            playMatch(scoreboard, "Spain", "Brazil", 10, 2);
+
+            assertThat(scoreboard.getNumberOfFinishedMatches()).isEqualTo(3);
+            assertThat(scoreboard.getHeadToHead("Canada", "Mexico"))
+                    .isEqualTo(new HeadToHead("Canada", "Mexico", 2, 1, 1, 0, 7, 2));
+            assertThat(scoreboard.getGoalsScored("Mexico")).isEqualTo(2);
+            assertThat(scoreboard.getHighestScoringFinishedMatches(2))
+                    .extracting(FinishedMatch::summary)
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Spain 10 - Brazil 2", "Mexico 0 - Canada 5");
+        }
+    }
+
+    @Test
+    void shouldKeepArchiveAfterRestart() {
+        try (var scoreboard = Scoreboard.builder().archivedIn(directory).build()) {
+            playMatch(scoreboard, "Mexico", "Canada", 0, 5);
+        }
+
+        try (var scoreboard = Scoreboard.builder().archivedIn(directory).build()) {
+            playMatch(scoreboard, "Canada", "Spain", 1, 0);
+
+            assertThat(scoreboard.getNumberOfFinishedMatches()).isEqualTo(2);
+            assertThat(scoreboard.getGoalsScored("Canada")).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void shouldNotArchiveMatchesOfRejectedBatch() {
+        try (var scoreboard = Scoreboard.builder().archivedIn(directory).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+
+            scoreboard.applyAll(List.of(new FinishMatch("Mexico", "Canada"), new StartMatch("Spain", "Spain")));
+
+            assertThat(scoreboard.getNumberOfFinishedMatches()).isZero();
+        }
+    }
+
+    @Test
+    void shouldPreferMoreRecentMatchAmongEquallyScoring() {
+        try (var archive = MappedMatchArchive.open(directory, SMALL_CHUNK)) {
+            for (int match = 0; match < 10; match++) {
+                archive.recordFinished(new Match("home " + match, "away " + match, match % 3, 0, Instant.EPOCH), Instant.EPOCH);
+                archive.append();
+            }
+
+            assertThat(archive.highestScoring(4))
+                    .extracting(FinishedMatch::homeTeamName)
+                    .containsExactly("home 8", "home 5", "home 2", "home 7");
+        }
+    }
+
+    @Test
+    void shouldScanRowsOfManyChunks() {
+        try (var archive = MappedMatchArchive.open(directory, SMALL_CHUNK)) {
+            for (int match = 0; match < 25; match++) {
+                var homeTeamName = match % 2 == 0 ? "Mexico" : "Canada";
+                var awayTeamName = match % 2 == 0 ? "Canada" : "Mexico";
+                archive.recordFinished(new Match(homeTeamName, awayTeamName, 1, 0, Instant.EPOCH), Instant.EPOCH);
+            }
+            archive.append();
+
+            assertThat(archive.size()).isEqualTo(25);
+            assertThat(archive.headToHead("Mexico", "Canada"))
+                    .isEqualTo(new HeadToHead("Mexico", "Canada", 25, 13, 0, 12, 13, 12));
+            assertThat(archive.goalsScored("Canada")).isEqualTo(12);
+        }
+    }
+
+    @Test
+    void shouldKeepTimesOfMatch() {
+        var startedAt = Instant.parse("2026-06-11T19:00:00Z");
+        var finishedAt = Instant.parse("2026-06-11T20:52:00Z");
+        try (var archive = MappedMatchArchive.open(directory, SMALL_CHUNK)) {
+            archive.recordFinished(new Match("Mexico", "Canada", 2, 1, startedAt), finishedAt);
+            archive.append();
+
+            assertThat(archive.highestScoring(1))
+                    .containsExactly(new FinishedMatch("Mexico", "Canada", 2, 1, startedAt, finishedAt));
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornTeamNameAtTheEndOfDictionary() throws IOException {
+        try (var archive = MappedMatchArchive.open(directory, SMALL_CHUNK)) {
+            archive.recordFinished(new Match("Mexico", "Canada", 2, 1, Instant.EPOCH), Instant.EPOCH);
+            archive.append();
+        }
+        // length of a name that never got written
+        Files.write(directory.resolve("teams.names"), new byte[]{0, 42}, StandardOpenOption.APPEND);
+
+        try (var archive = MappedMatchArchive.open(directory, SMALL_CHUNK)) {
+            archive.recordFinished(new Match("Spain", "Brazil", 3, 0, Instant.EPOCH), Instant.EPOCH);
+            archive.append();
+
+            assertThat(archive.highestScoring(2))
+                    .extracting(FinishedMatch::homeTeamName, FinishedMatch::awayTeamName)
+                    .containsExactly(tuple("Spain", "Brazil"), tuple("Mexico", "Canada"));
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionWhenScoreboardIsNotArchived() {
+        var scoreboard = Scoreboard.defaultInstance();
+
+        assertThatThrownBy(() -> scoreboard.getHeadToHead("Mexico", "Canada"))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    private static void playMatch(Scoreboard scoreboard, String homeTeamName, String awayTeamName, int homeTeamScore, int awayTeamScore) {
+        scoreboard.startMatch(homeTeamName, awayTeamName);
+        scoreboard.updateMatch(homeTeamName, awayTeamName, homeTeamScore, awayTeamScore);
+        scoreboard.finishMatch(homeTeamName, awayTeamName);
+    }
+}
@@ -7,8 +7,11 @@ import java.time.Instant;
 import java.util.Comparator;
 import java.util.stream.Stream;
 
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestGoalDifferenceFirst;
 import static com.worldcup.scoreboard.MatchesOrderingPolicies.highestScoringMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.lastStartedMatchesFirst;
 import static com.worldcup.scoreboard.MatchesOrderingPolicies.recentlyStartedMatchesFirst;
+import static com.worldcup.scoreboard.MatchesOrderingPolicies.teamNamesAlphabetically;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class MatchesOrderingPoliciesTest {
@@ -26,6 +29,20 @@ class MatchesOrderingPoliciesTest {
         }
     }
 
+    @Nested
+    class HighestGoalDifferenceFirst {
+        private final Comparator<Match> policy = highestGoalDifferenceFirst();
+
+        @Test
+        void shouldOrderMatchesByTheGoalDifferenceDesc() {
+            var closeMatch = new Match("team A", "team B", 5, 4, Instant.ofEpochSecond(1));
+            var awayWinMatch = new Match("team C", "team D", 0, 3, Instant.ofEpochSecond(1));
+
+            assertThat(Stream.of(closeMatch, awayWinMatch).sorted(policy))
+                    .containsExactly(awayWinMatch, closeMatch);
+        }
+    }
+
     @Nested
     class RecentlyStartedMatchesFirst {
         private final Comparator<Match> policy = recentlyStartedMatchesFirst();
@@ -40,4 +57,32 @@ class MatchesOrderingPoliciesTest {
         }
     }
 
+    @Nested
+    class LastStartedMatchesFirst {
+        private final Comparator<LiveMatch> policy = lastStartedMatchesFirst();
+
+        @Test
+        void shouldOrderMatchesByTheStartSequenceDesc() {
+            var firstMatch = new RenderedMatch(new Match("team A", "team B", Instant.ofEpochSecond(1)), 1);
+            var secondMatch = new RenderedMatch(new Match("team C", "team D", Instant.ofEpochSecond(1)), 2);
+
+            assertThat(Stream.of(firstMatch, secondMatch).sorted(policy))
+                    .containsExactly(secondMatch, firstMatch);
+        }
+    }
+
+    @Nested
+    class TeamNamesAlphabetically {
+        private final Comparator<Match> policy = teamNamesAlphabetically();
+
+        @Test
+        void shouldOrderMatchesByHomeTeamNameThenAwayTeamName() {
+            var firstMatch = new Match("team A", "team C", Instant.ofEpochSecond(1));
+            var secondMatch = new Match("team B", "team A", Instant.ofEpochSecond(1));
+            var thirdMatch = new Match("team B", "team D", Instant.ofEpochSecond(1));
+
+            assertThat(Stream.of(thirdMatch, secondMatch, firstMatch).sorted(policy))
+                    .containsExactly(firstMatch, secondMatch, thirdMatch);
+        }
+    }
 }
\ No newline at end of file
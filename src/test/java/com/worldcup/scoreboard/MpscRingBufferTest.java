@@ -0,0 +1,94 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<Integer>(1).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<Integer>(9).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldDrainElementsInOrderOfOffers() {
+        var ringBuffer = new MpscRingBuffer<Integer>(4);
+        ringBuffer.offer(1);
+        ringBuffer.offer(2);
+        ringBuffer.offer(3);
+        var drained = new ArrayList<Integer>();
+
+        assertThat(ringBuffer.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(ringBuffer.drainTo(drained, 2)).isOne();
+        assertThat(drained).containsExactly(1, 2, 3);
+        assertThat(ringBuffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldRejectElementWhenFull() {
+        var ringBuffer = new MpscRingBuffer<Integer>(2);
+
+        assertThat(ringBuffer.offer(1)).isTrue();
+        assertThat(ringBuffer.offer(2)).isTrue();
+        assertThat(ringBuffer.offer(3)).isFalse();
+
+        ringBuffer.drainTo(new ArrayList<>(), 1);
+        assertThat(ringBuffer.offer(3)).isTrue();
+    }
+
+    @Test
+    void shouldDeliverEveryElementOfConcurrentProducersOnce() throws InterruptedException {
+        int producers = 4;
+        int elementsPerProducer = 50_000;
+        var ringBuffer = new MpscRingBuffer<Integer>(64);
+        var executor = Executors.newFixedThreadPool(producers);
+        var start = new CountDownLatch(1);
+        for (int producer = 0; producer < producers; producer++) {
+            int firstElement = producer * elementsPerProducer;
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int element = firstElement; element < firstElement + elementsPerProducer; element++) {
+                    while (!ringBuffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        var drained = new ArrayList<Integer>();
+        while (drained.size() < producers * elementsPerProducer) {
+            if (ringBuffer.drainTo(drained, 16) == 0) {
+                Thread.yield();
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(drained).doesNotHaveDuplicates().hasSize(producers * elementsPerProducer);
+        // every producer's elements keep their order
+        for (int producer = 0; producer < producers; producer++) {
+            int firstElement = producer * elementsPerProducer;
+            List<Integer> producersElements = drained.stream()
+                    .filter(element -> element >= firstElement && element < firstElement + elementsPerProducer)
+                    .toList();
+            assertThat(producersElements).isSorted();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderedIndexTest {
+    private final OrderedIndex<Integer> emptyIndex = OrderedIndex.empty(Comparator.naturalOrder());
+
+    @Test
+    void shouldKeepElementsSorted() {
+        var index = emptyIndex.insert(5).insert(1).insert(3);
+
+        assertThat(index.toList()).containsExactly(1, 3, 5);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotModifyPreviousVersions() {
+        var firstVersion = emptyIndex.insert(1).insert(2);
+
+        var secondVersion = firstVersion.remove(1).insert(3);
+
+        assertThat(firstVersion.toList()).containsExactly(1, 2);
+        assertThat(secondVersion.toList()).containsExactly(2, 3);
+    }
+
+    @Test
+    void shouldReturnSameVersionWhenRemovingMissingElement() {
+        var index = emptyIndex.insert(1);
+
+        assertThat(index.remove(2)).isSameAs(index);
+    }
+
+    @Test
+    void shouldHandleEmptyIndex() {
+        assertThat(emptyIndex.isEmpty()).isTrue();
+        assertThat(emptyIndex.toList()).isEmpty();
+        assertThat(emptyIndex.remove(1).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFindPositionOfElement() {
+        var index = emptyIndex.insert(30).insert(10).insert(20);
+
+        assertThat(index.indexOf(10)).isZero();
+        assertThat(index.indexOf(30)).isEqualTo(2);
+        assertThat(index.indexOf(15)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldGetElementAtPosition() {
+        var index = emptyIndex.insert(30).insert(10).insert(20);
+
+        assertThat(index.get(0)).isEqualTo(10);
+        assertThat(index.get(2)).isEqualTo(30);
+        assertThatThrownBy(() -> index.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldSearchElementUsingDirection() {
+        var index = emptyIndex.insert(30).insert(10).insert(20);
+
+        assertThat(index.search(element -> Integer.compare(20, element))).isEqualTo(20);
+        assertThat(index.search(element -> Integer.compare(25, element))).isNull();
+    }
+
+    @Test
+    void shouldSliceElementsFromPosition() {
+        var index = emptyIndex;
+        for (int element = 0; element < 100; element++) {
+            index = index.insert(element);
+        }
+
+        assertThat(index.slice(0, 3)).containsExactly(0, 1, 2);
+        assertThat(index.slice(42, 2)).containsExactly(42, 43);
+        assertThat(index.slice(98, 5)).containsExactly(98, 99);
+        assertThat(index.slice(100, 5)).isEmpty();
+        assertThat(index.slice(5, 0)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchTreeSetForRandomInsertsAndRemovals() {
+        var random = new Random(42);
+        var expected = new TreeSet<Integer>();
+        var index = emptyIndex;
+
+        for (int i = 0; i < 10_000; i++) {
+            int element = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                expected.add(element);
+                index = index.insert(element);
+            } else {
+                expected.remove(element);
+                index = index.remove(element);
+            }
+        }
+
+        assertThat(index.toList()).containsExactlyElementsOf(expected);
+        assertThat(index.size()).isEqualTo(expected.size());
+        var expectedElements = List.copyOf(expected);
+        for (int position = 0; position < expectedElements.size(); position++) {
+            assertThat(index.get(position)).isEqualTo(expectedElements.get(position));
+            assertThat(index.indexOf(expectedElements.get(position))).isEqualTo(position);
+        }
+    }
+
+    @Test
+    void shouldBuildIndexFromUnsortedElements() {
+        var elements = new ArrayList<>(IntStream.range(0, 1_000).boxed().toList());
+        Collections.shuffle(elements, new Random(7));
+
+        var index = OrderedIndex.of(Comparator.<Integer>naturalOrder(), elements);
+
+        assertThat(index.toList()).containsExactlyElementsOf(IntStream.range(0, 1_000).boxed().toList());
+        assertThat(index.insert(1_000).remove(0).indexOf(500)).isEqualTo(499);
+    }
+
+    @Test
+    void shouldDrainToEmptyIndex() {
+        var elements = new ArrayList<>(IntStream.range(0, 1_000).boxed().toList());
+        var index = emptyIndex;
+        for (var element : elements) {
+            index = index.insert(element);
+        }
+
+        Collections.shuffle(elements, new Random(7));
+        for (var element : elements) {
+            index = index.remove(element);
+        }
+
+        assertThat(index.isEmpty()).isTrue();
+    }
+}
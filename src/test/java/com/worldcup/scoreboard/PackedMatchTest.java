@@ -0,0 +1,61 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedMatchTest {
+    private static final Instant START_TIME = Instant.ofEpochSecond(1, 500);
+
+    private final TeamRegistry teamRegistry = new TeamRegistry();
+    private final PackedMatch packedMatch = PackedMatch.of(teamRegistry, teamRegistry.register("team A"),
+            teamRegistry.register("team B"), new Match("team A", "team B", START_TIME), 7);
+
+    @Test
+    void shouldResolveTeamNamesThroughRegistry() {
+        assertThat(packedMatch.homeTeamName()).isEqualTo("team A");
+        assertThat(packedMatch.awayTeamName()).isEqualTo("team B");
+        assertThat(packedMatch.summary().summary()).isEqualTo("team A 0 - team B 0");
+    }
+
+    @Test
+    void shouldRenderSummaryOfUpdatedScore() {
+        var result = packedMatch.update(new MatchScore(2, 1));
+
+        assertThat(result.homeTeamScore()).isEqualTo(2);
+        assertThat(result.awayTeamScore()).isEqualTo(1);
+        assertThat(result.summary().summary()).isEqualTo("team A 2 - team B 1");
+    }
+
+    @Test
+    void shouldReuseMatchWhenScoreDidNotChange() {
+        var result = packedMatch.update(new MatchScore(0, 0));
+
+        assertThat(result).isSameAs(packedMatch);
+    }
+
+    @Test
+    void shouldMaterializeSameMatchAsRenderedOne() {
+        var updatedMatch = packedMatch.update(3, 2);
+        var renderedMatch = new RenderedMatch(new Match("team A", "team B", START_TIME), 7).update(3, 2);
+
+        assertThat(updatedMatch.match()).isEqualTo(renderedMatch.match());
+        assertThat(updatedMatch.summary()).isEqualTo(renderedMatch.summary());
+        assertThat(updatedMatch.startEpochNanos()).isEqualTo(renderedMatch.startEpochNanos());
+        assertThat(updatedMatch.startSequence()).isEqualTo(renderedMatch.startSequence());
+    }
+
+    @Test
+    void shouldBeEqualToMatchOfSameTeamsScoreAndStart() {
+        var sameMatch = PackedMatch.of(teamRegistry, teamRegistry.idOf("team A"), teamRegistry.idOf("team B"),
+                new Match("team A", "team B", START_TIME), 7);
+        var restartedMatch = PackedMatch.of(teamRegistry, teamRegistry.idOf("team A"), teamRegistry.idOf("team B"),
+                new Match("team A", "team B", START_TIME), 8);
+
+        assertThat(packedMatch).isEqualTo(sameMatch).hasSameHashCodeAs(sameMatch);
+        assertThat(packedMatch.update(1, 0)).isNotEqualTo(packedMatch);
+        assertThat(restartedMatch).isNotEqualTo(packedMatch);
+    }
+}
@@ -0,0 +1,11 @@
+package com.worldcup.scoreboard;
+
+/**
+ * The whole {@link ScoreboardTest} against a scoreboard of {@link PackedMatch}es.
+ */
+class PackedMatchesScoreboardTest extends ScoreboardTest {
+    @Override
+    Scoreboard.Builder newBuilder() {
+        return Scoreboard.builder().withPackedMatches();
+    }
+}
@@ -0,0 +1,33 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedMatchTest {
+    private final RenderedMatch liveMatch = new RenderedMatch(new Match("team A", "team B", Instant.ofEpochSecond(1)), 1);
+
+    @Test
+    void shouldRenderSummaryOnCreation() {
+        assertThat(liveMatch.summary().summary()).isEqualTo("team A 0 - team B 0");
+    }
+
+    @Test
+    void shouldRenderSummaryOfUpdatedScore() {
+        var result = liveMatch.update(new MatchScore(2, 1));
+
+        assertThat(result.match().homeTeamScore()).isEqualTo(2);
+        assertThat(result.match().awayTeamScore()).isEqualTo(1);
+        assertThat(result.summary().summary()).isEqualTo("team A 2 - team B 1");
+        assertThat(result.startSequence()).isEqualTo(liveMatch.startSequence());
+    }
+
+    @Test
+    void shouldReuseSummaryWhenScoreDidNotChange() {
+        var result = liveMatch.update(new MatchScore(0, 0));
+
+        assertThat(result).isSameAs(liveMatch);
+    }
+}
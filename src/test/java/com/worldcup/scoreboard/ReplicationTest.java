@@ -0,0 +1,201 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.ScoreboardCommand.FinishMatch;
+import com.worldcup.scoreboard.ScoreboardCommand.UpdateMatch;
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicationTest {
+    private static final int TAIL_SIZE = 3;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private Scoreboard leader;
+    private ReplicationServer server;
+
+    @BeforeEach
+    void setUp() {
+        leader = Scoreboard.builder().replicated(TAIL_SIZE).build();
+        leader.startMatch("Mexico", "Canada");
+        leader.updateMatch("Mexico", "Canada", 0, 5);
+        server = ReplicationServer.start(leader, new InetSocketAddress("localhost", 0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (var resource : resources) {
+            resource.close();
+        }
+        server.close();
+        leader.close();
+    }
+
+    @Test
+    void shouldCatchUpFromSnapshot() throws InterruptedException {
+        var follower = newFollower();
+
+        awaitCaughtUp(follower);
+
+        assertThat(follower.getSnapshot()).isEqualTo(leader.getSnapshot());
+    }
+
+    @Test
+    void shouldApplyLeadersChanges() throws InterruptedException {
+        var follower = newFollower();
+        awaitCaughtUp(follower);
+
+        leader.startMatch("Spain", "Brazil");
+        leader.applyAll(List.of(new UpdateMatch("Spain", "Brazil", new MatchScore(10, 2)), new FinishMatch("Mexico", "Canada")));
+        leader.applyAll(List.of());
+        awaitCaughtUp(follower);
+
+        assertThat(follower.getSnapshot()).isEqualTo(leader.getSnapshot());
+        assertThat(follower.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Spain 10 - Brazil 2");
+    }
+
+    @Test
+    void shouldCatchUpFromTailAfterReconnecting() throws InterruptedException {
+        var follower = newFollower();
+        awaitCaughtUp(follower);
+        long lagsRecorded = follower.getMetrics().replicationLag().count();
+
+        int port = server.port();
+        server.close();
+        leader.startMatch("Spain", "Brazil");
+        leader.updateMatch("Spain", "Brazil", 10, 2);
+        server = ReplicationServer.start(leader, new InetSocketAddress("localhost", port));
+        awaitCaughtUp(follower);
+
+        assertThat(follower.getSnapshot()).isEqualTo(leader.getSnapshot());
+        // every version of the tail got applied as an entry
+        assertThat(follower.getMetrics().replicationLag().count()).isEqualTo(lagsRecorded + 2);
+    }
+
+    @Test
+    void shouldCatchUpFromSnapshotWhenTailIsTooShort() throws InterruptedException {
+        var follower = newFollower();
+        awaitCaughtUp(follower);
+        long lagsRecorded = follower.getMetrics().replicationLag().count();
+
+        int port = server.port();
+        server.close();
+        for (int goals = 1; goals <= TAIL_SIZE + 1; goals++) {
+            leader.updateMatch("Mexico", "Canada", goals, 5);
+        }
+        server = ReplicationServer.start(leader, new InetSocketAddress("localhost", port));
+        awaitCaughtUp(follower);
+
+        assertThat(follower.getSnapshot()).isEqualTo(leader.getSnapshot());
+        assertThat(follower.getMetrics().replicationLag().count()).isEqualTo(lagsRecorded);
+    }
+
+    @Test
+    void shouldKeepOrderOfMatchesStartedAtSameInstant() throws InterruptedException {
+        server.close();
+        leader.close();
+        leader = Scoreboard.builder()
+                .clock(Clock.fixed(Instant.parse("2026-06-11T19:00:00Z"), ZoneOffset.UTC))
+                .replicated(TAIL_SIZE)
+                .build();
+        server = ReplicationServer.start(leader, new InetSocketAddress("localhost", 0));
+        leader.startMatch("Mexico", "Canada");
+        leader.startMatch("Spain", "Brazil");
+        var follower = newFollower();
+        awaitCaughtUp(follower);
+
+        leader.startMatch("Germany", "France");
+        leader.finishMatch("Mexico", "Canada");
+        leader.startMatch("Mexico", "Canada");
+        awaitCaughtUp(follower);
+
+        assertThat(follower.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Mexico 0 - Canada 0", "Germany 0 - France 0", "Spain 0 - Brazil 0");
+    }
+
+    @Test
+    void shouldReportFollowersLag() throws InterruptedException {
+        var follower = newFollower();
+        awaitCaughtUp(follower);
+        awaitAcknowledged();
+
+        assertThat(server.getFollowers())
+                .singleElement()
+                .satisfies(status -> {
+                    assertThat(status.acknowledgedVersion()).isEqualTo(leader.publishedVersion());
+                    assertThat(status.versionsBehind()).isZero();
+                });
+    }
+
+    @Test
+    void shouldRejectWritesOfFollower() {
+        var follower = newFollower();
+
+        assertThatThrownBy(() -> follower.startMatch("Spain", "Brazil"))
+                .isInstanceOf(DomainValidationException.class);
+        assertThatThrownBy(() -> follower.updateMatch("Mexico", "Canada", 1, 5))
+                .isInstanceOf(DomainValidationException.class);
+        assertThatThrownBy(() -> follower.finishMatch("Mexico", "Canada"))
+                .isInstanceOf(DomainValidationException.class);
+        assertThatThrownBy(() -> follower.applyAll(List.of()))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenScoreboardIsNotReplicated() {
+        try (var scoreboard = Scoreboard.defaultInstance()) {
+            assertThatThrownBy(() -> ReplicationServer.start(scoreboard, new InetSocketAddress("localhost", 0)))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFollowerIsReplicated() {
+        var builder = Scoreboard.builder()
+                .followerOf(new InetSocketAddress("localhost", server.port()))
+                .replicated(TAIL_SIZE);
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    private Scoreboard newFollower() {
+        var follower = Scoreboard.builder()
+                .followerOf(new InetSocketAddress("localhost", server.port()))
+                .withMetrics()
+                .build();
+        resources.add(follower);
+        return follower;
+    }
+
+    private void awaitCaughtUp(Scoreboard follower) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && follower.publishedVersion() != leader.publishedVersion(); attempt++) {
+            Thread.sleep(10);
+        }
+        assertThat(follower.publishedVersion()).isEqualTo(leader.publishedVersion());
+    }
+
+    private void awaitAcknowledged() throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && !isAcknowledged(); attempt++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean isAcknowledged() {
+        var followers = server.getFollowers();
+        return followers.size() == 1 && followers.get(0).versionsBehind() == 0;
+    }
+}
@@ -7,23 +7,52 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import javax.management.ObjectName;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ScoreboardTest {
     private Scoreboard scoreboard;
 
     @BeforeEach
     void setUp() {
-        scoreboard = Scoreboard.defaultInstance();
+        scoreboard = newBuilder().build();
+    }
+
+    /**
+     * @return builder of every scoreboard of the tests - overridden to run them against another configuration
+     */
+    Scoreboard.Builder newBuilder() {
+        return Scoreboard.builder();
     }
 
     @Nested
@@ -100,6 +129,26 @@ class ScoreboardTest {
             assertThatCode(() -> scoreboard.updateMatch("team B", "team A", new MatchScore(5, 3)))
                     .isInstanceOf(MatchNotFoundException.class);
         }
+
+        @Test
+        void shouldUpdateMatchWithPrimitiveScores() {
+            scoreboard.startMatch("team A", "team B");
+
+            scoreboard.updateMatch("team A", "team B", 5, 3);
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 5 - team B 3");
+        }
+
+        @ParameterizedTest
+        @CsvSource({"-1,0", "0,-1"})
+        void shouldThrowExceptionWhenPrimitiveScoreIsNegative(int homeTeamScore, int awayTeamScore) {
+            scoreboard.startMatch("team A", "team B");
+
+            assertThatThrownBy(() -> scoreboard.updateMatch("team A", "team B", homeTeamScore, awayTeamScore))
+                    .isInstanceOf(DomainValidationException.class);
+        }
     }
 
     @Nested
@@ -118,6 +167,15 @@ class ScoreboardTest {
                     .hasMessageContaining("cannot be null");
         }
 
+        @Test
+        void shouldKeepTeamsLiveWhenFinishingNonExistingMatch() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.finishMatch("team A", "team C");
+
+            assertThatThrownBy(() -> scoreboard.startMatch("team A", "team D"))
+                    .isInstanceOf(TeamPartOfLiveMatchException.class);
+        }
+
         @Test
         void shouldAllowStartMatchAfterFinishingIt() {
             scoreboard.startMatch("team A", "team B");
@@ -156,6 +214,20 @@ class ScoreboardTest {
                     .isEqualTo("home team 1 - away team 3");
         }
 
+        @Test
+        void shouldTakeStartTimeFromGivenClock() {
+            var kickOff = Instant.parse("2026-06-11T19:00:00Z");
+            scoreboard = newBuilder().clock(Clock.fixed(kickOff, ZoneOffset.UTC)).build();
+            scoreboard.startMatch("Brazil", "Spain");
+            scoreboard.startMatch("Mexico", "Canada");
+
+            // started at the same instant - the most recently started first
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 0", "Brazil 0 - Spain 0");
+            assertThat(scoreboard.read().publishedAt()).isEqualTo(kickOff);
+        }
+
         @Test
         void shouldReturnNoSummaryWhenAllMatchesFinished() {
             scoreboard.startMatch("home team", "away team");
@@ -188,6 +260,31 @@ class ScoreboardTest {
                     .containsExactly("team C 0 - team D 1", "team A 0 - team B 0");
         }
 
+        @Test
+        void shouldMoveMatchDownWhenScoreIsLowered() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.startMatch("team C", "team D");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(3, 0));
+            scoreboard.updateMatch("team C", "team D", new MatchScore(1, 1));
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team C 1 - team D 1", "team A 1 - team B 0");
+        }
+
+        @Test
+        void shouldReturnSameSummaryWhenBoardDidNotChange() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+            var summary = scoreboard.getMatchesSummary();
+
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+            scoreboard.finishMatch("team C", "team D");
+
+            assertThat(scoreboard.getMatchesSummary()).isSameAs(summary);
+        }
+
         @Test
         @DisplayName("Complex example from the exercise")
         void shouldSortMatches() {
@@ -215,6 +312,915 @@ class ScoreboardTest {
         }
     }
 
+    @Nested
+    class PagedSummary {
+        @BeforeEach
+        void startMatches() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.startMatch("team C", "team D");
+            scoreboard.startMatch("team E", "team F");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(3, 0));
+            scoreboard.updateMatch("team C", "team D", new MatchScore(2, 0));
+            scoreboard.updateMatch("team E", "team F", new MatchScore(1, 0));
+        }
+
+        @Test
+        void shouldReturnTopMatches() {
+            assertThat(scoreboard.getTopMatches(2))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 3 - team B 0", "team C 2 - team D 0");
+        }
+
+        @Test
+        void shouldReturnAllMatchesWhenBoardIsSmallerThanK() {
+            assertThat(scoreboard.getTopMatches(10)).hasSize(3);
+        }
+
+        @Test
+        void shouldReturnPageOfMatches() {
+            assertThat(scoreboard.getMatchesSummary(1, 1))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team C 2 - team D 0");
+        }
+
+        @Test
+        void shouldReturnPageConsistentWithFullSummary() {
+            var summary = scoreboard.getMatchesSummary();
+
+            assertThat(scoreboard.getMatchesSummary(1, 5)).isEqualTo(summary.subList(1, 3));
+        }
+
+        @Test
+        void shouldReturnEmptyPageBeyondBoard() {
+            assertThat(scoreboard.getMatchesSummary(3, 5)).isEmpty();
+        }
+
+        @ParameterizedTest
+        @CsvSource({"-1,1", "0,-1"})
+        void shouldThrowExceptionWhenOffsetOrLimitIsNegative(int offset, int limit) {
+            assertThatThrownBy(() -> scoreboard.getMatchesSummary(offset, limit))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldReturnRankOfMatch() {
+            assertThat(scoreboard.getRank("team A", "team B")).isOne();
+            assertThat(scoreboard.getRank("team E ", "team F")).isEqualTo(3);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenRankedMatchIsNotLive() {
+            assertThatThrownBy(() -> scoreboard.getRank("team B", "team A"))
+                    .isInstanceOf(MatchNotFoundException.class);
+        }
+
+        @ParameterizedTest
+        @NullTestCases
+        void shouldThrowExceptionWhenRankedTeamNameIsNull(String homeTeamName, String awayTeamName) {
+            assertThatThrownBy(() -> scoreboard.getRank(homeTeamName, awayTeamName))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class MultipleOrderings {
+        @BeforeEach
+        void startMatches() {
+            scoreboard = newBuilder()
+                    .alsoOrderedBy(MatchesOrdering.HIGHEST_GOAL_DIFFERENCE_FIRST, MatchesOrdering.TEAM_NAMES_ALPHABETICALLY)
+                    .build();
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Mexico", "Canada", new MatchScore(0, 5));
+            scoreboard.updateMatch("Spain", "Brazil", new MatchScore(4, 4));
+        }
+
+        @Test
+        void shouldKeepDefaultOrderingOfSummary() {
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Spain 4 - Brazil 4", "Mexico 0 - Canada 5");
+            assertThat(scoreboard.getMatchesSummary(MatchesOrdering.HIGHEST_SCORING_FIRST))
+                    .isEqualTo(scoreboard.getMatchesSummary());
+        }
+
+        @Test
+        void shouldReturnSummaryInAdditionalOrdering() {
+            assertThat(scoreboard.getMatchesSummary(MatchesOrdering.HIGHEST_GOAL_DIFFERENCE_FIRST))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 5", "Spain 4 - Brazil 4");
+        }
+
+        @Test
+        void shouldKeepAdditionalOrderingsUpToDate() {
+            scoreboard.startMatch("Argentina", "Australia");
+            scoreboard.finishMatch("Mexico", "Canada");
+
+            assertThat(scoreboard.getMatchesSummary(MatchesOrdering.TEAM_NAMES_ALPHABETICALLY))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Argentina 0 - Australia 0", "Spain 4 - Brazil 4");
+        }
+
+        @Test
+        void shouldRestoreAdditionalOrderingsWhenBatchIsRejected() {
+            scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.UpdateMatch("Spain", "Brazil", new MatchScore(9, 0)),
+                    new ScoreboardCommand.StartMatch("Mexico", "Brazil")));
+
+            assertThat(scoreboard.getMatchesSummary(MatchesOrdering.HIGHEST_GOAL_DIFFERENCE_FIRST))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Mexico 0 - Canada 5", "Spain 4 - Brazil 4");
+        }
+
+        @Test
+        void shouldOrderBoardByConfiguredOrdering() {
+            scoreboard = newBuilder().orderedBy(MatchesOrdering.TEAM_NAMES_ALPHABETICALLY).build();
+            scoreboard.startMatch("team C", "team D");
+            scoreboard.startMatch("team A", "team B");
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 0 - team B 0", "team C 0 - team D 0");
+            assertThat(scoreboard.getRank("team C", "team D")).isEqualTo(2);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenOrderingIsNotMaintained() {
+            assertThatThrownBy(() -> scoreboard.getMatchesSummary(MatchesOrdering.RECENTLY_STARTED_FIRST))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenOrderingIsNull() {
+            assertThatThrownBy(() -> scoreboard.getMatchesSummary(null))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class SearchByTeamName {
+        @BeforeEach
+        void startMatches() {
+            scoreboard.startMatch("Bosnia", "Bulgaria");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.startMatch("Germany", "France");
+            scoreboard.updateMatch("Spain", "Brazil", new MatchScore(3, 0));
+        }
+
+        @Test
+        void shouldFindMatchesOfHomeAndAwayTeamsIgnoringCase() {
+            assertThat(scoreboard.searchByTeamName("ger"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Germany 0 - France 0");
+            assertThat(scoreboard.searchByTeamName("BRA"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Spain 3 - Brazil 0");
+            assertThat(scoreboard.searchByTeamName("Portugal")).isEmpty();
+        }
+
+        @Test
+        void shouldReturnMatchesInOrderOfBoard() {
+            scoreboard.updateMatch("Bosnia", "Bulgaria", new MatchScore(2, 2));
+
+            assertThat(scoreboard.searchByTeamName("b"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Bosnia 2 - Bulgaria 2", "Spain 3 - Brazil 0");
+        }
+
+        @Test
+        void shouldFindStartedAndForgetFinishedMatches() {
+            scoreboard.finishMatch("Spain", "Brazil");
+            scoreboard.startMatch("Brazil", "Argentina");
+
+            assertThat(scoreboard.searchByTeamName("Bra"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Brazil 0 - Argentina 0");
+        }
+
+        @Test
+        void shouldSearchVersionThatWasRead() {
+            var board = scoreboard.read();
+            scoreboard.finishMatch("Germany", "France");
+
+            assertThat(board.searchByTeamName("Fra"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Germany 0 - France 0");
+            assertThat(scoreboard.searchByTeamName("Fra")).isEmpty();
+        }
+
+        @Test
+        void shouldNotFindMatchesOfRejectedBatch() {
+            scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.FinishMatch("Germany", "France"),
+                    new ScoreboardCommand.StartMatch("Portugal", "Italy"),
+                    new ScoreboardCommand.StartMatch("Spain", "Italy")));
+
+            assertThat(scoreboard.searchByTeamName("Portugal")).isEmpty();
+            assertThat(scoreboard.searchByTeamName("Germany")).hasSize(1);
+        }
+
+        @Test
+        void shouldFindMatchesStartedSinceLastReadWhenIndexedOnRead() {
+            scoreboard = newBuilder().indexedOnRead().build();
+            scoreboard.startMatch("Germany", "France");
+
+            assertThat(scoreboard.searchByTeamName(" germ"))
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("Germany 0 - France 0");
+        }
+
+        @ParameterizedTest
+        @NullSource
+        @ValueSource(strings = {"", "  "})
+        void shouldThrowExceptionWhenPrefixIsNullOrBlank(String teamNamePrefix) {
+            assertThatThrownBy(() -> scoreboard.searchByTeamName(teamNamePrefix))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class ApplyAll {
+        @Test
+        void shouldApplyAllCommands() {
+            var result = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("team A", "team B"),
+                    new ScoreboardCommand.StartMatch("team C", "team D"),
+                    new ScoreboardCommand.UpdateMatch("team C", "team D", new MatchScore(1, 0)),
+                    new ScoreboardCommand.FinishMatch("team A", "team B")));
+
+            assertThat(result.applied()).isTrue();
+            assertThat(result.failures()).isEmpty();
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team C 1 - team D 0");
+        }
+
+        @Test
+        void shouldValidateCommandAgainstPrecedingCommands() {
+            var result = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("team A", "team B"),
+                    new ScoreboardCommand.FinishMatch("team A", "team B"),
+                    new ScoreboardCommand.StartMatch("team A", "team C")));
+
+            assertThat(result.applied()).isTrue();
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 0 - team C 0");
+        }
+
+        @Test
+        void shouldNotPublishVersionWhenBatchChangesNothing() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+
+            var emptyBatchResult = scoreboard.applyAll(List.of());
+            var noOpBatchResult = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.UpdateMatch("team A", "team B", new MatchScore(1, 0))));
+
+            assertThat(emptyBatchResult.applied()).isTrue();
+            assertThat(noOpBatchResult.applied()).isTrue();
+            assertThat(scoreboard.read().version()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotApplyAnyCommandWhenOneIsRejected() {
+            var result = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("team A", "team B"),
+                    new ScoreboardCommand.UpdateMatch("team X", "team Y", new MatchScore(1, 0))));
+
+            assertThat(result.applied()).isFalse();
+            assertThat(result.commandResults())
+                    .extracting(CommandResult::failed)
+                    .containsExactly(false, true);
+            assertThat(result.commandResults().get(1).error())
+                    .isInstanceOf(MatchNotFoundException.class);
+            assertThat(scoreboard.getMatchesSummary()).isEmpty();
+            assertThatCode(() -> scoreboard.startMatch("team A", "team B"))
+                    .doesNotThrowAnyException();
+        }
+
+        @Test
+        void shouldReportEveryRejectedCommand() {
+            var result = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("team A", "team B"),
+                    new ScoreboardCommand.StartMatch("team A", "team C"),
+                    new ScoreboardCommand.UpdateMatch("team X", "team Y", new MatchScore(1, 0)),
+                    new ScoreboardCommand.FinishMatch(null, "team B")));
+
+            assertThat(result.failures())
+                    .extracting(CommandResult::error)
+                    .hasExactlyElementsOfTypes(
+                            TeamPartOfLiveMatchException.class,
+                            MatchNotFoundException.class,
+                            DomainValidationException.class);
+        }
+
+        @Test
+        void shouldRestoreBoardWhenBatchIsRejected() {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+
+            var result = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.UpdateMatch("team A", "team B", new MatchScore(2, 0)),
+                    new ScoreboardCommand.FinishMatch("team A", "team B"),
+                    new ScoreboardCommand.StartMatch("team A", "team C"),
+                    new ScoreboardCommand.StartMatch("team C", "team D")));
+
+            assertThat(result.applied()).isFalse();
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 1 - team B 0");
+            assertThatThrownBy(() -> scoreboard.startMatch("team A", "team E"))
+                    .isInstanceOf(TeamPartOfLiveMatchException.class);
+            assertThatCode(() -> scoreboard.startMatch("team C", "team D"))
+                    .doesNotThrowAnyException();
+        }
+
+        @Test
+        void shouldRejectNullCommand() {
+            var commands = new ArrayList<ScoreboardCommand>();
+            commands.add(null);
+
+            var result = scoreboard.applyAll(commands);
+
+            assertThat(result.applied()).isFalse();
+            assertThat(result.failures())
+                    .singleElement()
+                    .extracting(CommandResult::error)
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenCommandsAreNull() {
+            assertThatThrownBy(() -> scoreboard.applyAll(null))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class ChangeFeedSubscription {
+        private final BlockingQueue<ScoreboardEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @BeforeEach
+        void subscribe() {
+            scoreboard.changeFeed().subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ScoreboardEvent event) {
+                    events.add(event);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+        }
+
+        @Test
+        void shouldCompleteSubscribersWhenClosed() throws InterruptedException {
+            scoreboard.startMatch("team A", "team B");
+
+            scoreboard.close();
+
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(nextEvents(1)).containsExactly(
+                    new ScoreboardEvent.MatchStarted(1, 1, "team A", "team B", new MatchScore(0, 0), 1));
+        }
+
+        @Test
+        void shouldEmitEventsInOrderOfChanges() throws InterruptedException {
+            scoreboard.startMatch("team A", "team B");
+            scoreboard.startMatch("team C", "team D");
+            scoreboard.updateMatch("team A", "team B", new MatchScore(1, 0));
+            scoreboard.finishMatch("team C", "team D");
+
+            assertThat(nextEvents(5)).containsExactly(
+                    new ScoreboardEvent.MatchStarted(1, 1, "team A", "team B", new MatchScore(0, 0), 1),
+                    new ScoreboardEvent.MatchStarted(2, 2, "team C", "team D", new MatchScore(0, 0), 1),
+                    new ScoreboardEvent.ScoreChanged(3, 3, "team A", "team B", new MatchScore(1, 0)),
+                    new ScoreboardEvent.RankChanged(3, 4, "team A", "team B", 2, 1),
+                    new ScoreboardEvent.MatchFinished(4, 5, "team C", "team D", 2));
+        }
+
+        @Test
+        void shouldEmitSingleVersionForBatch() throws InterruptedException {
+            scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("team A", "team B"),
+                    new ScoreboardCommand.UpdateMatch("team A", "team B", new MatchScore(2, 0))));
+
+            assertThat(nextEvents(1)).containsExactly(
+                    new ScoreboardEvent.MatchStarted(1, 1, "team A", "team B", new MatchScore(2, 0), 1));
+        }
+
+        @Test
+        void shouldVersionSnapshotConsistentlyWithEvents() throws InterruptedException {
+            scoreboard.startMatch("team A", "team B");
+            var snapshot = scoreboard.getSnapshot();
+
+            assertThat(snapshot.version()).isEqualTo(nextEvents(1).get(0).version());
+            assertThat(snapshot.matchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team A 0 - team B 0");
+        }
+
+        private List<ScoreboardEvent> nextEvents(int count) throws InterruptedException {
+            var nextEvents = new ArrayList<ScoreboardEvent>();
+            for (int i = 0; i < count; i++) {
+                var event = events.poll(5, TimeUnit.SECONDS);
+                assertThat(event).isNotNull();
+                nextEvents.add(event);
+            }
+            return nextEvents;
+        }
+    }
+
+    @Nested
+    class TeamIds {
+        @Test
+        void shouldPlayMatchUsingTeamIds() {
+            int homeTeamId = scoreboard.resolveTeamId("home team");
+            int awayTeamId = scoreboard.resolveTeamId("away team");
+
+            scoreboard.startMatch(homeTeamId, awayTeamId);
+            scoreboard.updateMatch(homeTeamId, awayTeamId, new MatchScore(2, 1));
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .singleElement()
+                    .extracting(MatchSummary::summary)
+                    .isEqualTo("home team 2 - away team 1");
+
+            scoreboard.finishMatch(homeTeamId, awayTeamId);
+
+            assertThat(scoreboard.getMatchesSummary()).isEmpty();
+        }
+
+        @Test
+        void shouldResolveSameIdForMatchStartedByName() {
+            scoreboard.startMatch("home team", "away team");
+
+            scoreboard.updateMatch(scoreboard.resolveTeamId(" home team"), scoreboard.resolveTeamId("away team"), new MatchScore(1, 1));
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .singleElement()
+                    .extracting(MatchSummary::summary)
+                    .isEqualTo("home team 1 - away team 1");
+        }
+
+        @Test
+        void shouldThrowExceptionWhenUpdatingNotStartedMatch() {
+            int homeTeamId = scoreboard.resolveTeamId("home team");
+            int awayTeamId = scoreboard.resolveTeamId("away team");
+
+            assertThatThrownBy(() -> scoreboard.updateMatch(homeTeamId, awayTeamId, new MatchScore(1, 1)))
+                    .isInstanceOf(MatchNotFoundException.class)
+                    .hasMessageContainingAll("home team", "away team");
+        }
+
+        @Test
+        void shouldThrowExceptionForUnknownTeamId() {
+            assertThatThrownBy(() -> scoreboard.startMatch(0, 1))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @ParameterizedTest
+        @NullSource
+        @ValueSource(strings = {"", " \t"})
+        void shouldThrowExceptionWhenResolvingBlankName(String teamName) {
+            assertThatThrownBy(() -> scoreboard.resolveTeamId(teamName))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldDistinguishTeamsWithSeparatorInName() {
+            scoreboard.startMatch("team#A", "B");
+            scoreboard.startMatch("team", "A#B");
+            scoreboard.updateMatch("team", "A#B", new MatchScore(1, 0));
+
+            assertThat(scoreboard.getMatchesSummary())
+                    .extracting(MatchSummary::summary)
+                    .containsExactly("team 1 - A#B 0", "team#A 0 - B 0");
+        }
+    }
+
+    @Nested
+    class UpdateAllocation {
+        private static final int LIVE_MATCHES = 10_000;
+        private static final int UPDATES = 20_000;
+        // a new match with its summary and a new path of O(log n) nodes in each index
+        private static final long MAX_BYTES_PER_SCORE_CHANGE = 4 * 1024;
+
+        private final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private final int[] homeTeamIds = new int[LIVE_MATCHES];
+        private final int[] awayTeamIds = new int[LIVE_MATCHES];
+
+        @BeforeEach
+        void startMatches() {
+            assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            for (int match = 0; match < LIVE_MATCHES; match++) {
+                homeTeamIds[match] = scoreboard.resolveTeamId("home " + match);
+                awayTeamIds[match] = scoreboard.resolveTeamId("away " + match);
+                scoreboard.startMatch(homeTeamIds[match], awayTeamIds[match]);
+            }
+        }
+
+        @Test
+        void shouldNotAllocateWhenScoreDoesNotChange() {
+            scoreboard.updateMatch(homeTeamIds[0], awayTeamIds[0], 1, 0);
+            updateRepeatedly(1, 0);
+
+            long allocatedBytes = allocatedBytes(() -> updateRepeatedly(1, 0));
+
+            assertThat(allocatedBytes).isLessThan(1024);
+        }
+
+        @Test
+        void shouldAllocateOnlyNewVersionOfIndexWhenScoreChanges() {
+            var random = new Random(42);
+            Runnable updates = () -> {
+                for (int update = 0; update < UPDATES; update++) {
+                    int match = random.nextInt(LIVE_MATCHES);
+                    scoreboard.updateMatch(homeTeamIds[match], awayTeamIds[match], random.nextInt(10), random.nextInt(10));
+                }
+            };
+            updates.run();
+
+            long allocatedBytes = allocatedBytes(updates);
+
+            assertThat(allocatedBytes / UPDATES).isLessThan(MAX_BYTES_PER_SCORE_CHANGE);
+        }
+
+        private void updateRepeatedly(int homeTeamScore, int awayTeamScore) {
+            for (int update = 0; update < UPDATES; update++) {
+                scoreboard.updateMatch(homeTeamIds[0], awayTeamIds[0], homeTeamScore, awayTeamScore);
+            }
+        }
+
+        private long allocatedBytes(Runnable action) {
+            long threadId = Thread.currentThread().getId();
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            action.run();
+            return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        }
+    }
+
+    @Nested
+    class Metrics {
+        @BeforeEach
+        void setUp() {
+            scoreboard = newBuilder().withMetrics().build();
+        }
+
+        @Test
+        void shouldCountOperationsAndFailuresByType() {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.updateMatch("Mexico", "Canada", new MatchScore(0, 5));
+            assertThatThrownBy(() -> scoreboard.startMatch("Mexico", "Brazil"));
+            assertThatThrownBy(() -> scoreboard.updateMatch("Spain", "Brazil", new MatchScore(1, 0)));
+            assertThatThrownBy(() -> scoreboard.updateMatch("Mexico", "Canada", -1, 0));
+            scoreboard.finishMatch("Mexico", "Canada");
+
+            var metrics = scoreboard.getMetrics();
+
+            assertThat(metrics.operation(MetricsSnapshot.Operation.START_MATCH).count()).isEqualTo(2);
+            assertThat(metrics.operation(MetricsSnapshot.Operation.START_MATCH).failures()).isOne();
+            assertThat(metrics.operation(MetricsSnapshot.Operation.UPDATE_MATCH).count()).isEqualTo(3);
+            assertThat(metrics.operation(MetricsSnapshot.Operation.UPDATE_MATCH).failures()).isEqualTo(2);
+            assertThat(metrics.operation(MetricsSnapshot.Operation.FINISH_MATCH).count()).isOne();
+            assertThat(metrics.failures()).containsOnly(
+                    entry("TeamPartOfLiveMatchException", 1L),
+                    entry("MatchNotFoundException", 1L),
+                    entry("DomainValidationException", 1L));
+        }
+
+        @Test
+        void shouldRecordIndexUpdates() {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+
+            var metrics = scoreboard.getMetrics();
+
+            assertThat(metrics.indexUpdates().count()).isEqualTo(3);
+            assertThat(metrics.indexSize()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldCountRejectedBatchAsFailure() {
+            scoreboard.startMatch("Mexico", "Canada");
+
+            scoreboard.applyAll(List.of(new ScoreboardCommand.StartMatch("Mexico", "Brazil")));
+
+            var applyAll = scoreboard.getMetrics().operation(MetricsSnapshot.Operation.APPLY_ALL);
+            assertThat(applyAll.count()).isOne();
+            assertThat(applyAll.failures()).isOne();
+        }
+
+        @Test
+        void shouldCountBatchOnlyAsWhole() {
+            scoreboard.startMatch("Mexico", "Canada");
+
+            scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.StartMatch("Spain", "Brazil"),
+                    new ScoreboardCommand.UpdateMatch("Spain", "Brazil", new MatchScore(1, 0))));
+            scoreboard.applyAll(List.of(new ScoreboardCommand.StartMatch("Mexico", "Brazil")));
+
+            var metrics = scoreboard.getMetrics();
+            assertThat(metrics.operation(MetricsSnapshot.Operation.APPLY_ALL).count()).isEqualTo(2);
+            assertThat(metrics.operation(MetricsSnapshot.Operation.START_MATCH).count()).isOne();
+            assertThat(metrics.operation(MetricsSnapshot.Operation.START_MATCH).failures()).isZero();
+            assertThat(metrics.operation(MetricsSnapshot.Operation.UPDATE_MATCH).count()).isZero();
+        }
+
+        @Test
+        void shouldCountSummaryCacheHits() {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.getMatchesSummary();
+            scoreboard.getMatchesSummary();
+            scoreboard.getSnapshot();
+
+            var summaries = scoreboard.getMetrics().cache(MetricsSnapshot.Cache.SUMMARIES);
+
+            assertThat(summaries.hits()).isEqualTo(2);
+            assertThat(summaries.misses()).isOne();
+            assertThat(summaries.hitRate()).isCloseTo(2.0 / 3, within(0.001));
+        }
+
+        @Test
+        void shouldReturnEmptyMetricsWhenDisabled() {
+            var scoreboardWithoutMetrics = newBuilder().build();
+            scoreboardWithoutMetrics.startMatch("Mexico", "Canada");
+
+            var metrics = scoreboardWithoutMetrics.getMetrics();
+
+            assertThat(metrics.operation(MetricsSnapshot.Operation.START_MATCH).count()).isZero();
+            assertThat(metrics.indexUpdates().count()).isZero();
+        }
+
+        @Test
+        void shouldExposeMetricsOverJmxUntilClosed() throws Exception {
+            var mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            var objectName = new ObjectName("com.worldcup.scoreboard:type=Scoreboard,name=\"world cup\"");
+            try (var scoreboardOverJmx = newBuilder().withMetrics("world cup").build()) {
+                scoreboardOverJmx.startMatch("Mexico", "Canada");
+
+                assertThat(mBeanServer.getAttribute(objectName, "IndexSize")).isEqualTo(1);
+                assertThatThrownBy(() -> newBuilder().withMetrics("world cup").build())
+                        .isInstanceOf(DomainValidationException.class);
+            }
+
+            assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+        }
+    }
+
+    @Nested
+    class Versions {
+        @BeforeEach
+        void setUp() {
+            scoreboard = newBuilder().retainingVersions(3).build();
+            scoreboard.startMatch("Mexico", "Canada");
+        }
+
+        @Test
+        void shouldAnswerAllQueriesOfReadFromSameVersion() {
+            var read = scoreboard.read();
+
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Spain", "Brazil", 10, 2);
+
+            assertThat(read.version()).isOne();
+            assertThat(read.getMatchesSummary()).containsExactly(new MatchSummary("Mexico 0 - Canada 0"));
+            assertThat(read.getRank("Mexico", "Canada")).isOne();
+            assertThatThrownBy(() -> read.getRank("Spain", "Brazil"))
+                    .isInstanceOf(MatchNotFoundException.class);
+        }
+
+        @Test
+        void shouldReturnSummaryOfRetainedVersion() {
+            scoreboard.updateMatch("Mexico", "Canada", 0, 5);
+            scoreboard.startMatch("Spain", "Brazil");
+
+            assertThat(scoreboard.getMatchesSummary(1L)).containsExactly(new MatchSummary("Mexico 0 - Canada 0"));
+            assertThat(scoreboard.read(2).getTopMatches(5)).containsExactly(new MatchSummary("Mexico 0 - Canada 5"));
+            assertThat(scoreboard.read(3).getMatchesSummary()).hasSize(2);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenVersionIsNotRetained() {
+            scoreboard.updateMatch("Mexico", "Canada", 0, 1);
+            scoreboard.updateMatch("Mexico", "Canada", 0, 2);
+            scoreboard.updateMatch("Mexico", "Canada", 0, 3);
+
+            assertThatThrownBy(() -> scoreboard.read(1))
+                    .isInstanceOf(DomainValidationException.class);
+            assertThatThrownBy(() -> scoreboard.read(5))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldReturnVersionPublishedAtGivenInstant() throws InterruptedException {
+            var beforeUpdate = Instant.now();
+            Thread.sleep(5);
+            scoreboard.updateMatch("Mexico", "Canada", 0, 5);
+
+            assertThat(scoreboard.readAsOf(beforeUpdate).getMatchesSummary()).containsExactly(new MatchSummary("Mexico 0 - Canada 0"));
+            assertThat(scoreboard.readAsOf(Instant.now()).version()).isEqualTo(2);
+            assertThatThrownBy(() -> scoreboard.readAsOf(Instant.EPOCH))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class DeferredIndexing {
+        @Test
+        void shouldIndexCoalescedChangesOnRead() {
+            scoreboard = newBuilder().indexedOnRead().build();
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Spain", "Brazil", 10, 2);
+            scoreboard.updateMatch("Mexico", "Canada", 0, 5);
+            scoreboard.finishMatch("Mexico", "Canada");
+
+            var read = scoreboard.read();
+
+            assertThat(read.version()).isOne();
+            assertThat(read.getMatchesSummary()).containsExactly(new MatchSummary("Spain 10 - Brazil 2"));
+        }
+
+        @Test
+        void shouldNotPublishChangesUndoneBeforeRead() {
+            scoreboard = newBuilder().indexedOnRead().build();
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.getMatchesSummary();
+
+            scoreboard.updateMatch("Mexico", "Canada", 0, 5);
+            scoreboard.updateMatch("Mexico", "Canada", 0, 0);
+
+            assertThat(scoreboard.read().version()).isOne();
+        }
+
+        @Test
+        void shouldKeepChangesBeforeRejectedBatch() {
+            scoreboard = newBuilder().indexedOnRead().build();
+            scoreboard.startMatch("Mexico", "Canada");
+
+            var batchResult = scoreboard.applyAll(List.of(
+                    new ScoreboardCommand.UpdateMatch("Mexico", "Canada", new MatchScore(0, 5)),
+                    new ScoreboardCommand.UpdateMatch("Spain", "Brazil", new MatchScore(1, 0))));
+
+            assertThat(batchResult.applied()).isFalse();
+            assertThat(scoreboard.getMatchesSummary()).containsExactly(new MatchSummary("Mexico 0 - Canada 0"));
+        }
+
+        @Test
+        void shouldServeLastPublishedBoardWithinCoalescingWindow() {
+            scoreboard = newBuilder().indexedOnRead(Duration.ofHours(1)).build();
+
+            scoreboard.startMatch("Mexico", "Canada");
+
+            assertThat(scoreboard.getMatchesSummary()).isEmpty();
+            assertThatThrownBy(() -> scoreboard.startMatch("Mexico", "Spain"))
+                    .isInstanceOf(TeamPartOfLiveMatchException.class);
+        }
+
+        @Test
+        void shouldIndexInBackground() throws InterruptedException {
+            scoreboard = newBuilder().indexedInBackground(Duration.ofMillis(10)).build();
+
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.updateMatch("Mexico", "Canada", 0, 5);
+
+            for (int attempt = 0; attempt < 500 && scoreboard.getMatchesSummary().isEmpty(); attempt++) {
+                Thread.sleep(10);
+            }
+            assertThat(scoreboard.getMatchesSummary()).containsExactly(new MatchSummary("Mexico 0 - Canada 5"));
+            assertThat(scoreboard.read().version()).isOne();
+            scoreboard.close();
+        }
+
+        @Test
+        void shouldFindNewMatchOfTeamWhoseMatchFinishedBeforeRead() {
+            scoreboard = newBuilder().indexedOnRead().build();
+            // the refresh applies the changes in the order of the keys - opponents registered in reverse order
+            // make the new match's key come both before and after the finished one's
+            for (int opponent = 10; opponent >= 0; opponent--) {
+                scoreboard.startMatch("Team " + opponent, "Reserve");
+                scoreboard.finishMatch("Team " + opponent, "Reserve");
+            }
+            scoreboard.startMatch("Alpha", "Team 0");
+            scoreboard.getMatchesSummary();
+
+            for (int opponent = 1; opponent <= 10; opponent++) {
+                scoreboard.finishMatch("Alpha", "Team " + (opponent - 1));
+                scoreboard.startMatch("Alpha", "Team " + opponent);
+
+                assertThat(scoreboard.searchByTeamName("Alp"))
+                        .extracting(MatchSummary::summary)
+                        .containsExactly("Alpha 0 - Team " + opponent + " 0");
+            }
+        }
+
+        @Test
+        void shouldThrowExceptionWhenDeferredIndexingIsDurable(@TempDir Path journalDirectory) {
+            var builder = newBuilder()
+                    .indexedOnRead()
+                    .durable(journalDirectory);
+
+            assertThatThrownBy(builder::build)
+                    .isInstanceOf(DomainValidationException.class);
+        }
+
+        @Test
+        void shouldThrowExceptionWhenStalenessIsNotPositive() {
+            assertThatThrownBy(() -> newBuilder().indexedInBackground(Duration.ZERO))
+                    .isInstanceOf(DomainValidationException.class);
+            assertThatThrownBy(() -> newBuilder().indexedOnRead(Duration.ofMillis(-1)))
+                    .isInstanceOf(DomainValidationException.class);
+        }
+    }
+
+    @Nested
+    class Concurrency {
+        private static final int TEAMS = 16;
+        private static final int WRITERS = 8;
+        private static final int OPERATIONS_PER_WRITER = 20_000;
+
+        @Test
+        void shouldNeverPutTeamInTwoLiveMatchesUnderConcurrentWrites() throws Exception {
+            var executor = Executors.newFixedThreadPool(WRITERS + 1);
+            var writersDone = new CountDownLatch(WRITERS);
+            var invalidSummaries = new ConcurrentLinkedQueue<List<MatchSummary>>();
+            try {
+                var writers = IntStream.range(0, WRITERS)
+                        .mapToObj(seed -> executor.submit(() -> {
+                            try {
+                                runRandomWrites(new Random(seed));
+                            } finally {
+                                writersDone.countDown();
+                            }
+                            return null;
+                        }))
+                        .toList();
+                var reader = executor.submit(() -> {
+                    while (writersDone.getCount() > 0) {
+                        var summary = scoreboard.getMatchesSummary();
+                        if (!hasUniqueTeams(summary)) {
+                            invalidSummaries.add(summary);
+                        }
+                    }
+                    return null;
+                });
+
+                for (var writer : writers) {
+                    writer.get(1, TimeUnit.MINUTES);
+                }
+                reader.get(1, TimeUnit.MINUTES);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(invalidSummaries).isEmpty();
+            assertThat(hasUniqueTeams(scoreboard.getMatchesSummary())).isTrue();
+        }
+
+        private void runRandomWrites(Random random) {
+            for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                var homeTeamName = "team-" + random.nextInt(TEAMS);
+                var awayTeamName = "team-" + random.nextInt(TEAMS);
+                if (homeTeamName.equals(awayTeamName)) {
+                    continue;
+                }
+                try {
+                    switch (random.nextInt(3)) {
+                        case 0 -> scoreboard.startMatch(homeTeamName, awayTeamName);
+                        case 1 -> scoreboard.updateMatch(homeTeamName, awayTeamName, new MatchScore(random.nextInt(5), random.nextInt(5)));
+                        default -> scoreboard.finishMatch(homeTeamName, awayTeamName);
+                    }
+                } catch (TeamPartOfLiveMatchException | MatchNotFoundException expected) {
+                    // other writers got there first
+                }
+            }
+        }
+
+        private boolean hasUniqueTeams(List<MatchSummary> summary) {
+            var teams = new HashSet<String>();
+            return summary.stream()
+                    .map(matchSummary -> matchSummary.summary().split(" "))
+                    .allMatch(tokens -> teams.add(tokens[0]) && teams.add(tokens[3]));
+        }
+    }
+
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
     @CsvSource(value = {"null, valid team name", "valid team name, null"}, nullValues = "null")
@@ -0,0 +1,166 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import com.worldcup.scoreboard.exceptions.MatchNotFoundException;
+import com.worldcup.scoreboard.exceptions.TeamPartOfLiveMatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedScoreboardTest {
+    private ShardedScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = ShardedScoreboard.withShards(4);
+    }
+
+    @Test
+    void shouldMergeMatchesOfAllShardsInOrder() {
+        scoreboard.startMatch("Mexico", "Canada");
+        scoreboard.startMatch("World Cup", "Spain", "Brazil");
+        scoreboard.startMatch("Qualifiers", "Germany", "France");
+        scoreboard.updateMatch("Mexico", "Canada", new MatchScore(0, 5));
+        scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Spain 10 - Brazil 2", "Mexico 0 - Canada 5", "Germany 0 - France 0");
+    }
+
+    @Test
+    void shouldOrderMatchesStartedAtSameInstantOnDifferentShardsByStart() {
+        scoreboard = ShardedScoreboard.withShards(4, Clock.fixed(Instant.parse("2026-06-11T19:00:00Z"), ZoneOffset.UTC));
+        // the competitions spread the matches over all the shards
+        IntStream.range(0, 8).forEach(match -> scoreboard.startMatch("competition " + match, "home " + match, "away " + match));
+
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactlyElementsOf(IntStream.range(0, 8)
+                        .mapToObj(match -> "home " + (7 - match) + " 0 - away " + (7 - match) + " 0")
+                        .toList());
+    }
+
+    @Test
+    void shouldReturnTopMatchesOfAllShards() {
+        IntStream.range(0, 10).forEach(match -> {
+            scoreboard.startMatch("home " + match, "away " + match);
+            scoreboard.updateMatch("home " + match, "away " + match, new MatchScore(match, 0));
+        });
+
+        assertThat(scoreboard.getTopMatches(3))
+                .extracting(MatchSummary::summary)
+                .containsExactly("home 9 9 - away 9 0", "home 8 8 - away 8 0", "home 7 7 - away 7 0");
+    }
+
+    @Test
+    void shouldReturnSameSummaryWhenNoShardChanged() {
+        scoreboard.startMatch("Mexico", "Canada");
+
+        assertThat(scoreboard.getMatchesSummary()).isSameAs(scoreboard.getMatchesSummary());
+    }
+
+    @Test
+    void shouldNotAllowTeamInLiveMatchOfAnotherShard() {
+        scoreboard.startMatch("World Cup", "Mexico", "Canada");
+
+        assertThatThrownBy(() -> scoreboard.startMatch("Youth League", "Brazil", "Mexico"))
+                .isInstanceOf(TeamPartOfLiveMatchException.class);
+        assertThat(scoreboard.getMatchesSummary()).hasSize(1);
+    }
+
+    @Test
+    void shouldReleaseTeamsOfFinishedMatch() {
+        scoreboard.startMatch("World Cup", "Mexico", "Canada");
+        scoreboard.finishMatch("Mexico", "Canada");
+
+        scoreboard.startMatch("Youth League", "Brazil", "Mexico");
+
+        assertThat(scoreboard.getMatchesSummary())
+                .extracting(MatchSummary::summary)
+                .containsExactly("Brazil 0 - Mexico 0");
+    }
+
+    @Test
+    void shouldKeepTeamsLiveWhenFinishingNonExistingMatch() {
+        scoreboard.startMatch("Mexico", "Canada");
+        scoreboard.finishMatch("Mexico", "Brazil");
+
+        assertThatThrownBy(() -> scoreboard.startMatch("Canada", "Brazil"))
+                .isInstanceOf(TeamPartOfLiveMatchException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingNonExistingMatch() {
+        scoreboard.startMatch("Mexico", "Canada");
+
+        assertThatThrownBy(() -> scoreboard.updateMatch("Canada", "Mexico", new MatchScore(1, 0)))
+                .isInstanceOf(MatchNotFoundException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " "})
+    void shouldThrowExceptionWhenCompetitionIsBlank(String competition) {
+        assertThatThrownBy(() -> scoreboard.startMatch(competition, "Mexico", "Canada"))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenNumberOfShardsIsNotPositive() {
+        assertThatThrownBy(() -> ShardedScoreboard.withShards(0))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    @Test
+    void shouldNeverPutTeamInTwoLiveMatchesUnderConcurrentWrites() throws Exception {
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var writers = IntStream.range(0, 8)
+                    .mapToObj(seed -> executor.submit(() -> runRandomWrites(new Random(seed))))
+                    .toList();
+            for (var writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var teams = new HashSet<String>();
+        assertThat(scoreboard.getMatchesSummary())
+                .map(matchSummary -> List.of(matchSummary.summary().split(" ")))
+                .allMatch(tokens -> teams.add(tokens.get(0)) && teams.add(tokens.get(3)));
+    }
+
+    private void runRandomWrites(Random random) {
+        for (int i = 0; i < 20_000; i++) {
+            var homeTeamName = "team-" + random.nextInt(16);
+            var awayTeamName = "team-" + random.nextInt(16);
+            if (homeTeamName.equals(awayTeamName)) {
+                continue;
+            }
+            try {
+                switch (random.nextInt(3)) {
+                    case 0 -> scoreboard.startMatch("competition-" + random.nextInt(4), homeTeamName, awayTeamName);
+                    case 1 -> scoreboard.updateMatch(homeTeamName, awayTeamName, new MatchScore(random.nextInt(5), random.nextInt(5)));
+                    default -> scoreboard.finishMatch(homeTeamName, awayTeamName);
+                }
+            } catch (TeamPartOfLiveMatchException | MatchNotFoundException expected) {
+                // other writers got there first
+            }
+        }
+    }
+}
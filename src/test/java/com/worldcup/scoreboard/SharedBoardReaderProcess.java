@@ -0,0 +1,46 @@
+package com.worldcup.scoreboard;
+
+import java.nio.file.Path;
+
+/**
+ * Reader of a shared board run as a separate process by {@link SharedBoardTest} - reads the board until the given
+ * version, and exits with 1 as soon as a board is not one that the test has written (all the matches of the same
+ * score).
+ */
+public final class SharedBoardReaderProcess {
+    static final String READY = "ready";
+
+    private SharedBoardReaderProcess() {
+    }
+
+    public static void main(String[] args) {
+        var file = Path.of(args[0]);
+        int matches = Integer.parseInt(args[1]);
+        long lastVersion = Long.parseLong(args[2]);
+        try (var reader = SharedBoardReader.open(file)) {
+            System.out.println(READY);
+            System.out.flush();
+            long reads = 0;
+            long previousVersion = -1;
+            while (previousVersion < lastVersion) {
+                var board = reader.read();
+                reads++;
+                if (board.version() < previousVersion || !isWritten(board, matches)) {
+                    System.out.println("Inconsistent board " + board);
+                    System.exit(1);
+                }
+                previousVersion = board.version();
+            }
+            System.out.println("Read " + reads + " consistent boards");
+        }
+    }
+
+    private static boolean isWritten(SharedBoardReader.Board board, int matches) {
+        if (board.matches().size() != matches) {
+            return false;
+        }
+        int score = board.matches().get(0).homeTeamScore();
+        return board.matches().stream()
+                .allMatch(match -> match.homeTeamScore() == score && match.awayTeamScore() == score);
+    }
+}
@@ -0,0 +1,152 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedBoardTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBoardAsPublishedByScoreboard() {
+        var file = directory.resolve("board");
+        var clock = Clock.fixed(Instant.parse("2026-06-11T19:00:00.123456789Z"), ZoneOffset.UTC);
+        try (var scoreboard = Scoreboard.builder().clock(clock).sharedIn(file, 16).build();
+             var reader = SharedBoardReader.open(file)) {
+            assertThat(reader.read().matches()).isEmpty();
+
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+            scoreboard.startMatch("Germany", "France");
+            scoreboard.finishMatch("Germany", "France");
+
+            var board = reader.read();
+            assertThat(board.version()).isEqualTo(scoreboard.read().version()).isEqualTo(reader.version());
+            assertThat(board.publishedAt()).isEqualTo(scoreboard.read().publishedAt());
+            assertThat(board.totalMatches()).isEqualTo(2);
+            assertThat(board.matches())
+                    .extracting(SharedBoardReader.SharedMatch::summary)
+                    .containsExactlyElementsOf(summaries(scoreboard));
+            assertThat(board.matches()).extracting(SharedBoardReader.SharedMatch::startTime).containsOnly(clock.instant());
+        }
+    }
+
+    @Test
+    void shouldShareOnlyTopMatchesBeyondCapacity() {
+        var file = directory.resolve("board");
+        try (var scoreboard = Scoreboard.builder().sharedIn(file, 2).build();
+             var reader = SharedBoardReader.open(file)) {
+            scoreboard.startMatch("Mexico", "Canada");
+            scoreboard.startMatch("Spain", "Brazil");
+            scoreboard.startMatch("Germany", "France");
+            scoreboard.updateMatch("Mexico", "Canada", new MatchScore(0, 5));
+
+            var board = reader.read();
+            assertThat(board.totalMatches()).isEqualTo(3);
+            assertThat(board.matches())
+                    .extracting(SharedBoardReader.SharedMatch::summary)
+                    .containsExactlyElementsOf(summaries(scoreboard).subList(0, 2));
+        }
+    }
+
+    @Test
+    void shouldTruncateLongTeamNamesOnCharacterBoundary() {
+        var file = directory.resolve("board");
+        var longName = "\u00DC".repeat(40);
+        try (var scoreboard = Scoreboard.builder().sharedIn(file, 2).build();
+             var reader = SharedBoardReader.open(file)) {
+            scoreboard.startMatch(longName, "Canada");
+
+            assertThat(reader.read().matches().get(0).homeTeamName()).isEqualTo("\u00DC".repeat(32));
+        }
+    }
+
+    @Test
+    void shouldKeepBoardOfPreviousRunUntilNextVersion() {
+        var file = directory.resolve("board");
+        try (var scoreboard = Scoreboard.builder().sharedIn(file, 2).build()) {
+            scoreboard.startMatch("Mexico", "Canada");
+        }
+
+        try (var reader = SharedBoardReader.open(file)) {
+            assertThat(reader.read().matches())
+                    .extracting(SharedBoardReader.SharedMatch::summary)
+                    .containsExactly("Mexico 0 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldReadConsistentBoardsFromAnotherProcess() throws Exception {
+        var file = directory.resolve("board");
+        int matches = 50;
+        int versions = 2_000;
+        try (var scoreboard = Scoreboard.builder().sharedIn(file, matches).build()) {
+            var starts = new ArrayList<ScoreboardCommand>();
+            for (int match = 0; match < matches; match++) {
+                starts.add(new ScoreboardCommand.StartMatch("Home " + match, "Away " + match));
+            }
+            scoreboard.applyAll(starts);
+            long lastVersion = scoreboard.read().version() + versions;
+
+            var reader = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    SharedBoardReaderProcess.class.getName(),
+                    file.toString(), String.valueOf(matches), String.valueOf(lastVersion))
+                    .redirectErrorStream(true)
+                    .start();
+            var output = new BufferedReader(new InputStreamReader(reader.getInputStream(), StandardCharsets.UTF_8));
+            assertThat(output.readLine()).isEqualTo(SharedBoardReaderProcess.READY);
+
+            // every version sets all the matches to the same score - a torn read would mix the scores
+            for (int version = 1; version <= versions; version++) {
+                var updates = new ArrayList<ScoreboardCommand>(matches);
+                for (int match = 0; match < matches; match++) {
+                    updates.add(new ScoreboardCommand.UpdateMatch("Home " + match, "Away " + match, new MatchScore(version, version)));
+                }
+                scoreboard.applyAll(updates);
+            }
+
+            assertThat(reader.waitFor(30, TimeUnit.SECONDS)).isTrue();
+            var report = output.lines().collect(Collectors.joining("\n"));
+            assertThat(reader.exitValue()).as(report).isZero();
+        }
+    }
+
+    @Test
+    void shouldRejectFileThatIsNotSharedBoard() throws IOException {
+        var file = Files.write(directory.resolve("board"), new byte[128]);
+
+        assertThatThrownBy(() -> SharedBoardReader.open(file))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCapacityIsNotPositive() {
+        assertThatThrownBy(() -> Scoreboard.builder().sharedIn(directory.resolve("board"), 0))
+                .isInstanceOf(DomainValidationException.class);
+    }
+
+    private static List<String> summaries(Scoreboard scoreboard) {
+        return scoreboard.getMatchesSummary().stream().map(MatchSummary::summary).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.worldcup.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamNameTrieTest {
+    private final TeamNameTrie emptyTrie = TeamNameTrie.empty();
+
+    @Test
+    void shouldMapNamesToValues() {
+        var trie = emptyTrie.put("Germany", 1).put("Georgia", 2).put("Ge", 3);
+
+        assertThat(trie.get("Germany")).isEqualTo(1);
+        assertThat(trie.get("Georgia")).isEqualTo(2);
+        assertThat(trie.get("Ge")).isEqualTo(3);
+        assertThat(trie.get("G")).isEqualTo(TeamNameTrie.NO_VALUE);
+        assertThat(trie.get("Germanyy")).isEqualTo(TeamNameTrie.NO_VALUE);
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFindValuesOfNamesWithPrefixIgnoringCase() {
+        var trie = emptyTrie.put("Germany", 1).put("Georgia", 2).put("ghana", 3).put("Brazil", 4);
+
+        assertThat(valuesWithPrefix(trie, "ge")).containsExactly(2L, 1L);
+        assertThat(valuesWithPrefix(trie, "G")).containsExactly(2L, 1L, 3L);
+        assertThat(valuesWithPrefix(trie, "GERMANY")).containsExactly(1L);
+        assertThat(valuesWithPrefix(trie, "Germans")).isEmpty();
+    }
+
+    @Test
+    void shouldNotModifyPreviousVersions() {
+        var firstVersion = emptyTrie.put("Germany", 1).put("Georgia", 2);
+
+        var secondVersion = firstVersion.remove("Germany").put("Ghana", 3);
+
+        assertThat(valuesWithPrefix(firstVersion, "G")).containsExactly(2L, 1L);
+        assertThat(valuesWithPrefix(secondVersion, "G")).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void shouldReturnSameVersionWhenRemovingMissingName() {
+        var trie = emptyTrie.put("Germany", 1);
+
+        assertThat(trie.remove("German")).isSameAs(trie);
+        assertThat(trie.remove("Georgia")).isSameAs(trie);
+    }
+
+    @Test
+    void shouldRemoveNameOnlyWhileItMapsToValue() {
+        var trie = emptyTrie.put("Germany", 1).put("Germany", 2);
+
+        assertThat(trie.remove("Germany", 1)).isSameAs(trie);
+        assertThat(trie.remove("Germany", 2).get("Germany")).isEqualTo(TeamNameTrie.NO_VALUE);
+    }
+
+    @Test
+    void shouldMatchTreeMapForRandomPutsAndRemovals() {
+        var random = new Random(42);
+        var trie = emptyTrie;
+        var expected = new TreeMap<String, Long>();
+        for (int i = 0; i < 5_000; i++) {
+            var name = randomName(random);
+            if (random.nextInt(3) == 0) {
+                trie = trie.remove(name);
+                expected.remove(name);
+            } else {
+                trie = trie.put(name, i);
+                expected.put(name, (long) i);
+            }
+        }
+
+        assertThat(trie.size()).isEqualTo(expected.size());
+        for (var prefix : List.of("a", "B", "ab", "bA", "abc")) {
+            var expectedValues = expected.entrySet().stream()
+                    .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)))
+                    .map(entry -> entry.getValue())
+                    .sorted()
+                    .toList();
+            assertThat(valuesWithPrefix(trie, prefix).stream().sorted().toList()).isEqualTo(expectedValues);
+        }
+        var drained = trie;
+        for (var name : expected.keySet()) {
+            drained = drained.remove(name);
+        }
+        assertThat(drained.size()).isZero();
+        assertThat(valuesWithPrefix(drained, "a")).isEmpty();
+    }
+
+    private static String randomName(Random random) {
+        var name = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            name.append("abcAB".charAt(random.nextInt(5)));
+        }
+        return name.toString();
+    }
+
+    private static List<Long> valuesWithPrefix(TeamNameTrie trie, String prefix) {
+        var values = new ArrayList<Long>();
+        trie.forEachWithPrefix(prefix, values::add);
+        return values;
+    }
+}
@@ -0,0 +1,47 @@
+package com.worldcup.scoreboard;
+
+import com.worldcup.scoreboard.exceptions.DomainValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TeamRegistryTest {
+    private final TeamRegistry teamRegistry = new TeamRegistry();
+
+    @Test
+    void shouldAssignDenseIds() {
+        assertThat(teamRegistry.register("team A")).isZero();
+        assertThat(teamRegistry.register("team B")).isOne();
+        assertThat(teamRegistry.register("team A")).isZero();
+    }
+
+    @Test
+    void shouldResolveIdOfStrippedName() {
+        int id = teamRegistry.register("team A");
+
+        assertThat(teamRegistry.idOf(" team A\t")).isEqualTo(id);
+        assertThat(teamRegistry.nameOf(id)).isEqualTo("team A");
+    }
+
+    @Test
+    void shouldReturnUnknownIdForNotRegisteredTeam() {
+        assertThat(teamRegistry.idOf("team A")).isEqualTo(TeamRegistry.UNKNOWN_TEAM_ID);
+    }
+
+    @Test
+    void shouldThrowExceptionForUnknownId() {
+        assertThatThrownBy(() -> teamRegistry.nameOf(3))
+                .isInstanceOf(DomainValidationException.class)
+                .hasMessageContaining("Unknown team id");
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(teamRegistry.register("team " + i)).isEqualTo(i);
+        }
+
+        assertThat(teamRegistry.nameOf(999)).isEqualTo("team 999");
+    }
+}
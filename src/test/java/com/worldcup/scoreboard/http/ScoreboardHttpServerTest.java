@@ -0,0 +1,157 @@
+package com.worldcup.scoreboard.http;
+
+import com.worldcup.scoreboard.MatchScore;
+import com.worldcup.scoreboard.Scoreboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreboardHttpServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Scoreboard scoreboard;
+    private ScoreboardHttpServer server;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = Scoreboard.defaultInstance();
+        scoreboard.startMatch("Mexico", "Canada");
+        scoreboard.startMatch("Spain", "Brazil");
+        scoreboard.updateMatch("Spain", "Brazil", new MatchScore(10, 2));
+        server = ScoreboardHttpServer.start(scoreboard, new InetSocketAddress("localhost", 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void shouldReturnBoardAsJson() throws Exception {
+        var response = get("/matches");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/json; charset=utf-8");
+        assertThat(response.body()).isEqualTo("{\"version\":3,\"matches\":[\"Spain 10 - Brazil 2\",\"Mexico 0 - Canada 0\"]}");
+    }
+
+    @Test
+    void shouldReturnPageOfBoard() throws Exception {
+        var response = get("/matches?offset=1&limit=5");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("{\"version\":3,\"matches\":[\"Mexico 0 - Canada 0\"]}");
+    }
+
+    @Test
+    void shouldReturnTopMatches() throws Exception {
+        var response = get("/matches/top?k=1");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("{\"version\":3,\"matches\":[\"Spain 10 - Brazil 2\"]}");
+    }
+
+    @Test
+    void shouldReturnMatchesOfTeamsWithNamePrefix() throws Exception {
+        var response = get("/matches/search?team=bra");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("{\"version\":3,\"matches\":[\"Spain 10 - Brazil 2\"]}");
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenParameterIsInvalid() throws Exception {
+        assertThat(get("/matches/top").statusCode()).isEqualTo(400);
+        assertThat(get("/matches/search").statusCode()).isEqualTo(400);
+        assertThat(get("/matches/top?k=many").statusCode()).isEqualTo(400);
+        assertThat(get("/matches?offset=-1&limit=5").body()).isEqualTo("{\"error\":\"Offset and limit cannot be negative numbers\"}");
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenPathIsUnknown() throws Exception {
+        assertThat(get("/matches/finished").statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldRejectNonGetRequests() throws Exception {
+        var request = HttpRequest.newBuilder(uri("/matches")).POST(HttpRequest.BodyPublishers.noBody()).build();
+
+        assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(405);
+    }
+
+    @Test
+    void shouldStreamSnapshotAndThenChanges() throws Exception {
+        var lines = new LinkedBlockingQueue<String>();
+        client.sendAsync(HttpRequest.newBuilder(uri("/events")).build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+
+        assertThat(nextEvent(lines)).containsExactly(
+                "event: snapshot",
+                "id: 3",
+                "data: {\"version\":3,\"matches\":[\"Spain 10 - Brazil 2\",\"Mexico 0 - Canada 0\"]}");
+
+        scoreboard.finishMatch("Mexico", "Canada");
+
+        assertThat(nextEvent(lines)).containsExactly(
+                "event: MatchFinished",
+                "id: 4",
+                "data: {\"version\":4,\"sequence\":1,\"homeTeamName\":\"Mexico\",\"awayTeamName\":\"Canada\",\"lastRank\":2}");
+    }
+
+    @Test
+    void shouldStreamChangesAfterVersionWithoutEvents() throws Exception {
+        var lines = new LinkedBlockingQueue<String>();
+        client.sendAsync(HttpRequest.newBuilder(uri("/events")).build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+        nextEvent(lines);
+        scoreboard.finishMatch("Mexico", "Canada");
+        nextEvent(lines);
+
+        scoreboard.applyAll(List.of());
+        scoreboard.startMatch("Germany", "France");
+
+        assertThat(nextEvent(lines)).first().isEqualTo("event: MatchStarted");
+    }
+
+    @Test
+    void shouldForgetEventStreamOnClose() throws Exception {
+        var lines = new LinkedBlockingQueue<String>();
+        client.sendAsync(HttpRequest.newBuilder(uri("/events")).build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+        nextEvent(lines);
+
+        assertThat(server.numberOfEventStreams()).isEqualTo(1);
+
+        server.close();
+
+        assertThat(server.numberOfEventStreams()).isZero();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+
+    private static List<String> nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        var event = new ArrayList<String>();
+        for (var line = lines.poll(5, TimeUnit.SECONDS); line != null && !line.isEmpty(); line = lines.poll(5, TimeUnit.SECONDS)) {
+            event.add(line);
+        }
+        return event;
+    }
+}